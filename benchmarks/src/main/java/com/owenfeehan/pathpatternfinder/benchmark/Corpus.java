@@ -0,0 +1,152 @@
+package com.owenfeehan.pathpatternfinder.benchmark;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The different kinds of synthetic path-lists that benchmarks are run against.
+ *
+ * <p>Each corpus is generated deterministically from a seed, so that successive runs (and
+ * successive releases) measure identical inputs.
+ *
+ * @author Owen Feehan
+ */
+public enum Corpus {
+
+    /** A single directory containing files named by a flat zero-padded integer sequence. */
+    FLAT_INTEGER {
+        @Override
+        protected String pathFor(int index, Random random) {
+            return String.format("/data/archive/img_%07d.tif", index);
+        }
+    },
+
+    /** A deep directory-tree of plates, wells, fields and channels, as in microscopy archives. */
+    DEEP_TREE {
+        @Override
+        protected String pathFor(int index, Random random) {
+            int timepoint = index % 100;
+            int channel = (index / 100) % 4;
+            int field = (index / 400) % 16;
+            int well = (index / 6400) % 96;
+            int plate = index / (6400 * 96);
+            return String.format(
+                    "/data/screen/plate%03d/well_%c%02d/field%02d/channel%d/t%03d.tif",
+                    plate, (char) ('A' + well / 12), well % 12 + 1, field, channel, timepoint);
+        }
+    },
+
+    /** Names whose words vary randomly in case, and with a mixture of extension cases. */
+    MIXED_CASE {
+        @Override
+        protected String pathFor(int index, Random random) {
+            return String.format(
+                    "/data/%s/%s_%s_%d.%s",
+                    randomCase("Experiment", random),
+                    randomCase("sample", random),
+                    randomCase(WORDS[random.nextInt(WORDS.length)], random),
+                    index,
+                    random.nextBoolean() ? "png" : "PNG");
+        }
+    },
+
+    /** Names containing many underscore and hyphen separators between varying tokens. */
+    SEPARATORS {
+        @Override
+        protected String pathFor(int index, Random random) {
+            return String.format(
+                    "/data/run-%02d/lane-%d_tile-%04d_cycle-%03d_%s-R%d_%s.fastq",
+                    index % 12,
+                    random.nextInt(8) + 1,
+                    index % 2000,
+                    index / 2000,
+                    WORDS[random.nextInt(WORDS.length)],
+                    random.nextInt(2) + 1,
+                    Integer.toHexString(random.nextInt(0xFFFF)));
+        }
+    };
+
+    /** Arbitrary words used to create varying tokens in some corpora. */
+    private static final String[] WORDS = {
+        "alpha", "beta", "gamma", "delta", "epsilon", "zeta", "eta", "theta"
+    };
+
+    /**
+     * Generates a list of paths for the corpus.
+     *
+     * @param size the number of paths to generate.
+     * @param seed seed for the random-number generator, so the list is reproducible.
+     * @return a newly created list of {@code size} paths.
+     */
+    public List<Path> generatePaths(int size, long seed) {
+        Random random = new Random(seed);
+        List<Path> paths = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            paths.add(Paths.get(pathFor(i, random)));
+        }
+        return paths;
+    }
+
+    /**
+     * Generates a list of file-names (without any directories) for the corpus.
+     *
+     * @param size the number of file-names to generate.
+     * @param seed seed for the random-number generator, so the list is reproducible.
+     * @return a newly created list of {@code size} file-names.
+     */
+    public List<String> generateFileNames(int size, long seed) {
+        List<Path> paths = generatePaths(size, seed);
+        List<String> names = new ArrayList<>(size);
+        for (Path path : paths) {
+            names.add(path.getFileName().toString());
+        }
+        return names;
+    }
+
+    /**
+     * Creates the path with a particular index.
+     *
+     * @param index the index of the path in the corpus.
+     * @param random a random-number generator, to be used for any variation in the path.
+     * @return the path as a string.
+     */
+    protected abstract String pathFor(int index, Random random);
+
+    private static String randomCase(String word, Random random) {
+        StringBuilder builder = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            builder.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.owenfeehan.pathpatternfinder.benchmark;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A generated corpus of paths (and file-names) shared by all benchmarks, parameterized by kind and
+ * size.
+ *
+ * <p>The corpus is generated once per trial, so its creation is never measured.
+ *
+ * @author Owen Feehan
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+    /** Seed used to generate every corpus, so that all runs see identical inputs. */
+    private static final long SEED = 42;
+
+    /** Which kind of corpus to generate. */
+    @Param({"FLAT_INTEGER", "DEEP_TREE", "MIXED_CASE", "SEPARATORS"})
+    public Corpus corpus;
+
+    /** How many paths in the corpus. */
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    /** Paths in the corpus. */
+    List<Path> paths;
+
+    /** File-names (i.e. the final element only) of each path in the corpus. */
+    List<String> fileNames;
+
+    /** Generates the corpus once per trial. */
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = corpus.generatePaths(size, SEED);
+        fileNames = corpus.generateFileNames(size, SEED);
+    }
+}
@@ -0,0 +1,128 @@
+package com.owenfeehan.pathpatternfinder.benchmark;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.describer.DescribePattern;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures operations on a {@link Pattern} that has already been found for a corpus.
+ *
+ * @author Owen Feehan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExistingPatternBenchmark {
+
+    /** Width used when describing, as the console-width cannot be guessed during a benchmark. */
+    private static final int DESCRIBE_WIDTH = 120;
+
+    /** Which path in the corpus is next fitted against the pattern. */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index = 0;
+
+        /** Reused for every match, as a buffer for the boundaries between elements. */
+        private int[] boundaries;
+
+        /**
+         * The next path to fit, cycling through every path in the corpus.
+         *
+         * @param state the pattern and corpus.
+         * @return the path as a string.
+         */
+        String next(PatternState state) {
+            String path = state.pathsAsStrings[index];
+            index = (index + 1) % state.pathsAsStrings.length;
+            return path;
+        }
+
+        /**
+         * A buffer for the boundaries between elements, reused for every match.
+         *
+         * @param state the pattern.
+         * @return the buffer.
+         */
+        int[] boundaries(PatternState state) {
+            if (boundaries == null) {
+                boundaries = state.compiled.createBoundaries();
+            }
+            return boundaries;
+        }
+    }
+
+    /**
+     * Fits a single path from the corpus against the pattern.
+     *
+     * @param state the pattern and corpus.
+     * @param cursor selects which path to fit.
+     * @return the fitted values, so the computation cannot be eliminated.
+     */
+    @Benchmark
+    public Optional<String[]> fitAgainst(PatternState state, Cursor cursor) {
+        return state.pattern.fitAgainst(cursor.next(state), IOCase.SENSITIVE);
+    }
+
+    /**
+     * Fits a single path from the corpus against the compiled pattern, reusing a buffer.
+     *
+     * @param state the pattern and corpus.
+     * @param cursor selects which path to fit.
+     * @return whether the path fits, so the computation cannot be eliminated.
+     */
+    @Benchmark
+    public boolean matchCompiled(PatternState state, Cursor cursor) {
+        return state.compiled.match(cursor.next(state), cursor.boundaries(state));
+    }
+
+    /**
+     * Describes the pattern, including a line for each variable element.
+     *
+     * @param state the pattern.
+     * @return the description, so the computation cannot be eliminated.
+     */
+    @Benchmark
+    public String describePattern(PatternState state) {
+        return DescribePattern.apply(state.pattern, true, "", DESCRIBE_WIDTH);
+    }
+}
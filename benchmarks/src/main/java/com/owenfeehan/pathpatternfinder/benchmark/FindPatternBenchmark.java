@@ -0,0 +1,87 @@
+package com.owenfeehan.pathpatternfinder.benchmark;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.PathPatternFinder;
+import com.owenfeehan.pathpatternfinder.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding a pattern in an entire corpus, via {@link PathPatternFinder}.
+ *
+ * @author Owen Feehan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FindPatternBenchmark {
+
+    /**
+     * Finds a pattern among the paths in the corpus.
+     *
+     * @param state the corpus.
+     * @return the pattern, so the computation cannot be eliminated.
+     */
+    @Benchmark
+    public Pattern findPatternPaths(CorpusState state) {
+        return PathPatternFinder.findPatternPaths(state.paths, IOCase.SENSITIVE, true);
+    }
+
+    /**
+     * Finds a pattern among the paths in the corpus, resolving concurrently in the common pool.
+     *
+     * @param state the corpus.
+     * @return the pattern, so the computation cannot be eliminated.
+     */
+    @Benchmark
+    public Pattern findPatternPathsParallel(CorpusState state) {
+        return PathPatternFinder.findPatternPaths(
+                state.paths, IOCase.SENSITIVE, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds a pattern among the file-names in the corpus.
+     *
+     * @param state the corpus.
+     * @return the pattern, so the computation cannot be eliminated.
+     */
+    @Benchmark
+    public Pattern findPatternStrings(CorpusState state) {
+        return PathPatternFinder.findPatternStrings(state.fileNames, IOCase.SENSITIVE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.owenfeehan.pathpatternfinder.benchmark;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.CompiledPattern;
+import com.owenfeehan.pathpatternfinder.PathPatternFinder;
+import com.owenfeehan.pathpatternfinder.Pattern;
+import org.apache.commons.io.IOCase;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A pattern already found for a {@link CorpusState}, for benchmarks that consume an existing
+ * pattern.
+ *
+ * @author Owen Feehan
+ */
+@State(Scope.Benchmark)
+public class PatternState {
+
+    /** The pattern found for the paths in the corpus. */
+    Pattern pattern;
+
+    /** The pattern, compiled for repeated fitting. */
+    CompiledPattern compiled;
+
+    /** Each path in the corpus, converted to a string. */
+    String[] pathsAsStrings;
+
+    /**
+     * Finds the pattern once per trial.
+     *
+     * @param corpus the corpus to find a pattern for.
+     */
+    @Setup(Level.Trial)
+    public void setup(CorpusState corpus) {
+        pattern = PathPatternFinder.findPatternPaths(corpus.paths, IOCase.SENSITIVE, true);
+        compiled = pattern.compile(IOCase.SENSITIVE);
+        pathsAsStrings = corpus.paths.stream().map(Object::toString).toArray(String[]::new);
+    }
+}
@@ -57,6 +57,15 @@ public class CasedStringComparer {
         return ioCase.checkEquals(str1, str2);
     }
 
+    /**
+     * Whether matching is case-sensitive.
+     *
+     * @return true if case-sensitive, false otherwise.
+     */
+    public boolean isCaseSensitive() {
+        return ioCase.isCaseSensitive();
+    }
+
     /**
      * Are two characters identical, based upon current case-sensitivity settings?
      *
@@ -0,0 +1,346 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Parses the command-line arguments, separating options from the arguments that specify paths.
+ *
+ * <p>The following options are supported:
+ *
+ * <ul>
+ *   <li>{@code --stdin} reads paths from the standard input.
+ *   <li>{@code --manifest <file>} reads paths from a file.
+ *   <li>{@code --null} or {@code -0} expects each path read via the above options to be followed by
+ *       a NUL character, rather than a newline.
+ *   <li>{@code --quiet} or {@code -q} does not print each path.
+ *   <li>{@code --sample <size>} finds the pattern from a random sample of paths, see {@link
+ *       SampledPatternFinder}.
+ *   <li>{@code --seed <seed>} the seed for selecting the sample randomly, otherwise zero.
+ *   <li>{@code --memo} remembers which steps failed for each list of strings, and reports how often
+ *       this avoided repeating them, see {@link
+ *       com.owenfeehan.pathpatternfinder.patternelements.unresolved.TrimMemo}.
+ *   <li>{@code --profile <format>} reports where time and memory are spent when resolving, via a
+ *       {@link com.owenfeehan.pathpatternfinder.profile.ResolveProfile}, where the format is either
+ *       {@code table} or {@code json}.
+ *   <li>{@code --cache <directory>} stores the pattern in a {@link PatternCache} in the directory,
+ *       and retrieves it if the files are unchanged. This requires a single directory as input.
+ * </ul>
+ *
+ * <p>At most one of {@code --sample}, {@code --memo}, {@code --profile} and {@code --cache} may be
+ * specified.
+ *
+ * <p>Any other argument is treated as in {@link PathsFromArguments}.
+ *
+ * @author Owen Feehan
+ */
+class CommandLineArguments {
+
+    /** The format for {@code --profile} that prints a table. */
+    public static final String PROFILE_TABLE = "table";
+
+    /** The format for {@code --profile} that prints JSON. */
+    public static final String PROFILE_JSON = "json";
+
+    private boolean stdin = false;
+
+    private Optional<Path> manifest = Optional.empty();
+
+    private boolean nullSeparated = false;
+
+    private boolean quiet = false;
+
+    private OptionalInt sampleSize = OptionalInt.empty();
+
+    private long seed = 0;
+
+    private boolean memo = false;
+
+    private Optional<String> profileFormat = Optional.empty();
+
+    private Optional<Path> cacheDirectory = Optional.empty();
+
+    /** Arguments that are not options, which are globs or paths to files/directories. */
+    private List<String> remaining = new ArrayList<>();
+
+    /**
+     * Creates from the command-line arguments.
+     *
+     * @param args the command-line arguments.
+     * @throws IllegalArgumentException if an option is unknown or incomplete.
+     */
+    public CommandLineArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--stdin":
+                    stdin = true;
+                    break;
+                case "--manifest":
+                    if (i == args.length - 1) {
+                        throw new IllegalArgumentException(
+                                "The --manifest option must be followed by a path to a file");
+                    }
+                    manifest = Optional.of(Paths.get(args[++i]));
+                    break;
+                case "--null":
+                case "-0":
+                    nullSeparated = true;
+                    break;
+                case "--quiet":
+                case "-q":
+                    quiet = true;
+                    break;
+                case "--sample":
+                    sampleSize = OptionalInt.of(parsePositiveInt(args, ++i, "--sample"));
+                    break;
+                case "--seed":
+                    seed = parseNumber(args, ++i, "--seed");
+                    break;
+                case "--memo":
+                    memo = true;
+                    break;
+                case "--profile":
+                    if (i == args.length - 1
+                            || (!args[i + 1].equals(PROFILE_TABLE)
+                                    && !args[i + 1].equals(PROFILE_JSON))) {
+                        throw new IllegalArgumentException(
+                                "The --profile option must be followed by either table or json");
+                    }
+                    profileFormat = Optional.of(args[++i]);
+                    break;
+                case "--cache":
+                    if (i == args.length - 1) {
+                        throw new IllegalArgumentException(
+                                "The --cache option must be followed by a path to a directory");
+                    }
+                    cacheDirectory = Optional.of(Paths.get(args[++i]));
+                    break;
+                default:
+                    if (args[i].startsWith("--")) {
+                        throw new IllegalArgumentException(
+                                String.format("Unknown option: %s", args[i]));
+                    }
+                    remaining.add(args[i]);
+            }
+        }
+
+        if (nullSeparated && !stdin && !manifest.isPresent()) {
+            throw new IllegalArgumentException(
+                    "The --null option requires either --stdin or --manifest");
+        }
+
+        if (countTrue(
+                        sampleSize.isPresent(),
+                        memo,
+                        profileFormat.isPresent(),
+                        cacheDirectory.isPresent())
+                > 1) {
+            throw new IllegalArgumentException(
+                    "Only one of the --sample, --memo, --profile and --cache options may be specified");
+        }
+
+        if (cacheDirectory.isPresent()
+                && (stdin
+                        || manifest.isPresent()
+                        || remaining.size() != 1
+                        || remaining.get(0).contains("*"))) {
+            throw new IllegalArgumentException(
+                    "The --cache option requires a single directory as input");
+        }
+    }
+
+    /**
+     * Is at least one source of paths specified?
+     *
+     * @return true iff paths are to be read from the standard input, a manifest, or arguments.
+     */
+    public boolean hasInput() {
+        return stdin || manifest.isPresent() || !remaining.isEmpty();
+    }
+
+    /**
+     * Should each path not be printed?
+     *
+     * @return true iff the paths should not be printed.
+     */
+    public boolean isQuiet() {
+        return quiet;
+    }
+
+    /**
+     * The maximum number of paths in a sample, from which to find the pattern.
+     *
+     * @return the size of the sample, or {@link OptionalInt#empty} if the pattern should be found
+     *     from all paths.
+     */
+    public OptionalInt sampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * The seed for selecting a sample randomly.
+     *
+     * @return the seed.
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Should a memo be used, and how often it avoided repeating failed steps be reported?
+     *
+     * @return true iff a memo should be used.
+     */
+    public boolean isMemo() {
+        return memo;
+    }
+
+    /**
+     * The format in which to report where time and memory are spent when resolving.
+     *
+     * @return either {@link #PROFILE_TABLE} or {@link #PROFILE_JSON}, or {@link Optional#empty} if
+     *     nothing should be reported.
+     */
+    public Optional<String> profileFormat() {
+        return profileFormat;
+    }
+
+    /**
+     * The directory in which to cache patterns.
+     *
+     * <p>When present, the only input is a single path, see {@link #inputDirectory}.
+     *
+     * @return the directory, or {@link Optional#empty} if patterns should not be cached.
+     */
+    public Optional<Path> cacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * The single path specified as an argument, which is expected to be a directory, when patterns
+     * are cached.
+     *
+     * @return the path, made absolute.
+     */
+    public Path inputDirectory() {
+        return Paths.get(remaining.get(0)).toAbsolutePath();
+    }
+
+    /**
+     * Derives the list of paths from all specified sources.
+     *
+     * <p>Paths from a manifest occur first, then paths from the standard input, then paths derived
+     * from any other arguments.
+     *
+     * @return the paths.
+     * @throws IOException if a path or the manifest cannot be read.
+     */
+    public List<Path> paths() throws IOException {
+        List<Path> out = new ArrayList<>();
+        if (manifest.isPresent()) {
+            try (FileChannel channel = FileChannel.open(manifest.get())) {
+                out = appendTo(out, PathsFromManifest.readPaths(channel, nullSeparated));
+            }
+        }
+        if (stdin) {
+            out =
+                    appendTo(
+                            out,
+                            PathsFromManifest.readPaths(
+                                    Channels.newChannel(System.in), nullSeparated));
+        }
+        if (!remaining.isEmpty()) {
+            out = appendTo(out, PathsFromArguments.pathsFromArgs(remaining.toArray(new String[0])));
+        }
+        return out;
+    }
+
+    /** Parses the number that follows an option. */
+    private static Long parseNumber(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(
+                    String.format("The %s option must be followed by a number", option));
+        }
+        try {
+            return Long.valueOf(args[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The %s option must be followed by a number, not %s",
+                            option, args[index]));
+        }
+    }
+
+    /** Parses the positive {@code int} that follows an option. */
+    private static int parsePositiveInt(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(
+                    String.format("The %s option must be followed by a number", option));
+        }
+        try {
+            int number = Integer.parseInt(args[index]);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, in the same way as a number that is not positive
+        }
+        throw new IllegalArgumentException(
+                String.format(
+                        "The %s option must be followed by a positive number no greater than %d, not %s",
+                        option, Integer.MAX_VALUE, args[index]));
+    }
+
+    /** Counts how many of the conditions are true. */
+    private static int countTrue(boolean... conditions) {
+        int count = 0;
+        for (boolean condition : conditions) {
+            if (condition) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Appends paths to a list, avoiding any copy if the existing list is empty. */
+    private static List<Path> appendTo(List<Path> existing, List<Path> toAppend) {
+        if (existing.isEmpty()) {
+            return toAppend;
+        }
+        existing.addAll(toAppend);
+        return existing;
+    }
+}
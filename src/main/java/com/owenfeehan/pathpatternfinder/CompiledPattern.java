@@ -0,0 +1,147 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * com.owenfeehan.pathpatternfinder:path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
+import java.util.Optional;
+
+/**
+ * A {@link Pattern} prepared in advance, for efficiently fitting many strings against it.
+ *
+ * <p>Fitting produces identical results to {@link Pattern#fitAgainst}, but each element has a
+ * matcher that is created only once, and matching writes the boundaries between elements into a
+ * buffer supplied by the caller, rather than creating any new strings.
+ *
+ * <p>The one exception is that an integer element must always match at least one digit, whereas
+ * {@link Pattern#fitAgainst} accepts an empty integer at the end of a string. An empty integer
+ * cannot be appended as a value of the element, so such a string does not fit.
+ *
+ * <p>This class is immutable, and can be used concurrently from multiple threads, so long as each
+ * thread uses its own buffer.
+ *
+ * @author Owen Feehan
+ */
+public class CompiledPattern {
+
+    /** A matcher for each respective element in the pattern. */
+    private final ElementMatcher[] matchers;
+
+    /**
+     * Creates with a matcher for each element.
+     *
+     * @param matchers a matcher for each respective element in the pattern.
+     */
+    CompiledPattern(ElementMatcher[] matchers) {
+        this.matchers = matchers;
+    }
+
+    /**
+     * The number of elements in the pattern.
+     *
+     * @return the number of elements.
+     */
+    public int numberElements() {
+        return matchers.length;
+    }
+
+    /**
+     * Creates a buffer suitable for {@link #match}.
+     *
+     * @return a newly created array, with one more element than the pattern.
+     */
+    public int[] createBoundaries() {
+        return new int[matchers.length + 1];
+    }
+
+    /**
+     * Fits a string against the pattern, recording the position of each element in the string.
+     *
+     * <p>If successful, element {@code i} spans from {@code boundaries[i]} (inclusive) to {@code
+     * boundaries[i+1]} (exclusive). As with {@link Pattern#fitAgainst}, any characters after the
+     * final boundary are ignored.
+     *
+     * @param input the string to fit.
+     * @param boundaries a buffer, with at least one more element than the pattern, which is
+     *     overwritten with the positions of the elements. Its contents are undefined if the string
+     *     cannot be fit.
+     * @return true if the string fits the pattern, false otherwise.
+     */
+    public boolean match(CharSequence input, int[] boundaries) {
+        return matchPrefix(input, boundaries) == matchers.length;
+    }
+
+    /**
+     * Like {@link #match} but determines how many elements (from the left) fit, when not all do.
+     *
+     * @param input the string to fit.
+     * @param boundaries a buffer, with at least one more element than the pattern. If {@code n} is
+     *     returned, the first {@code n+1} positions are overwritten, so that element {@code i < n}
+     *     spans from {@code boundaries[i]} (inclusive) to {@code boundaries[i+1]} (exclusive), and
+     *     {@code boundaries[n]} is where the first element that does not fit, would begin.
+     * @return the number of elements that fit, from the left, which equals {@link #numberElements}
+     *     if the string fits the pattern.
+     */
+    public int matchPrefix(CharSequence input, int[] boundaries) {
+        if (boundaries.length <= matchers.length) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "boundaries must have at least %d elements, but has %d.",
+                            matchers.length + 1, boundaries.length));
+        }
+
+        int position = 0;
+        for (int i = 0; i < matchers.length; i++) {
+            boundaries[i] = position;
+            position = matchers[i].matchFrom(input, position);
+            if (position == -1) {
+                return i;
+            }
+        }
+        boundaries[matchers.length] = position;
+        return matchers.length;
+    }
+
+    /**
+     * Fits a string against the pattern, in the same manner as {@link Pattern#fitAgainst}.
+     *
+     * @param stringToFit the string to fit
+     * @return an array with a string for each corresponding element of the pattern, or {@code
+     *     Optional.empty()} if a string cannot be fit
+     */
+    public Optional<String[]> fitAgainst(String stringToFit) {
+        int[] boundaries = createBoundaries();
+        if (!match(stringToFit, boundaries)) {
+            return Optional.empty();
+        }
+
+        String[] out = new String[matchers.length];
+        for (int i = 0; i < matchers.length; i++) {
+            out[i] = stringToFit.substring(boundaries[i], boundaries[i + 1]);
+        }
+        return Optional.of(out);
+    }
+}
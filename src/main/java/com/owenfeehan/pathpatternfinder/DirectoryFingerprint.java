@@ -0,0 +1,260 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A cheap summary of the files found recursively in a directory, to detect whether they have since
+ * changed.
+ *
+ * <p>It consists of:
+ *
+ * <ul>
+ *   <li>the root directory.
+ *   <li>the number of files.
+ *   <li>a hash of the sorted names of the files, relative to the root.
+ *   <li>the last-modified time of the root and every directory beneath it.
+ *   <li>the time at which the fingerprint was created.
+ * </ul>
+ *
+ * <p>As adding, removing or renaming a file changes the last-modified time of its directory, the
+ * files are unchanged if every directory's last-modified time is unchanged, which can be checked
+ * without listing any directory. This relies on the file-system updating the times with sufficient
+ * precision. A change made within the same tick as the directory was listed would go undetected, so
+ * any directory whose time is within {@link #TIMESTAMP_GRANULARITY_MILLIS} of when the fingerprint
+ * was created is treated as unverified.
+ *
+ * <p>The root may be a symbolic link, in which case the time of the directory it links to is
+ * recorded. Directories beneath the root are never links, as links are not followed when listing.
+ *
+ * <p>If any time has changed, the directory must be listed again, but the files may nevertheless be
+ * unchanged (e.g. a file was added and then removed), which is detected by comparing the number and
+ * hash of names via {@link #hasSameFiles}.
+ *
+ * @author Owen Feehan
+ */
+public class DirectoryFingerprint {
+
+    /** Offset basis for the 64-bit FNV-1a hash. */
+    private static final long HASH_OFFSET = 0xcbf29ce484222325L;
+
+    /** Prime for the 64-bit FNV-1a hash. */
+    private static final long HASH_PRIME = 0x100000001b3L;
+
+    /**
+     * The coarsest precision with which a file-system may record last-modified times, in
+     * milliseconds (e.g. two seconds for FAT).
+     */
+    static final long TIMESTAMP_GRANULARITY_MILLIS = 2000;
+
+    private final Path root;
+
+    private final int numberFiles;
+
+    private final long namesHash;
+
+    /** The last-modified time of each directory, in milliseconds, sorted by path. */
+    private final Map<Path, Long> directoryTimes;
+
+    /** When the fingerprint was created, in milliseconds since the epoch. */
+    private final long createdMillis;
+
+    /**
+     * Creates for the files found in a directory.
+     *
+     * @param root the directory in which the files were found.
+     * @param files the files found, in any order, as absolute paths beneath {@code root}.
+     * @param directoryTimes the last-modified time of {@code root} and every directory beneath it,
+     *     in milliseconds, as recorded by {@link FindFilesRecursively} when listing the files.
+     */
+    public DirectoryFingerprint(Path root, List<Path> files, Map<Path, Long> directoryTimes) {
+        this(
+                root,
+                files.size(),
+                hashNames(root, files),
+                new TreeMap<>(directoryTimes),
+                System.currentTimeMillis());
+    }
+
+    private DirectoryFingerprint(
+            Path root,
+            int numberFiles,
+            long namesHash,
+            Map<Path, Long> directoryTimes,
+            long createdMillis) {
+        this.root = root;
+        this.numberFiles = numberFiles;
+        this.namesHash = namesHash;
+        this.directoryTimes = directoryTimes;
+        this.createdMillis = createdMillis;
+    }
+
+    /**
+     * Reads a fingerprint, previously written by {@link #write}.
+     *
+     * @param input where to read the fingerprint from.
+     * @return a newly created fingerprint.
+     * @throws IOException if the fingerprint cannot be read.
+     */
+    public static DirectoryFingerprint read(DataInput input) throws IOException {
+        Path root = Paths.get(input.readUTF());
+        int numberFiles = input.readInt();
+        long namesHash = input.readLong();
+        long createdMillis = input.readLong();
+        int numberDirectories = input.readInt();
+        Map<Path, Long> directoryTimes = new TreeMap<>();
+        for (int i = 0; i < numberDirectories; i++) {
+            directoryTimes.put(Paths.get(input.readUTF()), input.readLong());
+        }
+        return new DirectoryFingerprint(
+                root, numberFiles, namesHash, directoryTimes, createdMillis);
+    }
+
+    /**
+     * Writes the fingerprint.
+     *
+     * @param output where to write the fingerprint to.
+     * @throws IOException if the fingerprint cannot be written.
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeUTF(root.toString());
+        output.writeInt(numberFiles);
+        output.writeLong(namesHash);
+        output.writeLong(createdMillis);
+        output.writeInt(directoryTimes.size());
+        for (Map.Entry<Path, Long> entry : directoryTimes.entrySet()) {
+            output.writeUTF(entry.getKey().toString());
+            output.writeLong(entry.getValue());
+        }
+    }
+
+    /**
+     * Are the last-modified times of every directory unchanged on the file-system, and old enough
+     * to be trusted?
+     *
+     * <p>This reads the attributes of each directory, but does not list any directory.
+     *
+     * @return true iff every directory still exists with an identical last-modified time, which was
+     *     recorded at least {@link #TIMESTAMP_GRANULARITY_MILLIS} before the fingerprint was
+     *     created, in which case the files are also unchanged.
+     */
+    public boolean isUnchanged() {
+        for (Map.Entry<Path, Long> entry : directoryTimes.entrySet()) {
+            if (entry.getValue() > createdMillis - TIMESTAMP_GRANULARITY_MILLIS) {
+                // The directory may have changed later within the same tick, without its time
+                // changing
+                return false;
+            }
+            try {
+                BasicFileAttributes attributes = readAttributes(entry.getKey());
+                if (!attributes.isDirectory()
+                        || attributes.lastModifiedTime().toMillis() != entry.getValue()) {
+                    return false;
+                }
+            } catch (IOException e) {
+                // The directory no longer exists, or cannot be read
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Does another fingerprint describe identical files, irrespective of the times of directories?
+     *
+     * @param other the other fingerprint.
+     * @return true iff both have the same root, number of files and hash of names.
+     */
+    public boolean hasSameFiles(DirectoryFingerprint other) {
+        return root.equals(other.root)
+                && numberFiles == other.numberFiles
+                && namesHash == other.namesHash;
+    }
+
+    /**
+     * The directory in which the files were found.
+     *
+     * @return the directory.
+     */
+    public Path root() {
+        return root;
+    }
+
+    /**
+     * The number of files found.
+     *
+     * @return the number of files.
+     */
+    public int numberFiles() {
+        return numberFiles;
+    }
+
+    /**
+     * Reads the attributes of a directory, following a link only for the root, as when the
+     * directory times were recorded.
+     */
+    private BasicFileAttributes readAttributes(Path directory) throws IOException {
+        if (directory.equals(root)) {
+            return Files.readAttributes(directory, BasicFileAttributes.class);
+        } else {
+            return Files.readAttributes(
+                    directory, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        }
+    }
+
+    /** A 64-bit FNV-1a hash of the sorted names of the files, relative to {@code root}. */
+    private static long hashNames(Path root, List<Path> files) {
+        List<String> names = new ArrayList<>(files.size());
+        for (Path file : files) {
+            names.add(root.relativize(file).toString());
+        }
+        Collections.sort(names);
+
+        long hash = HASH_OFFSET;
+        for (String name : names) {
+            for (int i = 0; i < name.length(); i++) {
+                hash = (hash ^ name.charAt(i)) * HASH_PRIME;
+            }
+            // Mixes in a NUL character, which cannot occur in a name, so that names are separated
+            hash *= HASH_PRIME;
+        }
+        return hash;
+    }
+}
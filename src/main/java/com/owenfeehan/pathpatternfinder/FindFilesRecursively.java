@@ -27,15 +27,23 @@ package com.owenfeehan.pathpatternfinder;
  */
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Finds a list of files recursively in a directory.
  *
+ * <p>Directories can be listed either sequentially, or in parallel, where each directory is listed
+ * as a separate task. The latter is beneficial when listing a directory has high latency, e.g. on a
+ * network file-system.
+ *
  * @author Owen Feehan
  */
 public class FindFilesRecursively {
@@ -100,6 +108,130 @@ public class FindFilesRecursively {
         return list;
     }
 
+    /**
+     * Like {@link #findFiles(Path, Optional)} but lists directories in parallel, with a limit on
+     * how many directories are listed concurrently.
+     *
+     * @param root the directory in which (as well as it's sub-directories) we search for files.
+     * @param fileFilterPattern if defined, glob-style pattern: *.jpg or *.* or * or similar. See
+     *     java.nio.file.PathMatcher docs. If not defined, ignored.
+     * @param maxConcurrency the maximum number of directories that are listed concurrently.
+     * @param sort if true, the paths are sorted in their natural order. Otherwise the order depends
+     *     on the order in which the file-system lists each directory.
+     * @return list of all paths found
+     * @throws IOException if root isn't a valid directory, or something goes wrong while walking
+     *     the tree.
+     */
+    public static List<Path> findFiles(
+            Path root, Optional<String> fileFilterPattern, int maxConcurrency, boolean sort)
+            throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(maxConcurrency);
+        try {
+            return findFiles(root, fileFilterPattern, pool, sort);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Like {@link #findFiles(Path, Optional)} but lists directories in parallel in a particular
+     * pool.
+     *
+     * <p>As a task blocks while listing a directory, no more directories are listed concurrently
+     * than the parallelism of the pool.
+     *
+     * @param root the directory in which (as well as it's sub-directories) we search for files.
+     * @param fileFilterPattern if defined, glob-style pattern: *.jpg or *.* or * or similar. See
+     *     java.nio.file.PathMatcher docs. If not defined, ignored.
+     * @param pool the pool in which directories are listed.
+     * @param sort if true, the paths are sorted in their natural order. Otherwise the order depends
+     *     on the order in which the file-system lists each directory.
+     * @return list of all paths found
+     * @throws IOException if root isn't a valid directory, or something goes wrong while walking
+     *     the tree.
+     */
+    public static List<Path> findFiles(
+            Path root, Optional<String> fileFilterPattern, ForkJoinPool pool, boolean sort)
+            throws IOException {
+        return findFiles(root, fileFilterPattern, pool, sort, Optional.empty());
+    }
+
+    /**
+     * Like {@link #findFiles(Path, Optional, int, boolean)} but additionally records the
+     * last-modified time of every directory that is listed.
+     *
+     * <p>As adding, removing or renaming a file changes the last-modified time of its directory,
+     * the times can later be compared to detect whether the files found might have changed, see
+     * {@link DirectoryFingerprint}.
+     *
+     * @param root the directory in which (as well as it's sub-directories) we search for files.
+     * @param fileFilterPattern if defined, glob-style pattern: *.jpg or *.* or * or similar. See
+     *     java.nio.file.PathMatcher docs. If not defined, ignored.
+     * @param maxConcurrency the maximum number of directories that are listed concurrently.
+     * @param sort if true, the paths are sorted in their natural order. Otherwise the order depends
+     *     on the order in which the file-system lists each directory.
+     * @param directoryTimes the last-modified time, in milliseconds, of {@code root} and of each
+     *     directory beneath it, is added to this map, keyed by absolute path. It must be safe to
+     *     add to concurrently from several threads, e.g. a {@link
+     *     java.util.concurrent.ConcurrentHashMap}.
+     * @return list of all paths found
+     * @throws IOException if root isn't a valid directory, or something goes wrong while walking
+     *     the tree.
+     */
+    public static List<Path> findFiles(
+            Path root,
+            Optional<String> fileFilterPattern,
+            int maxConcurrency,
+            boolean sort,
+            Map<Path, Long> directoryTimes)
+            throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(maxConcurrency);
+        try {
+            return findFiles(root, fileFilterPattern, pool, sort, Optional.of(directoryTimes));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Path> findFiles(
+            Path root,
+            Optional<String> fileFilterPattern,
+            ForkJoinPool pool,
+            boolean sort,
+            Optional<Map<Path, Long>> directoryTimes)
+            throws IOException {
+
+        if (!root.isAbsolute()) {
+            root = root.toAbsolutePath();
+        }
+
+        if (!root.toFile().isDirectory()) {
+            throw new IOException(String.format("Path '%s' is not a directory", root));
+        }
+
+        if (directoryTimes.isPresent()) {
+            // Following any link, so that the time of the directory being listed is recorded
+            directoryTimes.get().put(root, Files.getLastModifiedTime(root).toMillis());
+        }
+
+        List<Path> list;
+        try {
+            list =
+                    pool.invoke(
+                            new WalkDirectoryTask(
+                                    root,
+                                    matcherFromPattern(root, fileFilterPattern),
+                                    directoryTimes));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (sort) {
+            Collections.sort(list);
+        }
+        return list;
+    }
+
     private static Optional<PathMatcher> matcherFromPattern(
             Path root, Optional<String> fileFilterPattern) {
         return fileFilterPattern.map(
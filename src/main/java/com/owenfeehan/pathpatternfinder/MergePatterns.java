@@ -0,0 +1,230 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.IOCase;
+
+/**
+ * Merges the patterns of two neighbouring shards of paths into a single pattern.
+ *
+ * <p>The elements are aligned by position from the left:
+ *
+ * <ul>
+ *   <li>identical constants remain constant.
+ *   <li>variable elements of the same type are combined, with the values of the first shard and
+ *       then the second.
+ *   <li>a constant aligned with a variable element is widened into the variable element, with the
+ *       constant's value repeated for every path in its shard, if the value fits the type.
+ * </ul>
+ *
+ * <p>If any position cannot be aligned, or one pattern has more elements, the elements are combined
+ * only as far as the last directory-separator of any constant root common to both patterns.
+ * Everything after it is resolved again, from the values of the remaining elements of each path, as
+ * in {@link PatternBuilder}. If there is no common root, the pattern is found again from every
+ * path.
+ *
+ * @author Owen Feehan
+ */
+class MergePatterns {
+
+    private final IOCase ioCase;
+    private final boolean avoidExtensionSplit;
+
+    /**
+     * Creates with particular settings, which should match those used to find each pattern.
+     *
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     */
+    public MergePatterns(IOCase ioCase, boolean avoidExtensionSplit) {
+        this.ioCase = ioCase;
+        this.avoidExtensionSplit = avoidExtensionSplit;
+    }
+
+    /**
+     * Merges the patterns of two shards.
+     *
+     * @param first the shard whose paths occur first.
+     * @param second the shard whose paths occur second.
+     * @return a newly created pattern, sharing no elements with either existing pattern.
+     */
+    public Pattern merge(PatternShard first, PatternShard second) {
+        Pattern patternFirst = first.pattern();
+        Pattern patternSecond = second.pattern();
+
+        int numberAligned = 0;
+        int minSize = Math.min(patternFirst.size(), patternSecond.size());
+        while (numberAligned < minSize
+                && canAlign(patternFirst.get(numberAligned), patternSecond.get(numberAligned))) {
+            numberAligned++;
+        }
+
+        if (numberAligned == patternFirst.size() && numberAligned == patternSecond.size()) {
+            return new Pattern(alignElements(first, second, numberAligned));
+        }
+
+        int firstToResolve = afterCommonDirectory(patternFirst, numberAligned);
+        if (firstToResolve == 0) {
+            return findFromScratch(first, second);
+        }
+
+        List<PatternElement> elements = alignElements(first, second, firstToResolve);
+
+        List<String> remainders = new ArrayList<>(first.numberPaths() + second.numberPaths());
+        addRemainders(first, firstToResolve, remainders);
+        addRemainders(second, firstToResolve, remainders);
+
+        if (remainders.stream().anyMatch(remainder -> !remainder.isEmpty())) {
+            boolean requiresPeriod =
+                    avoidExtensionSplit
+                            && remainders.stream().anyMatch(string -> string.contains("."));
+            Pattern remainder =
+                    new UnresolvedPatternElementFactory(ioCase)
+                            .createUnresolvedString(remainders, requiresPeriod);
+            remainder.resolve();
+            remainder.forEach(elements::add);
+        }
+        return new Pattern(elements);
+    }
+
+    /**
+     * The index of the element after the last directory-separator, among the constant elements at
+     * the start of a pattern, that are aligned.
+     *
+     * <p>These elements form a common root among all paths in both shards. By resolving again
+     * everything after it, the remainders are identical to those resolved when finding a pattern
+     * from all paths at once. Resolving again only from the first element that is not aligned would
+     * instead retain boundaries between variable elements that may no longer be appropriate.
+     *
+     * @return the index, or 0 if no such directory-separator exists.
+     */
+    private static int afterCommonDirectory(Pattern pattern, int numberAligned) {
+        int index = 0;
+        for (int i = 0; i < numberAligned && pattern.get(i).hasConstantValue(); i++) {
+            if (pattern.get(i).valueAt(0).endsWith(File.separator)) {
+                index = i + 1;
+            }
+        }
+        return index;
+    }
+
+    /** Can two elements at the same position be combined into a single element? */
+    private boolean canAlign(PatternElement element1, PatternElement element2) {
+        if (element1.hasConstantValue() && element2.hasConstantValue()) {
+            return ioCase.checkEquals(element1.valueAt(0), element2.valueAt(0));
+        } else if (element1.hasConstantValue()) {
+            return fitsEntirely(element1.valueAt(0), element2);
+        } else if (element2.hasConstantValue()) {
+            return fitsEntirely(element2.valueAt(0), element1);
+        } else {
+            return element1.getClass() == element2.getClass();
+        }
+    }
+
+    /**
+     * Can a constant value be widened into the type of a variable element?
+     *
+     * <p>The value must be a value the type can hold, so it is tested against an element of the
+     * same type, containing only that value.
+     */
+    private boolean fitsEntirely(String value, PatternElement variable) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        PatternElement element = variable.duplicateWithoutValues();
+        element.appendValue(value);
+        return element.compileMatcher(ioCase).matchFrom(value, 0) == value.length();
+    }
+
+    /** Combines the first {@code numberElements} aligned elements of each pattern. */
+    private static List<PatternElement> alignElements(
+            PatternShard first, PatternShard second, int numberElements) {
+        List<PatternElement> elements = new ArrayList<>();
+        for (int i = 0; i < numberElements; i++) {
+            PatternElement element1 = first.pattern().get(i);
+            PatternElement element2 = second.pattern().get(i);
+
+            // If only one element is constant, it is widened into the variable element
+            PatternElement combined;
+            if (element1.hasConstantValue() && !element2.hasConstantValue()) {
+                combined = element2.duplicateWithoutValues();
+            } else {
+                combined = element1.duplicateWithoutValues();
+            }
+
+            if (!combined.hasConstantValue()) {
+                appendValues(element1, first.numberPaths(), combined);
+                appendValues(element2, second.numberPaths(), combined);
+            }
+            elements.add(combined);
+        }
+        return elements;
+    }
+
+    private static void appendValues(
+            PatternElement source, int numberPaths, PatternElement target) {
+        for (int i = 0; i < numberPaths; i++) {
+            target.appendValue(source.valueAt(i));
+        }
+    }
+
+    /** Adds the remainder of each path in a shard, from a particular element onwards. */
+    private static void addRemainders(
+            PatternShard shard, int firstElement, List<String> remainders) {
+        for (int i = 0; i < shard.numberPaths(); i++) {
+            remainders.add(valueOfElements(shard.pattern(), i, firstElement));
+        }
+    }
+
+    /** Finds the pattern again from every path, as each shard's pattern is unhelpful. */
+    private Pattern findFromScratch(PatternShard first, PatternShard second) {
+        List<Path> paths = new ArrayList<>(first.numberPaths() + second.numberPaths());
+        for (PatternShard shard : new PatternShard[] {first, second}) {
+            for (int i = 0; i < shard.numberPaths(); i++) {
+                paths.add(Paths.get(valueOfElements(shard.pattern(), i, 0)));
+            }
+        }
+        return PathPatternFinder.findPatternPaths(paths, ioCase, avoidExtensionSplit);
+    }
+
+    /** The value of a particular path, for all elements from a particular element onwards. */
+    private static String valueOfElements(Pattern pattern, int indexPath, int firstElement) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = firstElement; i < pattern.size(); i++) {
+            builder.append(pattern.get(i).valueAt(indexPath));
+        }
+        return builder.toString();
+    }
+}
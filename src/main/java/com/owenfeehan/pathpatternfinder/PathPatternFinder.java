@@ -26,11 +26,20 @@ package com.owenfeehan.pathpatternfinder;
  * #L%
  */
 
+import com.owenfeehan.pathpatternfinder.commonpath.PathTrie;
 import com.owenfeehan.pathpatternfinder.describer.DescribePattern;
+import com.owenfeehan.pathpatternfinder.patternelements.unresolved.TrimMemo;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
+import com.owenfeehan.pathpatternfinder.profile.ResolveListener;
+import com.owenfeehan.pathpatternfinder.profile.ResolveProfile;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import org.apache.commons.io.IOCase;
 
 /**
@@ -62,6 +71,12 @@ import org.apache.commons.io.IOCase;
  */
 public class PathPatternFinder {
 
+    /** The maximum total size of all patterns in a cache, specified via {@code --cache}. */
+    private static final long MAX_CACHE_BYTES = 256L * 1024 * 1024;
+
+    /** The maximum number of failed steps remembered by a memo, specified via {@code --memo}. */
+    private static final int MAX_MEMO_ENTRIES = 100000;
+
     /**
      * Finds the pattern in a list of paths, using rules outlined above.
      *
@@ -73,12 +88,157 @@ public class PathPatternFinder {
      */
     public static Pattern findPatternPaths(
             List<Path> paths, IOCase ioCase, boolean avoidExtensionSplit) {
+        return findPatternPaths(
+                paths, createFactory(ioCase), avoidExtensionSplit, Pattern::resolve);
+    }
+
+    /**
+     * Like {@link #findPatternPaths(List, IOCase, boolean)} but remembers which steps failed for
+     * each list of strings in a memo, so that they are not repeated for identical lists.
+     *
+     * <p>The pattern found is identical to that found without a memo.
+     *
+     * @param paths a list of paths to match against
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @param memo the memo, which also counts how often a failed step was skipped
+     * @return the pattern-found
+     */
+    public static Pattern findPatternPaths(
+            List<Path> paths, IOCase ioCase, boolean avoidExtensionSplit, TrimMemo memo) {
+        return findPatternPaths(
+                paths,
+                new UnresolvedPatternElementFactory(ioCase, memo),
+                avoidExtensionSplit,
+                Pattern::resolve);
+    }
+
+    /**
+     * Like {@link #findPatternPaths(List, IOCase, boolean)} but informs a listener of each step
+     * when resolving, together with its time and memory, e.g. a {@link ResolveProfile}.
+     *
+     * @param paths a list of paths to match against
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @param listener informed of resolving the pattern, each list of strings, and each
+     *     trim-operation
+     * @return the pattern-found
+     */
+    public static Pattern findPatternPaths(
+            List<Path> paths,
+            IOCase ioCase,
+            boolean avoidExtensionSplit,
+            ResolveListener listener) {
+        return findPatternPaths(
+                paths,
+                new UnresolvedPatternElementFactory(ioCase, listener),
+                avoidExtensionSplit,
+                pattern -> pattern.resolve(listener));
+    }
+
+    /**
+     * Like {@link #findPatternPaths(List, IOCase, boolean)} but resolves independent parts of the
+     * pattern concurrently.
+     *
+     * <p>The pattern found is identical to that found when resolving sequentially.
+     *
+     * @param paths a list of paths to match against
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @param pool the pool in which to resolve
+     * @return the pattern-found
+     */
+    public static Pattern findPatternPaths(
+            List<Path> paths, IOCase ioCase, boolean avoidExtensionSplit, ForkJoinPool pool) {
+        return findPatternPaths(
+                paths,
+                createFactory(ioCase),
+                avoidExtensionSplit,
+                pattern -> pattern.resolve(pool));
+    }
+
+    /**
+     * Like {@link #findPatternPaths(List, IOCase, boolean)} but with the paths in a {@link
+     * PathTrie}, whose shared directories are represented only once.
+     *
+     * <p>Any common root is found from the trie directly. Beneath it, if every path has the same
+     * number of elements, each directory and the file-name are resolved separately, otherwise the
+     * remainder of each path is resolved as a string.
+     *
+     * <p>The values of each element in the pattern occur in the order the paths are found in the
+     * trie, rather than the order they were added.
+     *
+     * @param paths the paths to match against
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @return the pattern-found
+     */
+    public static Pattern findPatternPaths(
+            PathTrie paths, IOCase ioCase, boolean avoidExtensionSplit) {
+        return findPatternPaths(paths, ioCase, avoidExtensionSplit, Pattern::resolve);
+    }
+
+    /**
+     * Like {@link #findPatternPaths(PathTrie, IOCase, boolean)} but resolves independent parts of
+     * the pattern concurrently.
+     *
+     * <p>The pattern found is identical to that found when resolving sequentially.
+     *
+     * @param paths the paths to match against
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @param pool the pool in which to resolve
+     * @return the pattern-found
+     */
+    public static Pattern findPatternPaths(
+            PathTrie paths, IOCase ioCase, boolean avoidExtensionSplit, ForkJoinPool pool) {
+        return findPatternPaths(
+                paths, ioCase, avoidExtensionSplit, pattern -> pattern.resolve(pool));
+    }
+
+    /**
+     * Finds the pattern in a list of strings, using rules outlined above (from Step 3 onwards).
+     *
+     * @param strings a list of strings to match against
+     * @param ioCase how to treat the case in paths
+     * @return the pattern-found
+     */
+    public static Pattern findPatternStrings(List<String> strings, IOCase ioCase) {
+        return findPatternStrings(strings, ioCase, Pattern::resolve);
+    }
+
+    /**
+     * Like {@link #findPatternStrings(List, IOCase)} but resolves independent parts of the pattern
+     * concurrently.
+     *
+     * <p>The pattern found is identical to that found when resolving sequentially.
+     *
+     * @param strings a list of strings to match against
+     * @param ioCase how to treat the case in paths
+     * @param pool the pool in which to resolve
+     * @return the pattern-found
+     */
+    public static Pattern findPatternStrings(
+            List<String> strings, IOCase ioCase, ForkJoinPool pool) {
+        return findPatternStrings(strings, ioCase, pattern -> pattern.resolve(pool));
+    }
+
+    private static Pattern findPatternPaths(
+            List<Path> paths,
+            UnresolvedPatternElementFactory factory,
+            boolean avoidExtensionSplit,
+            Consumer<Pattern> resolver) {
 
         if (paths.size() > 1) {
             // This pattern grows, as we apply the algorithm
             Pattern pattern = new Pattern();
-            createFactory(ioCase).addUnresolvedPathsTo(paths, pattern, avoidExtensionSplit);
-            pattern.resolve();
+            factory.addUnresolvedPathsTo(paths, pattern, avoidExtensionSplit);
+            resolver.accept(pattern);
             return pattern;
         } else if (paths.size() == 1) {
             // If there is only one path, this is an easier case
@@ -89,18 +249,28 @@ public class PathPatternFinder {
         }
     }
 
-    /**
-     * Finds the pattern in a list of strings, using rules outlined above (from Step 3 onwards).
-     *
-     * @param strings a list of strings to match against
-     * @param ioCase how to treat the case in paths
-     * @return the pattern-found
-     */
-    public static Pattern findPatternStrings(List<String> strings, IOCase ioCase) {
+    private static Pattern findPatternPaths(
+            PathTrie paths,
+            IOCase ioCase,
+            boolean avoidExtensionSplit,
+            Consumer<Pattern> resolver) {
+        if (paths.numberPaths() == 0) {
+            throw new IllegalArgumentException(
+                    "The trie of paths is empty. It must contain at least one path.");
+        }
+
+        Pattern pattern = new Pattern();
+        createFactory(ioCase).addUnresolvedTrieTo(paths, pattern, avoidExtensionSplit);
+        resolver.accept(pattern);
+        return pattern;
+    }
+
+    private static Pattern findPatternStrings(
+            List<String> strings, IOCase ioCase, Consumer<Pattern> resolver) {
 
         Pattern pattern = new Pattern();
         createFactory(ioCase).addUnresolvedStringsTo(strings, pattern, false);
-        pattern.resolve();
+        resolver.accept(pattern);
         return pattern;
     }
 
@@ -108,35 +278,147 @@ public class PathPatternFinder {
      * Derives a pattern from the paths passed as command-line arguments.
      *
      * <ol>
-     *   <li>Accepts a globs or file/directory paths as command-line arguments
+     *   <li>Accepts a globs or file/directory paths as command-line arguments, and/or reads paths
+     *       from the standard input ({@code --stdin}) or a file ({@code --manifest <file>}),
+     *       separated by newlines or NUL characters ({@code --null})
      *   <li>Derives a list of paths from these parameters
-     *   <li>Derives a pattern from the list of paths
+     *   <li>Derives a pattern from the list of paths, printing each path unless {@code --quiet}
+     *   <li>Optionally derives the pattern from only a random sample of the paths ({@code --sample
+     *       <size>} and {@code --seed <seed>}), reporting any paths that do not fit and the time
+     *       each phase takes
+     *   <li>Optionally reports how often a memo avoided repeating failed steps ({@code --memo})
+     *   <li>Optionally reports where time and memory are spent when resolving, as a table or JSON
+     *       ({@code --profile table|json})
+     *   <li>Optionally stores the pattern in a cache ({@code --cache <directory>}), from which it
+     *       is retrieved without listing the directory again, if the directory is unchanged
      * </ol>
      *
      * @param args command-line arguments
      */
     public static void main(String[] args) {
 
-        if (args.length > 0) {
+        CommandLineArguments arguments;
+        try {
+            arguments = new CommandLineArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage()); // NOSONAR
+            return;
+        }
+
+        if (arguments.hasInput()) {
             try {
-                List<Path> paths = PathsFromArguments.pathsFromArgs(args);
-                findFilesAndPattern(paths);
+                if (arguments.cacheDirectory().isPresent()) {
+                    findPatternCached(
+                            arguments.inputDirectory(),
+                            arguments.cacheDirectory().get(),
+                            arguments.isQuiet());
+                    return;
+                }
+                List<Path> paths = arguments.paths();
+                findFilesAndPattern(paths, arguments);
             } catch (IOException e) {
                 System.err.println("An exception occurred: " + e.toString()); // NOSONAR
             }
         } else {
             System.err.println( // NOSONAR
-                    "This command expects at least 1 argument, either a wildcard filter like *.jpg or paths to files/directories");
+                    "This command expects at least 1 argument, either a wildcard filter like *.jpg or paths to files/directories, or --stdin or --manifest <file> to read paths (one per line, or NUL-separated with --null), optionally with --sample <size> to find the pattern from a random sample, or --cache <directory> to cache the pattern for a single directory");
         }
     }
 
-    private static void findFilesAndPattern(List<Path> files) {
+    private static void findFilesAndPattern(List<Path> files, CommandLineArguments arguments) {
 
-        printFiles(files);
+        if (!arguments.isQuiet()) {
+            printFiles(files);
+        }
+        System.out.printf("There are %d input paths in total%n", files.size()); // NOSONAR
 
         if (files.size() > 1) {
-            Pattern pattern = findPatternPaths(files, IOCase.SYSTEM, true);
-            System.out.printf("Pattern is: %s%n", DescribePattern.apply(pattern, true)); // NOSONAR
+            if (arguments.sampleSize().isPresent()) {
+                findPatternSampled(files, arguments.sampleSize().getAsInt(), arguments.seed());
+            } else if (arguments.profileFormat().isPresent()) {
+                ResolveProfile profile = new ResolveProfile();
+                Pattern pattern = findPatternPaths(files, IOCase.SYSTEM, true, profile);
+                System.out.printf( // NOSONAR
+                        "Pattern is: %s%n", DescribePattern.apply(pattern, true));
+                if (arguments.profileFormat().get().equals(CommandLineArguments.PROFILE_JSON)) {
+                    System.out.println(profile.toJson()); // NOSONAR
+                } else {
+                    System.out.print(profile.toTable()); // NOSONAR
+                }
+            } else if (arguments.isMemo()) {
+                TrimMemo memo = new TrimMemo(MAX_MEMO_ENTRIES);
+                Pattern pattern = findPatternPaths(files, IOCase.SYSTEM, true, memo);
+                System.out.printf( // NOSONAR
+                        "Pattern is: %s%n", DescribePattern.apply(pattern, true));
+                System.out.printf( // NOSONAR
+                        "Memo had %d hits and %d misses%n", memo.hits(), memo.misses());
+            } else {
+                Pattern pattern = findPatternPaths(files, IOCase.SYSTEM, true);
+                System.out.printf( // NOSONAR
+                        "Pattern is: %s%n", DescribePattern.apply(pattern, true));
+            }
+        }
+    }
+
+    /**
+     * Finds the pattern for the files in a directory, retrieving it from a cache if the files are
+     * unchanged.
+     *
+     * <p>If the last-modified time of every directory is unchanged, the pattern is retrieved
+     * without listing the directory, in which case the paths are not printed.
+     */
+    private static void findPatternCached(Path root, Path cacheDirectory, boolean quiet)
+            throws IOException {
+        PatternCache cache = new PatternCache(cacheDirectory, MAX_CACHE_BYTES);
+
+        Optional<PatternCache.Entry> entry = cache.get(root);
+        if (entry.isPresent()) {
+            System.out.printf( // NOSONAR
+                    "There are %d input paths in total%n", entry.get().fingerprint().numberFiles());
+            System.out.printf( // NOSONAR
+                    "Pattern is: %s%n", DescribePattern.apply(entry.get().pattern(), true));
+            return;
+        }
+
+        Map<Path, Long> directoryTimes = new ConcurrentHashMap<>();
+        List<Path> files =
+                FindFilesRecursively.findFiles(
+                        root,
+                        Optional.empty(),
+                        PathsFromArguments.MAX_CONCURRENCY,
+                        true,
+                        directoryTimes);
+        if (!quiet) {
+            printFiles(files);
+        }
+        System.out.printf("There are %d input paths in total%n", files.size()); // NOSONAR
+
+        if (files.size() > 1) {
+            Pattern pattern =
+                    cache.getOrFind(
+                            new DirectoryFingerprint(root, files, directoryTimes),
+                            () -> findPatternPaths(files, IOCase.SYSTEM, true));
+            System.out.printf( // NOSONAR
+                    "Pattern is: %s%n", DescribePattern.apply(pattern, true));
+        }
+    }
+
+    private static void findPatternSampled(List<Path> files, int sampleSize, long seed) {
+        SampledPattern sampled =
+                new SampledPatternFinder(IOCase.SYSTEM, true, sampleSize, seed).find(files);
+        System.out.printf( // NOSONAR
+                "Pattern is: %s%n", DescribePattern.apply(sampled.pattern(), true));
+        System.out.printf( // NOSONAR
+                "%d of %d paths fit the pattern%n", sampled.numberFit(), files.size());
+        if (sampled.residualPattern().isPresent()) {
+            System.out.printf( // NOSONAR
+                    "Pattern for the %d paths that do not fit is: %s%n",
+                    sampled.residual().size(),
+                    DescribePattern.apply(sampled.residualPattern().get(), true));
+        }
+        for (SampledPattern.Phase phase : SampledPattern.Phase.values()) {
+            System.out.printf( // NOSONAR
+                    "Phase %s took %d ms%n", phase, sampled.duration(phase).toMillis());
         }
     }
 
@@ -144,7 +426,6 @@ public class PathPatternFinder {
         for (Path path : paths) {
             System.out.println(path); // NOSONAR
         }
-        System.out.printf("There are %d input paths in total%n", paths.size()); // NOSONAR
     }
 
     private static UnresolvedPatternElementFactory createFactory(IOCase ioCase) {
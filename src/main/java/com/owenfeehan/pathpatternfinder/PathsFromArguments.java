@@ -47,6 +47,14 @@ import java.util.TreeSet;
  */
 class PathsFromArguments {
 
+    /**
+     * The maximum number of directories that are listed concurrently.
+     *
+     * <p>This may exceed the number of processors, as listing a directory mostly involves waiting
+     * on the file-system.
+     */
+    static final int MAX_CONCURRENCY = 16;
+
     private PathsFromArguments() {
         // Static use only of the class
     }
@@ -90,10 +98,11 @@ class PathsFromArguments {
     }
 
     private static List<Path> pathsFromWildcardGlob(String filterString) throws IOException {
-        return FindFilesRecursively.findFiles(Paths.get(""), Optional.of(filterString));
+        return FindFilesRecursively.findFiles(
+                Paths.get(""), Optional.of(filterString), MAX_CONCURRENCY, false);
     }
 
     private static List<Path> pathsInDirectory(Path directory) throws IOException {
-        return FindFilesRecursively.findFiles(directory, Optional.empty());
+        return FindFilesRecursively.findFiles(directory, Optional.empty(), MAX_CONCURRENCY, false);
     }
 }
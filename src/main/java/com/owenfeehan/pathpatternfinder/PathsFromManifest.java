@@ -0,0 +1,132 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a list of paths from a manifest, where each path is followed by a separator.
+ *
+ * <p>The manifest can be a file, or the standard input, and is read in large blocks, so that even
+ * manifests with millions of paths are read quickly.
+ *
+ * <p>The paths are returned in the order they occur in the manifest, without being sorted, or any
+ * duplicates being removed. Empty paths are ignored.
+ *
+ * @author Owen Feehan
+ */
+class PathsFromManifest {
+
+    /** The number of characters read at a time. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private PathsFromManifest() {
+        // Static use only of the class
+    }
+
+    /**
+     * Reads the paths from a channel, decoded with the default character-set.
+     *
+     * @param channel the channel to read from, which is read until its end, but not closed.
+     * @param nullSeparated if true, each path is followed by a NUL character (as produced by {@code
+     *     find -print0}), otherwise by a newline. In the latter case, a carriage-return preceding a
+     *     newline is also ignored.
+     * @return a newly created list of paths, in the order they were read.
+     * @throws IOException if the channel cannot be read, or contains an invalid path, in which case
+     *     the message reports the number of the line (or NUL-separated entry) it occurs on.
+     */
+    public static List<Path> readPaths(ReadableByteChannel channel, boolean nullSeparated)
+            throws IOException {
+        char separator = nullSeparated ? '\0' : '\n';
+
+        Reader reader =
+                Channels.newReader(
+                        channel,
+                        Charset.defaultCharset()
+                                .newDecoder()
+                                .onMalformedInput(CodingErrorAction.REPLACE)
+                                .onUnmappableCharacter(CodingErrorAction.REPLACE),
+                        BUFFER_SIZE);
+
+        List<Path> out = new ArrayList<>();
+
+        // Accumulates any path that spans more than one block
+        StringBuilder partial = new StringBuilder();
+
+        // The number of the line (or entry) that is currently being read, counting from one
+        int number = 1;
+
+        char[] buffer = new char[BUFFER_SIZE];
+        int numberRead;
+        while ((numberRead = reader.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < numberRead; i++) {
+                if (buffer[i] == separator) {
+                    partial.append(buffer, start, i - start);
+                    addPath(partial, nullSeparated, number++, out);
+                    partial.setLength(0);
+                    start = i + 1;
+                }
+            }
+            partial.append(buffer, start, numberRead - start);
+        }
+
+        // The final path need not be followed by a separator
+        addPath(partial, nullSeparated, number, out);
+        return out;
+    }
+
+    private static void addPath(
+            StringBuilder path, boolean nullSeparated, int number, List<Path> out)
+            throws IOException {
+        int length = path.length();
+        if (!nullSeparated && length > 0 && path.charAt(length - 1) == '\r') {
+            length--;
+        }
+        if (length > 0) {
+            try {
+                out.add(Paths.get(path.substring(0, length)));
+            } catch (InvalidPathException e) {
+                throw new IOException(
+                        String.format(
+                                "The path on %s %d of the manifest is invalid: %s",
+                                nullSeparated ? "entry" : "line", number, e.getMessage()),
+                        e);
+            }
+        }
+    }
+}
@@ -27,14 +27,18 @@ package com.owenfeehan.pathpatternfinder;
  */
 
 import com.owenfeehan.pathpatternfinder.describer.DescribePattern;
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
 import com.owenfeehan.pathpatternfinder.patternelements.ExtractedElement;
 import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.profile.ResolveListener;
+import com.owenfeehan.pathpatternfinder.profile.ResolveStep;
+import com.owenfeehan.pathpatternfinder.profile.ResolveStopwatch;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 import org.apache.commons.io.IOCase;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -141,33 +145,60 @@ public class Pattern implements Iterable<PatternElement> {
      * Recursively convert any unresolved elements into resolved elements. This continues until all
      * elements are resolved (i.e. broken into the maximally atomic units).
      *
+     * <p>Elements are resolved via a {@link ResolveQueue}, so the time taken is linear in the
+     * number of elements produced.
+     *
      * @return true iff at least one change has been made to the pattern.
      */
     public boolean resolve() {
+        ResolveQueue queue = new ResolveQueue(elements);
+        boolean patternChanged = queue.resolve();
+        if (patternChanged) {
+            this.elements = queue.elements();
+        }
+        return patternChanged;
+    }
 
-        boolean patternChanged = false;
-
-        int i = 0;
-
-        while (true) {
-
-            PatternElement element = get(i);
-            if (!element.isResolved()) {
+    /**
+     * Like {@link #resolve()} but informs a listener of the time and memory spent.
+     *
+     * <p>Only this pattern as a whole is reported. To also report resolving each list of strings,
+     * and each trim-operation, the unresolved elements should be created by a {@link
+     * com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory}
+     * with the same listener.
+     *
+     * @param listener the listener to inform.
+     * @return true iff at least one change has been made to the pattern.
+     */
+    public boolean resolve(ResolveListener listener) {
+        int sizeIn = size();
+        ResolveStopwatch stopwatch = ResolveStopwatch.start();
+        boolean patternChanged = resolve();
+        stopwatch.stop(listener, ResolveStep.Level.PATTERN, "Pattern.resolve", sizeIn, size(), 0);
+        return patternChanged;
+    }
 
-                Optional<Pattern> patternResolved = element.resolve();
-                if (patternResolved.isPresent()) {
-                    replace(i, patternResolved.get());
-                    patternChanged = true;
-                    continue;
-                }
-            }
+    /**
+     * Like {@link #resolve()} but elements are resolved concurrently.
+     *
+     * <p>When an element is resolved into several elements, each of these is independent of the
+     * others, and is further resolved as a separate task in {@code pool}. The resulting pattern is
+     * identical to that produced by {@link #resolve()}.
+     *
+     * @param pool the pool in which tasks are executed.
+     * @return true iff at least one change has been made to the pattern.
+     */
+    public boolean resolve(ForkJoinPool pool) {
+        List<PatternElement> resolved = pool.invoke(new ResolveTask(elements));
 
-            i++;
-            if (i == size()) {
-                // We've tried to resolve everything
-                return patternChanged;
-            }
+        // Resolving always replaces an element with new instances, so identity reveals any change
+        boolean patternChanged = resolved.size() != elements.size();
+        for (int i = 0; !patternChanged && i < resolved.size(); i++) {
+            patternChanged = resolved.get(i) != elements.get(i);
         }
+
+        this.elements = resolved;
+        return patternChanged;
     }
 
     /**
@@ -180,10 +211,8 @@ public class Pattern implements Iterable<PatternElement> {
      * operation.
      */
     public void reverse() {
-        List<PatternElement> listWithReversedElements =
-                elements.stream().map(PatternElement::reverseReturn).collect(Collectors.toList());
-        Collections.reverse(listWithReversedElements);
-        this.elements = listWithReversedElements;
+        elements.forEach(PatternElement::reverse);
+        Collections.reverse(elements);
     }
 
     /**
@@ -214,6 +243,24 @@ public class Pattern implements Iterable<PatternElement> {
         return Optional.of(out);
     }
 
+    /**
+     * Prepares the pattern in advance, for efficiently fitting many strings against it.
+     *
+     * <p>All elements must be resolved. Later changes to the pattern do not affect the compiled
+     * pattern.
+     *
+     * @param ioCase how to handle case-sensitivity
+     * @return a newly created compiled-pattern, that fits strings identically to {@link
+     *     #fitAgainst}, except that an integer element must match at least one digit.
+     * @throws IllegalStateException if any element is unresolved.
+     */
+    public CompiledPattern compile(IOCase ioCase) {
+        return new CompiledPattern(
+                elements.stream()
+                        .map(element -> element.compileMatcher(ioCase))
+                        .toArray(ElementMatcher[]::new));
+    }
+
     /**
      * The value of the pattern for a particular string used during pattern extraction.
      *
@@ -281,10 +328,4 @@ public class Pattern implements Iterable<PatternElement> {
     public Iterator<PatternElement> iterator() {
         return elements.iterator();
     }
-
-    /** Replaces the element at a particular index, with all the elements in toReplace */
-    private void replace(int index, Pattern toReplace) {
-        elements.remove(index);
-        elements.addAll(index, toReplace.elements);
-    }
 }
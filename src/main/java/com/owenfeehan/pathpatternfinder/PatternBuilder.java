@@ -0,0 +1,218 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.apache.commons.io.IOCase;
+
+/**
+ * Maintains a pattern for a growing list of paths, updating the pattern incrementally as each path
+ * is added.
+ *
+ * <p>When an added path fits the existing pattern, its values are simply appended to each element,
+ * at a cost proportional to the length of the path, rather than to the number of existing paths.
+ *
+ * <p>Otherwise, the elements (from the left) that the path fits are retained, and only the
+ * remainder of the pattern is resolved again, from the corresponding remainder of every path.
+ *
+ * <p>The pattern always fits every path that has been added, but may differ from the pattern that
+ * {@link PathPatternFinder#findPatternPaths(List, IOCase, boolean)} finds for the same list of
+ * paths, as the elements on the left are never reconsidered.
+ *
+ * @author Owen Feehan
+ */
+public class PatternBuilder {
+
+    private final IOCase ioCase;
+
+    private final boolean avoidExtensionSplit;
+
+    private final UnresolvedPatternElementFactory factory;
+
+    /** All paths added so far, in the order they were added. */
+    private final List<Path> paths = new ArrayList<>();
+
+    /** The pattern for {@code paths}, or null if no paths have been added. */
+    private Pattern pattern;
+
+    /** {@code pattern} compiled, or null if no paths have been added. */
+    private CompiledPattern compiled;
+
+    /** A buffer for the boundaries between elements, when fitting a path. */
+    private int[] boundaries;
+
+    /**
+     * Creates without any paths.
+     *
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     */
+    public PatternBuilder(IOCase ioCase, boolean avoidExtensionSplit) {
+        this.ioCase = ioCase;
+        this.avoidExtensionSplit = avoidExtensionSplit;
+        this.factory = new UnresolvedPatternElementFactory(ioCase);
+    }
+
+    /**
+     * Adds a path, updating the pattern.
+     *
+     * @param path the path to add.
+     */
+    public void add(Path path) {
+        paths.add(path);
+
+        if (paths.size() == 1) {
+            findFromScratch();
+            return;
+        }
+
+        String string = path.toString();
+        int numberElements = compiled.numberElements();
+        int numberFit = compiled.matchPrefix(string, boundaries);
+
+        if (numberFit == numberElements && boundaries[numberElements] == string.length()) {
+            // The path fits entirely, so its values are simply appended
+            appendValues(string, numberElements);
+            return;
+        }
+
+        // The first element to resolve again. If all elements fit, but characters remain, the
+        // final element is resolved again, so that it may absorb them.
+        int firstToResolve = Math.min(numberFit, numberElements - 1);
+        if (firstToResolve == 0) {
+            findFromScratch();
+        } else {
+            appendValues(string, firstToResolve);
+            resolveFrom(firstToResolve, string.substring(boundaries[firstToResolve]));
+        }
+    }
+
+    /**
+     * Adds several paths, updating the pattern.
+     *
+     * <p>If no paths have been previously added, the pattern is found for all paths at once,
+     * identically to {@link PathPatternFinder#findPatternPaths(List, IOCase, boolean)}.
+     *
+     * @param pathsToAdd the paths to add, in the order they should be added.
+     */
+    public void addAll(Collection<Path> pathsToAdd) {
+        if (paths.isEmpty() && !pathsToAdd.isEmpty()) {
+            paths.addAll(pathsToAdd);
+            findFromScratch();
+        } else {
+            pathsToAdd.forEach(this::add);
+        }
+    }
+
+    /**
+     * The pattern for all paths added so far.
+     *
+     * <p>The pattern continues to be updated as paths are added, and should not be modified.
+     *
+     * @return the pattern.
+     * @throws IllegalStateException if no paths have been added.
+     */
+    public Pattern pattern() {
+        if (pattern == null) {
+            throw new IllegalStateException("No paths have been added, so no pattern exists.");
+        }
+        return pattern;
+    }
+
+    /**
+     * The number of paths added so far.
+     *
+     * @return the number of paths.
+     */
+    public int numberPaths() {
+        return paths.size();
+    }
+
+    private void findFromScratch() {
+        pattern = PathPatternFinder.findPatternPaths(paths, ioCase, avoidExtensionSplit);
+        compile();
+    }
+
+    /** Appends the values of the most recently added path, for the first elements. */
+    private void appendValues(String string, int numberElements) {
+        for (int i = 0; i < numberElements; i++) {
+            pattern.get(i).appendValue(string.substring(boundaries[i], boundaries[i + 1]));
+        }
+    }
+
+    /**
+     * Replaces the elements from a particular index onwards, by resolving the corresponding
+     * remainder of every path.
+     *
+     * @param firstToResolve the index of the first element to replace.
+     * @param remainderAdded the remainder of the most recently added path.
+     */
+    private void resolveFrom(int firstToResolve, String remainderAdded) {
+        List<String> remainders = new ArrayList<>(paths.size());
+
+        int numberExisting = paths.size() - 1;
+        for (int i = 0; i < numberExisting; i++) {
+            String string = paths.get(i).toString();
+            remainders.add(string.substring(lengthOfElements(i, firstToResolve)));
+        }
+        remainders.add(remainderAdded);
+
+        boolean requiresPeriod =
+                avoidExtensionSplit && remainders.stream().anyMatch(string -> string.contains("."));
+        Pattern remainder = factory.createUnresolvedString(remainders, requiresPeriod);
+        remainder.resolve();
+
+        List<PatternElement> elements = new ArrayList<>(firstToResolve + remainder.size());
+        for (int i = 0; i < firstToResolve; i++) {
+            elements.add(pattern.get(i));
+        }
+        remainder.forEach(elements::add);
+
+        pattern = new Pattern(elements);
+        compile();
+    }
+
+    /** The total number of characters in the first elements, for a particular path. */
+    private int lengthOfElements(int indexPath, int numberElements) {
+        int length = 0;
+        for (int i = 0; i < numberElements; i++) {
+            length += pattern.get(i).valueAt(indexPath).length();
+        }
+        return length;
+    }
+
+    private void compile() {
+        compiled = pattern.compile(ioCase);
+        boundaries = compiled.createBoundaries();
+    }
+}
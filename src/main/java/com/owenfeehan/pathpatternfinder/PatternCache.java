@@ -0,0 +1,336 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores resolved patterns in a directory, so a pattern for an unchanged directory of files need
+ * not be found again.
+ *
+ * <p>Each entry is keyed by the root directory in which the files were found, and consists of two
+ * files: a {@link DirectoryFingerprint} and the pattern, as written by {@link PatternFile}.
+ *
+ * <p>A pattern can be retrieved in two ways:
+ *
+ * <ul>
+ *   <li>via {@link #get}, before listing the directory, if the last-modified time of every
+ *       directory is unchanged (and not so recent that a change may have gone unnoticed, see {@link
+ *       DirectoryFingerprint#isUnchanged}). This is fast, as no directory is listed.
+ *   <li>via {@link #getOrFind}, after listing the directory, if the files are unchanged, even
+ *       though the last-modified time of a directory has changed. Otherwise the pattern is found
+ *       again, and replaces the entry.
+ * </ul>
+ *
+ * <p>The total size of all entries is bounded. When exceeded, the least-recently used entries are
+ * evicted, where each use updates the last-modified time of the entry's fingerprint.
+ *
+ * <p>The cache does not record how a pattern was found, so the same options (e.g. case-sensitivity)
+ * should be used for every pattern in a particular cache.
+ *
+ * @author Owen Feehan
+ */
+public class PatternCache {
+
+    /** A pattern retrieved from the cache, together with the fingerprint of its files. */
+    public static class Entry {
+
+        private final DirectoryFingerprint fingerprint;
+
+        private final Pattern pattern;
+
+        Entry(DirectoryFingerprint fingerprint, Pattern pattern) {
+            this.fingerprint = fingerprint;
+            this.pattern = pattern;
+        }
+
+        /**
+         * The fingerprint of the files from which the pattern was found.
+         *
+         * @return the fingerprint.
+         */
+        public DirectoryFingerprint fingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * The pattern, whose values are read lazily from the cache.
+         *
+         * @return the pattern.
+         */
+        public Pattern pattern() {
+            return pattern;
+        }
+    }
+
+    /** The version of the fingerprint files, which is incremented whenever their form changes. */
+    private static final int FINGERPRINT_VERSION = 2;
+
+    private static final String EXTENSION_FINGERPRINT = ".fingerprint";
+
+    private static final String EXTENSION_PATTERN = ".pattern";
+
+    private static final String EXTENSION_TEMPORARY = ".tmp";
+
+    /** The directory in which entries are stored. */
+    private final Path directory;
+
+    /** The maximum total size of all entries, in bytes. */
+    private final long maxBytes;
+
+    /**
+     * Creates for a directory, creating the directory if it does not exist.
+     *
+     * @param directory the directory in which entries are stored.
+     * @param maxBytes the maximum total size of all entries, in bytes.
+     * @throws IOException if the directory cannot be created.
+     */
+    public PatternCache(Path directory, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Retrieves the pattern for a directory, if the last-modified time of every directory is
+     * unchanged since the pattern was stored.
+     *
+     * <p>No directory is listed.
+     *
+     * @param root the directory in which the files were found.
+     * @return the entry, or {@link Optional#empty} if no valid entry exists.
+     */
+    public Optional<Entry> get(Path root) {
+        Optional<DirectoryFingerprint> stored = readFingerprint(root);
+        if (!stored.isPresent() || !stored.get().isUnchanged()) {
+            return Optional.empty();
+        }
+        return readPattern(root).map(pattern -> new Entry(stored.get(), pattern));
+    }
+
+    /**
+     * Retrieves the pattern for files that have been listed, if the files are unchanged since the
+     * pattern was stored, otherwise finds and stores the pattern.
+     *
+     * <p>If retrieved, the entry's fingerprint is updated to {@code fingerprint}, so that any
+     * changed directory times are subsequently valid for {@link #get}.
+     *
+     * @param fingerprint the fingerprint of the files that have been listed.
+     * @param finder finds the pattern for the files, if it cannot be retrieved.
+     * @return the pattern, either retrieved or found.
+     * @throws IOException if the pattern cannot be stored.
+     */
+    public Pattern getOrFind(DirectoryFingerprint fingerprint, Supplier<Pattern> finder)
+            throws IOException {
+        Optional<DirectoryFingerprint> stored = readFingerprint(fingerprint.root());
+        if (stored.isPresent() && stored.get().hasSameFiles(fingerprint)) {
+            Optional<Pattern> pattern = readPattern(fingerprint.root());
+            if (pattern.isPresent()) {
+                writeFingerprint(fingerprint);
+                return pattern.get();
+            }
+        }
+
+        Pattern pattern = finder.get();
+        put(fingerprint, pattern);
+        return pattern;
+    }
+
+    /**
+     * Stores the pattern for files, replacing any existing entry for the same directory.
+     *
+     * <p>Least-recently used entries are then evicted, if the maximum size is exceeded.
+     *
+     * <p>The existing pattern cannot be replaced on some platforms (e.g. Windows) while it is still
+     * memory-mapped, having been read earlier by the same process. The pattern is then not stored,
+     * and the existing entry is removed.
+     *
+     * @param fingerprint the fingerprint of the files.
+     * @param pattern the pattern found for the files, whose elements must all be resolved.
+     * @return true if the pattern was stored, false if the existing pattern could not be replaced.
+     * @throws IOException if the pattern cannot be written.
+     */
+    public boolean put(DirectoryFingerprint fingerprint, Pattern pattern) throws IOException {
+        String key = key(fingerprint.root());
+
+        // Removed first, so that the fingerprint never refers to a different pattern
+        Files.deleteIfExists(directory.resolve(key + EXTENSION_FINGERPRINT));
+
+        // Written to a temporary file and then moved, so that a partially-written pattern is never
+        // read
+        Path temporary = directory.resolve(key + EXTENSION_PATTERN + EXTENSION_TEMPORARY);
+        PatternFile.write(pattern, temporary);
+        try {
+            Files.move(
+                    temporary,
+                    directory.resolve(key + EXTENSION_PATTERN),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileSystemException e) {
+            // The existing pattern is memory-mapped, and so cannot be replaced
+            Files.deleteIfExists(temporary);
+            return false;
+        }
+
+        writeFingerprint(fingerprint);
+        evict(key);
+        return true;
+    }
+
+    private Optional<DirectoryFingerprint> readFingerprint(Path root) {
+        Path path = directory.resolve(key(root) + EXTENSION_FINGERPRINT);
+        try (DataInputStream input =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != FINGERPRINT_VERSION) {
+                return Optional.empty();
+            }
+            DirectoryFingerprint fingerprint = DirectoryFingerprint.read(input);
+            if (!fingerprint.root().equals(root)) {
+                // Two directories with an identical key
+                return Optional.empty();
+            }
+            return Optional.of(fingerprint);
+        } catch (IOException e) {
+            // No entry exists, or it is incomplete or from a different version
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Pattern> readPattern(Path root) {
+        String key = key(root);
+        try {
+            Pattern pattern = PatternFile.read(directory.resolve(key + EXTENSION_PATTERN));
+            markUsed(key);
+            return Optional.of(pattern);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Writes the fingerprint, replacing any existing fingerprint with the same key. */
+    private void writeFingerprint(DirectoryFingerprint fingerprint) throws IOException {
+        String key = key(fingerprint.root());
+        Path temporary = directory.resolve(key + EXTENSION_FINGERPRINT + EXTENSION_TEMPORARY);
+        try (DataOutputStream output =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(FINGERPRINT_VERSION);
+            fingerprint.write(output);
+        }
+        Files.move(
+                temporary,
+                directory.resolve(key + EXTENSION_FINGERPRINT),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Records that an entry was used, for eviction. */
+    private void markUsed(String key) throws IOException {
+        Files.setLastModifiedTime(
+                directory.resolve(key + EXTENSION_FINGERPRINT),
+                FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    /**
+     * Deletes the least-recently used entries until the total size is within the maximum.
+     *
+     * @param keep the key of an entry that is never deleted.
+     */
+    private void evict(String keep) throws IOException {
+        List<Path> fingerprints;
+        try (Stream<Path> stream = Files.list(directory)) {
+            fingerprints =
+                    stream.filter(path -> path.toString().endsWith(EXTENSION_FINGERPRINT))
+                            .collect(Collectors.toList());
+        }
+
+        List<String> keys = new ArrayList<>(fingerprints.size());
+        List<FileTime> times = new ArrayList<>(fingerprints.size());
+        long total = 0;
+        for (Path fingerprint : fingerprints) {
+            String name = fingerprint.getFileName().toString();
+            String key = name.substring(0, name.length() - EXTENSION_FINGERPRINT.length());
+            keys.add(key);
+            times.add(Files.getLastModifiedTime(fingerprint));
+            total += size(key);
+        }
+
+        List<Integer> leastRecentFirst = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            leastRecentFirst.add(i);
+        }
+        leastRecentFirst.sort(Comparator.comparing(times::get));
+
+        for (int index : leastRecentFirst) {
+            if (total <= maxBytes) {
+                break;
+            }
+            String key = keys.get(index);
+            if (!key.equals(keep)) {
+                total -= size(key);
+                Files.deleteIfExists(directory.resolve(key + EXTENSION_FINGERPRINT));
+                Files.deleteIfExists(directory.resolve(key + EXTENSION_PATTERN));
+            }
+        }
+    }
+
+    /** The total size of the files of an entry, in bytes. */
+    private long size(String key) throws IOException {
+        return sizeIfExists(directory.resolve(key + EXTENSION_FINGERPRINT))
+                + sizeIfExists(directory.resolve(key + EXTENSION_PATTERN));
+    }
+
+    private static long sizeIfExists(Path path) throws IOException {
+        try {
+            return Files.size(path);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    /** The key of the entry for a directory, which is a valid file-name. */
+    private static String key(Path root) {
+        return UUID.nameUUIDFromBytes(root.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.patternelements.resolved.BinaryElementReader;
+import com.owenfeehan.pathpatternfinder.patternelements.resolved.BinaryElementWriter;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a resolved {@link Pattern} to a file in a compact binary form, and reads it again.
+ *
+ * <p>The file begins with a header of three {@code int}s: {@link #MAGIC}, {@link #VERSION} and the
+ * number of elements. Each element then follows, as written by {@link BinaryElementWriter}.
+ *
+ * <p>When read, the file is memory-mapped and the values of varying elements are read lazily from
+ * the mapped file, as they are requested, e.g. by {@link Pattern#valuesAt(int)}. Reading a pattern
+ * is therefore fast, irrespective of how many paths it was extracted from, and values that are
+ * never requested are never read. The file must not be modified while the pattern is in use.
+ *
+ * <p>As a file is mapped into a single buffer, it may be at most 2GB in size.
+ *
+ * @author Owen Feehan
+ */
+public class PatternFile {
+
+    /** The first four bytes of every file, the characters {@code PPFB} in ASCII. */
+    public static final int MAGIC = 0x50504642;
+
+    /** The version of the binary form, which is incremented whenever the form changes. */
+    public static final int VERSION = 1;
+
+    /** The number of bytes in the header. */
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private PatternFile() {}
+
+    /**
+     * Writes a pattern to a file, replacing any existing file.
+     *
+     * @param pattern the pattern to write, whose elements must all be resolved.
+     * @param path the path of the file to write.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalStateException if any element is unresolved.
+     */
+    public static void write(Pattern pattern, Path path) throws IOException {
+        try (DataOutputStream output =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(pattern.size());
+
+            BinaryElementWriter writer = new BinaryElementWriter(output);
+            for (PatternElement element : pattern) {
+                writer.write(element);
+            }
+        }
+    }
+
+    /**
+     * Reads a pattern from a file, previously written by {@link #write}.
+     *
+     * @param path the path of the file to read.
+     * @return a newly created pattern, whose values are read lazily from the file.
+     * @throws IOException if the file cannot be read, is too large, is of an unsupported version,
+     *     or is not a valid pattern.
+     */
+    public static Pattern read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(
+                        String.format(
+                                "%s is too large to read as a pattern, at %d bytes.",
+                                path, channel.size()));
+            }
+            // The mapping remains valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(String.format("%s is not a pattern file.", path));
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IOException(
+                    String.format(
+                            "%s has version %d, but only version %d is supported.",
+                            path, version, VERSION));
+        }
+
+        // Each element occupies at least one byte, so the number is checked before it is used to
+        // allocate the list
+        int numberElements = buffer.getInt(2 * Integer.BYTES);
+        if (numberElements < 0 || numberElements > buffer.limit() - HEADER_SIZE) {
+            throw new IOException(
+                    String.format(
+                            "%s has an invalid number of elements: %d", path, numberElements));
+        }
+
+        BinaryElementReader reader = new BinaryElementReader(buffer, HEADER_SIZE);
+        List<PatternElement> elements = new ArrayList<>(numberElements);
+        for (int i = 0; i < numberElements; i++) {
+            elements.add(reader.read());
+        }
+        return new Pattern(elements);
+    }
+}
@@ -0,0 +1,91 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * A pattern found for a shard (a contiguous part) of a list of paths, together with how many paths
+ * are in the shard.
+ *
+ * <p>Patterns for neighbouring shards can be merged, so that patterns can be found for each shard
+ * independently (e.g. concurrently, or on different machines) and then combined.
+ *
+ * @author Owen Feehan
+ */
+public class PatternShard {
+
+    private final Pattern pattern;
+
+    private final int numberPaths;
+
+    /**
+     * Creates for a pattern found for a shard.
+     *
+     * @param pattern the pattern, which must be resolved.
+     * @param numberPaths the number of paths the pattern was found from.
+     */
+    public PatternShard(Pattern pattern, int numberPaths) {
+        this.pattern = pattern;
+        this.numberPaths = numberPaths;
+    }
+
+    /**
+     * Merges with the pattern for the shard that immediately follows this shard.
+     *
+     * <p>Neither existing pattern is modified. See {@link MergePatterns} for how the patterns are
+     * combined.
+     *
+     * @param next the pattern for the shard that follows.
+     * @param ioCase how to treat the case in paths.
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @return a newly created shard, whose pattern fits the paths of both shards, in order.
+     */
+    public PatternShard merge(PatternShard next, IOCase ioCase, boolean avoidExtensionSplit) {
+        Pattern merged = new MergePatterns(ioCase, avoidExtensionSplit).merge(this, next);
+        return new PatternShard(merged, numberPaths + next.numberPaths);
+    }
+
+    /**
+     * The pattern for the shard.
+     *
+     * @return the pattern.
+     */
+    public Pattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * The number of paths in the shard.
+     *
+     * @return the number of paths.
+     */
+    public int numberPaths() {
+        return numberPaths;
+    }
+}
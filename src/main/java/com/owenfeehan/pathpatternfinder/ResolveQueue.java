@@ -0,0 +1,184 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves a list of elements sequentially, without recursion, via an explicit queue of work.
+ *
+ * <p>The elements are held in a doubly-linked list, so that replacing an element with the
+ * sub-pattern it is resolved into takes time proportional only to the size of the sub-pattern, not
+ * to the number of elements in the list. The total time is therefore linear in the number of
+ * elements produced, even when a string is split into hundreds of elements.
+ *
+ * <p>Elements are resolved in the same order as {@link Pattern#resolve()} previously did via a
+ * list: the left-most unresolved element is always resolved next.
+ *
+ * @author Owen Feehan
+ */
+class ResolveQueue {
+
+    /** An element in the linked list. */
+    private static class Node {
+        private PatternElement element;
+        private Node previous;
+        private Node next;
+
+        public Node(PatternElement element) {
+            this.element = element;
+        }
+    }
+
+    /** The first node, or null if there are no elements. */
+    private Node head;
+
+    /** The number of nodes in the linked list. */
+    private int size;
+
+    /**
+     * The unresolved nodes still to be resolved, with the left-most on top of the stack. Nodes that
+     * are later removed from the linked list are never added.
+     */
+    private final Deque<Node> pending = new ArrayDeque<>();
+
+    /**
+     * Creates for a list of elements.
+     *
+     * @param elements the elements to resolve, which are not modified.
+     */
+    public ResolveQueue(List<PatternElement> elements) {
+        Node last = null;
+        for (PatternElement element : elements) {
+            last = insertAfter(last, element);
+        }
+        pushUnresolved(head, null);
+    }
+
+    /**
+     * Resolves every unresolved element, until no more can be resolved.
+     *
+     * @return true iff at least one element was replaced.
+     */
+    public boolean resolve() {
+        boolean changed = false;
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            Optional<Pattern> resolved = node.element.resolve();
+            if (resolved.isPresent()) {
+                splice(node, resolved.get());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * The elements, in order.
+     *
+     * @return a newly created list.
+     */
+    public List<PatternElement> elements() {
+        List<PatternElement> out = new ArrayList<>(size);
+        for (Node node = head; node != null; node = node.next) {
+            out.add(node.element);
+        }
+        return out;
+    }
+
+    /** Replaces a node with the elements of a pattern, and queues any that are unresolved. */
+    private void splice(Node node, Pattern replacement) {
+        if (replacement.size() == 0) {
+            remove(node);
+            return;
+        }
+
+        // The node is reused for the first element, and the remaining elements are inserted after
+        node.element = replacement.get(0);
+        Node last = node;
+        for (int i = 1; i < replacement.size(); i++) {
+            last = insertAfter(last, replacement.get(i));
+        }
+        pushUnresolved(node, last.next);
+    }
+
+    /**
+     * Pushes the unresolved nodes in a range onto the stack, so the left-most is on top.
+     *
+     * @param first the first node in the range (inclusive), or null if the range is empty.
+     * @param end the node after the range (exclusive), or null to continue to the end.
+     */
+    private void pushUnresolved(Node first, Node end) {
+        List<Node> unresolved = new ArrayList<>();
+        for (Node node = first; node != end; node = node.next) {
+            if (!node.element.isResolved()) {
+                unresolved.add(node);
+            }
+        }
+        for (int i = unresolved.size() - 1; i >= 0; i--) {
+            pending.push(unresolved.get(i));
+        }
+    }
+
+    /** Inserts an element after a node, or at the start if {@code node} is null. */
+    private Node insertAfter(Node node, PatternElement element) {
+        Node inserted = new Node(element);
+        if (node == null) {
+            inserted.next = head;
+            if (head != null) {
+                head.previous = inserted;
+            }
+            head = inserted;
+        } else {
+            inserted.previous = node;
+            inserted.next = node.next;
+            if (node.next != null) {
+                node.next.previous = inserted;
+            }
+            node.next = inserted;
+        }
+        size++;
+        return inserted;
+    }
+
+    private void remove(Node node) {
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+        size--;
+    }
+}
@@ -0,0 +1,99 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recursively resolves a list of elements, resolving each element as a separate task.
+ *
+ * <p>Each element is resolved independently of its neighbours, so the sub-patterns produced when an
+ * element is resolved can themselves be resolved concurrently. The elements are nevertheless
+ * concatenated in their original order, so the result is identical to resolving sequentially via
+ * {@link Pattern#resolve()}.
+ *
+ * @author Owen Feehan
+ */
+class ResolveTask extends RecursiveTask<List<PatternElement>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The elements to resolve. */
+    private final transient List<PatternElement> elements;
+
+    /**
+     * Creates for a list of elements.
+     *
+     * @param elements the elements to resolve, which are not modified.
+     */
+    public ResolveTask(List<PatternElement> elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    protected List<PatternElement> compute() {
+        if (elements.size() == 1) {
+            return resolveElement(elements.get(0));
+        }
+
+        List<ResolveTask> tasks = new ArrayList<>(elements.size());
+        for (PatternElement element : elements) {
+            List<PatternElement> single = new ArrayList<>(1);
+            single.add(element);
+            tasks.add(new ResolveTask(single));
+        }
+
+        invokeAll(tasks);
+
+        // Join in the original order, so that the result does not depend on scheduling
+        List<PatternElement> out = new ArrayList<>();
+        for (ResolveTask task : tasks) {
+            out.addAll(task.join());
+        }
+        return out;
+    }
+
+    /** Resolves a single element, recursively resolving any elements it is replaced by. */
+    private static List<PatternElement> resolveElement(PatternElement element) {
+        if (!element.isResolved()) {
+            Optional<Pattern> resolved = element.resolve();
+            if (resolved.isPresent()) {
+                List<PatternElement> replacement = new ArrayList<>(resolved.get().size());
+                resolved.get().forEach(replacement::add);
+                return new ResolveTask(replacement).compute();
+            }
+        }
+
+        List<PatternElement> out = new ArrayList<>(1);
+        out.add(element);
+        return out;
+    }
+}
@@ -0,0 +1,131 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The result of finding a pattern via {@link SampledPatternFinder}.
+ *
+ * @author Owen Feehan
+ */
+public class SampledPattern {
+
+    /** A phase of finding a pattern from a sample. */
+    public enum Phase {
+        /** Selecting the sample of paths. */
+        SAMPLE,
+        /** Finding the pattern for the sample. */
+        DISCOVER,
+        /** Fitting every path to the pattern, to extract its values. */
+        VERIFY,
+        /** Finding a separate pattern for any paths that do not fit. */
+        RESIDUAL
+    }
+
+    private final Pattern pattern;
+    private final int numberFit;
+    private final List<Path> residual;
+    private final Optional<Pattern> residualPattern;
+    private final Map<Phase, Duration> durations;
+
+    /**
+     * Creates with the results of each phase.
+     *
+     * @param pattern the pattern found from the sample, with values for every path that fits.
+     * @param numberFit the number of paths that fit {@code pattern}.
+     * @param residual the paths that do not fit {@code pattern}.
+     * @param residualPattern the pattern for {@code residual}, if non-empty.
+     * @param durations how long each phase took.
+     */
+    SampledPattern(
+            Pattern pattern,
+            int numberFit,
+            List<Path> residual,
+            Optional<Pattern> residualPattern,
+            EnumMap<Phase, Duration> durations) {
+        this.pattern = pattern;
+        this.numberFit = numberFit;
+        this.residual = residual;
+        this.residualPattern = residualPattern;
+        this.durations = durations;
+    }
+
+    /**
+     * The pattern found from the sample.
+     *
+     * <p>Its values are from every path that fits it (in the same order as the paths), not only
+     * from the sample.
+     *
+     * @return the pattern.
+     */
+    public Pattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * The number of paths that fit {@link #pattern}.
+     *
+     * @return the number of paths.
+     */
+    public int numberFit() {
+        return numberFit;
+    }
+
+    /**
+     * The paths that do not fit {@link #pattern}.
+     *
+     * @return the paths, in the order they were passed, which is empty if all paths fit.
+     */
+    public List<Path> residual() {
+        return residual;
+    }
+
+    /**
+     * A pattern for the paths that do not fit {@link #pattern}, found from all such paths.
+     *
+     * @return the pattern, or {@link Optional#empty} if all paths fit.
+     */
+    public Optional<Pattern> residualPattern() {
+        return residualPattern;
+    }
+
+    /**
+     * How long a particular phase took.
+     *
+     * @param phase the phase.
+     * @return the elapsed time, which is zero if the phase did not occur.
+     */
+    public Duration duration(Phase phase) {
+        return durations.getOrDefault(phase, Duration.ZERO);
+    }
+}
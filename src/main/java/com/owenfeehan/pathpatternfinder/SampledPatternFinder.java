@@ -0,0 +1,157 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.SampledPattern.Phase;
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.apache.commons.io.IOCase;
+
+/**
+ * Finds a pattern from a random sample of paths, and then fits every path to it.
+ *
+ * <p>This avoids the cost of finding a pattern from every path, when there are very many paths.
+ *
+ * <ol>
+ *   <li>A random sample is selected, stratified by the directory containing each path (see {@link
+ *       StratifiedSample}).
+ *   <li>A pattern is found for the sample via {@link PathPatternFinder}.
+ *   <li>Every path is fitted to the compiled pattern, and the values of each fitting path are
+ *       appended to the elements of a pattern otherwise identical, that initially has no values.
+ *   <li>A separate pattern is found for any paths that do not fit (e.g. containing strings not
+ *       present in the sample), via {@link PathPatternFinder}.
+ * </ol>
+ *
+ * @author Owen Feehan
+ */
+public class SampledPatternFinder {
+
+    private final IOCase ioCase;
+    private final boolean avoidExtensionSplit;
+    private final int sampleSize;
+    private final long seed;
+
+    /**
+     * Creates with a particular size of sample.
+     *
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @param sampleSize the maximum number of paths in the sample.
+     * @param seed the seed for selecting the sample randomly, so that it is reproducible.
+     * @throws IllegalArgumentException if {@code sampleSize} is less than one.
+     */
+    public SampledPatternFinder(
+            IOCase ioCase, boolean avoidExtensionSplit, int sampleSize, long seed) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException(
+                    String.format("The sample size must be at least 1, but is %d.", sampleSize));
+        }
+        this.ioCase = ioCase;
+        this.avoidExtensionSplit = avoidExtensionSplit;
+        this.sampleSize = sampleSize;
+        this.seed = seed;
+    }
+
+    /**
+     * Finds the pattern for a list of paths.
+     *
+     * @param paths the paths.
+     * @return the pattern, together with any paths that do not fit it, and timings.
+     * @throws IllegalArgumentException if {@code paths} is empty.
+     */
+    public SampledPattern find(List<Path> paths) {
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "The list of paths is empty. It must contain at least one element.");
+        }
+
+        EnumMap<Phase, Duration> durations = new EnumMap<>(Phase.class);
+
+        long start = System.nanoTime();
+        List<Path> sample = StratifiedSample.select(paths, sampleSize, new Random(seed));
+        start = recordDuration(Phase.SAMPLE, start, durations);
+
+        Pattern patternSample =
+                PathPatternFinder.findPatternPaths(sample, ioCase, avoidExtensionSplit);
+        start = recordDuration(Phase.DISCOVER, start, durations);
+
+        CompiledPattern compiled = patternSample.compile(ioCase);
+        List<PatternElement> elements = new ArrayList<>(patternSample.size());
+        patternSample.forEach(element -> elements.add(element.duplicateWithoutValues()));
+
+        int[] boundaries = compiled.createBoundaries();
+        int numberElements = compiled.numberElements();
+        List<Path> residual = new ArrayList<>();
+        for (Path path : paths) {
+            String string = path.toString();
+            if (compiled.match(string, boundaries)
+                    && boundaries[numberElements] == string.length()) {
+                for (int i = 0; i < numberElements; i++) {
+                    elements.get(i).appendValue(string.substring(boundaries[i], boundaries[i + 1]));
+                }
+            } else {
+                residual.add(path);
+            }
+        }
+        start = recordDuration(Phase.VERIFY, start, durations);
+
+        Optional<Pattern> residualPattern = Optional.empty();
+        if (!residual.isEmpty()) {
+            residualPattern =
+                    Optional.of(
+                            PathPatternFinder.findPatternPaths(
+                                    residual, ioCase, avoidExtensionSplit));
+            recordDuration(Phase.RESIDUAL, start, durations);
+        }
+
+        return new SampledPattern(
+                new Pattern(elements),
+                paths.size() - residual.size(),
+                residual,
+                residualPattern,
+                durations);
+    }
+
+    /**
+     * Records the time elapsed since {@code start} for a phase.
+     *
+     * @return the current time, in nanoseconds, as the start of the next phase.
+     */
+    private static long recordDuration(
+            Phase phase, long start, EnumMap<Phase, Duration> durations) {
+        long end = System.nanoTime();
+        durations.put(phase, Duration.ofNanos(end - start));
+        return end;
+    }
+}
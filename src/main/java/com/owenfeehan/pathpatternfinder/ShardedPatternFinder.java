@@ -0,0 +1,152 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.io.IOCase;
+
+/**
+ * Finds a pattern by splitting a list of paths into shards, finding a pattern for each shard, and
+ * then merging the patterns.
+ *
+ * <p>Each shard is a contiguous part of the list, so the values of the merged pattern occur in the
+ * same order as the paths. Shards are merged from left to right, via {@link PatternShard#merge}.
+ *
+ * <p>The merged pattern always fits every path, and is often, but not always, identical to the
+ * pattern found from all paths at once.
+ *
+ * @author Owen Feehan
+ */
+public class ShardedPatternFinder {
+
+    private final IOCase ioCase;
+    private final boolean avoidExtensionSplit;
+    private final int shardSize;
+
+    /**
+     * Creates with a particular size of shard.
+     *
+     * @param ioCase how to treat the case in paths
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     * @param shardSize the maximum number of paths in each shard.
+     * @throws IllegalArgumentException if {@code shardSize} is less than one.
+     */
+    public ShardedPatternFinder(IOCase ioCase, boolean avoidExtensionSplit, int shardSize) {
+        if (shardSize < 1) {
+            throw new IllegalArgumentException(
+                    String.format("The shard size must be at least 1, but is %d.", shardSize));
+        }
+        this.ioCase = ioCase;
+        this.avoidExtensionSplit = avoidExtensionSplit;
+        this.shardSize = shardSize;
+    }
+
+    /**
+     * Finds the pattern, finding the pattern for each shard sequentially.
+     *
+     * @param paths the paths.
+     * @return the merged pattern.
+     * @throws IllegalArgumentException if {@code paths} is empty.
+     */
+    public Pattern find(List<Path> paths) {
+        return merge(findShards(paths, IntStream.range(0, numberShards(paths))));
+    }
+
+    /**
+     * Finds the pattern, finding the pattern for each shard concurrently.
+     *
+     * <p>The pattern found is identical to that found when finding sequentially.
+     *
+     * @param paths the paths.
+     * @param pool the pool in which to find the pattern for each shard.
+     * @return the merged pattern.
+     * @throws IllegalArgumentException if {@code paths} is empty.
+     */
+    public Pattern find(List<Path> paths, ForkJoinPool pool) {
+        int numberShards = numberShards(paths);
+        // The parallel stream executes in the pool, as it is created within a task of the pool
+        List<PatternShard> shards =
+                pool.submit(() -> findShards(paths, IntStream.range(0, numberShards).parallel()))
+                        .join();
+        return merge(shards);
+    }
+
+    /**
+     * Finds the pattern for a single shard.
+     *
+     * @param paths the paths in the shard.
+     * @return the pattern for the shard.
+     */
+    public PatternShard findShard(List<Path> paths) {
+        return new PatternShard(
+                PathPatternFinder.findPatternPaths(paths, ioCase, avoidExtensionSplit),
+                paths.size());
+    }
+
+    /**
+     * Merges the patterns for shards, from left to right.
+     *
+     * @param shards the patterns for each shard, in order.
+     * @return the merged pattern.
+     * @throws IllegalArgumentException if {@code shards} is empty.
+     */
+    public Pattern merge(List<PatternShard> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard must exist.");
+        }
+        PatternShard merged = shards.get(0);
+        for (int i = 1; i < shards.size(); i++) {
+            merged = merged.merge(shards.get(i), ioCase, avoidExtensionSplit);
+        }
+        return merged.pattern();
+    }
+
+    private List<PatternShard> findShards(List<Path> paths, IntStream shardIndices) {
+        return shardIndices
+                .mapToObj(
+                        shard ->
+                                findShard(
+                                        paths.subList(
+                                                shard * shardSize,
+                                                Math.min(paths.size(), (shard + 1) * shardSize))))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private int numberShards(List<Path> paths) {
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "The list of paths is empty. It must contain at least one element.");
+        }
+        return (paths.size() + shardSize - 1) / shardSize;
+    }
+}
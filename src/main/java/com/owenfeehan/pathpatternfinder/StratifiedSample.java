@@ -0,0 +1,162 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Selects a random sample of paths, stratified by the directory containing each path.
+ *
+ * <p>Each directory contributes paths in proportion to how many paths it contains. If there are no
+ * more directories than the size of the sample, each directory contributes at least one path, so
+ * that the name of every directory is present in the sample.
+ *
+ * <p>Only two passes over the paths occur, and memory is proportional to the number of directories
+ * and the size of the sample, not to the number of paths.
+ *
+ * @author Owen Feehan
+ */
+class StratifiedSample {
+
+    /** The paths chosen from a single stratum, via reservoir sampling. */
+    private static class Reservoir {
+
+        /** The number of paths in the stratum. */
+        private int count = 0;
+
+        /** The indices of the chosen paths, or null before a quota is assigned. */
+        private int[] chosen;
+
+        /** The number of paths in the stratum that have been considered for the reservoir. */
+        private int seen = 0;
+
+        private void offer(int index, Random random) {
+            if (seen < chosen.length) {
+                chosen[seen] = index;
+            } else {
+                int replace = random.nextInt(seen + 1);
+                if (replace < chosen.length) {
+                    chosen[replace] = index;
+                }
+            }
+            seen++;
+        }
+    }
+
+    private StratifiedSample() {}
+
+    /**
+     * Selects the sample.
+     *
+     * @param paths the paths to sample from.
+     * @param sampleSize the number of paths in the sample.
+     * @param random the source of randomness.
+     * @return the paths in the sample, in the same order as they occur in {@code paths}. If there
+     *     are no more than {@code sampleSize} paths, all paths are returned.
+     */
+    public static List<Path> select(List<Path> paths, int sampleSize, Random random) {
+        if (paths.size() <= sampleSize) {
+            return paths;
+        }
+
+        Map<Path, Reservoir> strata = new LinkedHashMap<>();
+        for (Path path : paths) {
+            // Paths without a parent share a single stratum, with a null key
+            strata.computeIfAbsent(path.getParent(), key -> new Reservoir()).count++;
+        }
+
+        assignQuotas(strata.values(), paths.size(), sampleSize);
+
+        for (int i = 0; i < paths.size(); i++) {
+            strata.get(paths.get(i).getParent()).offer(i, random);
+        }
+
+        int[] indices =
+                strata.values().stream()
+                        .flatMapToInt(reservoir -> Arrays.stream(reservoir.chosen))
+                        .sorted()
+                        .toArray();
+        List<Path> out = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            out.add(paths.get(index));
+        }
+        return out;
+    }
+
+    /**
+     * Assigns the number of paths to choose from each stratum, in total exactly {@code sampleSize}.
+     *
+     * <p>Each stratum is first assigned the whole part of its proportional share, and any paths
+     * still unassigned are given to the strata with the largest fractional parts.
+     */
+    private static void assignQuotas(
+            Collection<Reservoir> strata, int numberPaths, int sampleSize) {
+        int numberStrata = strata.size();
+
+        // If possible, one path from each stratum, and then the remainder proportionally to the
+        // rest of each stratum
+        int minimum = numberStrata <= sampleSize ? 1 : 0;
+        long toShare = (long) sampleSize - (long) minimum * numberStrata;
+        long denominator = (long) numberPaths - (long) minimum * numberStrata;
+
+        List<Reservoir> list = new ArrayList<>(strata);
+        long[] fractions = new long[list.size()];
+        int[] quotas = new int[list.size()];
+        int unassigned = sampleSize;
+        for (int i = 0; i < list.size(); i++) {
+            long numerator = toShare * (list.get(i).count - minimum);
+            quotas[i] = minimum + (int) (numerator / denominator);
+            fractions[i] = numerator % denominator;
+            unassigned -= quotas[i];
+        }
+
+        Integer[] byFraction = new Integer[list.size()];
+        for (int i = 0; i < byFraction.length; i++) {
+            byFraction[i] = i;
+        }
+        Arrays.sort(
+                byFraction, (index1, index2) -> Long.compare(fractions[index2], fractions[index1]));
+        for (int i = 0; i < byFraction.length && unassigned > 0; i++) {
+            int index = byFraction[i];
+            if (quotas[index] < list.get(index).count) {
+                quotas[index]++;
+                unassigned--;
+            }
+        }
+
+        for (int i = 0; i < list.size(); i++) {
+            list.get(i).chosen = new int[quotas[i]];
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Lists the files in a directory, recursively listing each sub-directory as a separate task.
+ *
+ * <p>Each task collects files into its own list, and these are only concatenated after all tasks
+ * for sub-directories have completed, so no synchronization occurs while listing (other than
+ * recording the last-modified time of each directory, if requested).
+ *
+ * <p>Like {@link java.nio.file.Files#walkFileTree}, symbolic links are not followed, and are
+ * treated like files.
+ *
+ * @author Owen Feehan
+ */
+class WalkDirectoryTask extends RecursiveTask<List<Path>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The directory to list. */
+    private final transient Path directory;
+
+    /** If defined, a file's name must match this condition, otherwise it is ignored. */
+    private final transient Optional<PathMatcher> matcher;
+
+    /** If defined, the last-modified time of each sub-directory is added, in milliseconds. */
+    private final transient Optional<Map<Path, Long>> directoryTimes;
+
+    /**
+     * Creates for a directory.
+     *
+     * @param directory the directory to list.
+     * @param matcher if defined, a file's name must match this condition, otherwise it is ignored.
+     *     It must be safe to call concurrently from several threads.
+     * @param directoryTimes if defined, the last-modified time of each sub-directory (but not
+     *     {@code directory} itself) is added, in milliseconds. It must be safe to add to
+     *     concurrently from several threads.
+     */
+    public WalkDirectoryTask(
+            Path directory,
+            Optional<PathMatcher> matcher,
+            Optional<Map<Path, Long>> directoryTimes) {
+        this.directory = directory;
+        this.matcher = matcher;
+        this.directoryTimes = directoryTimes;
+    }
+
+    @Override
+    protected List<Path> compute() {
+        List<Path> files = new ArrayList<>();
+        List<WalkDirectoryTask> subdirectories = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                BasicFileAttributes attributes =
+                        Files.readAttributes(
+                                entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                if (attributes.isDirectory()) {
+                    // Recorded before listing, so any change during listing is later detected
+                    directoryTimes.ifPresent(
+                            times -> times.put(entry, attributes.lastModifiedTime().toMillis()));
+                    WalkDirectoryTask task = new WalkDirectoryTask(entry, matcher, directoryTimes);
+                    task.fork();
+                    subdirectories.add(task);
+                } else if (!matcher.isPresent() || matcher.get().matches(entry.getFileName())) {
+                    files.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Join in the order the sub-directories were listed
+        for (WalkDirectoryTask task : subdirectories) {
+            files.addAll(task.join());
+        }
+        return files;
+    }
+}
@@ -31,6 +31,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Converts a {@link Path} to elements.
@@ -43,48 +44,6 @@ class ElementsFromPath {
         // NO INSTANTIATION
     }
 
-    /**
-     * Extracts an element from a path
-     *
-     * <p>If the path has a root <code>/</code>, this is treated as index 0, and elements become 1, 2, 3 etc.
-     *
-     * <p>If the path has a root <code>c:\</code> or similar, <code>c:</code> is treated as index 0, <code>File.seperator<code> is treated as element 1, and elements become 2, 3, 4 etc.
-     *
-     * <p>If the path doesn't have a root, the elements already start at index 0.
-     *
-     * @param path the path to extract an element from
-     * @param index the index ranging {@code [0 to numberElements)} if a root exists or {@code [0 to
-     *     numberElements-1)} if no root exists.
-     * @return the extracted element
-     */
-    public static String extractPathElement(Path path, int index) {
-        Path root = path.getRoot();
-        if (root != null) {
-            return extractPathElementIfRootExists(path, root.toString(), index);
-        } else {
-            return path.getName(index).toString();
-        }
-    }
-
-    /**
-     * The number of elements in this path, also including the root as element(s) if it is present.
-     * exists.
-     *
-     * @param pathToFile a path, with or without a root
-     * @return the number of elements in the path, including the root as the first element(s) if it
-     *     exists.
-     */
-    public static int numberElementsForPath(Path pathToFile) {
-        int nonRootElements = pathToFile.getNameCount();
-        Path root = pathToFile.getRoot();
-        if (root != null) {
-            return nonRootElements + numberElementsForRoot(root.toString());
-        } else {
-            // No root is present
-            return nonRootElements;
-        }
-    }
-
     /**
      * The number of elements a particular root contributes
      *
@@ -107,22 +66,53 @@ class ElementsFromPath {
     /**
      * Extracts a list of elements from a path, including a root if it exists.
      *
+     * <p>If the path has a root <code>/</code>, this is treated as index 0, and elements become 1, 2, 3 etc.
+     *
+     * <p>If the path has a root <code>c:\</code> or similar, <code>c:</code> is treated as index 0, <code>File.seperator<code> is treated as element 1, and elements become 2, 3, 4 etc.
+     *
+     * <p>If the path doesn't have a root, the elements already start at index 0.
+     *
+     * @param path the path to extract a list from.
+     * @param maxElements the maximum number of elements to extract, from the left.
+     * @return a newly created list of elements to describe the path (or its left-most part).
+     */
+    public static List<String> pathElements(Path path, int maxElements) {
+        return pathElements(path, maxElements, UnaryOperator.identity());
+    }
+
+    /**
+     * Like {@link #pathElements(Path, int)} but each element is interned in a pool, so identical
+     * elements from different paths are the same instance.
+     *
      * @param path the path to extract a list from.
-     * @return a newly created list of elements to describe the path, following the pattern in
-     *     {@link #extractPathElement}.
+     * @param maxElements the maximum number of elements to extract, from the left.
+     * @param pool the pool in which each element is interned.
+     * @return a newly created list of elements to describe the path (or its left-most part).
      */
-    public static List<String> pathElements(Path path) {
+    public static List<String> pathElements(Path path, int maxElements, PathComponentPool pool) {
+        return pathElements(path, maxElements, pool::intern);
+    }
+
+    /** Extracts a list of elements from a path, after applying {@code intern} to each element. */
+    private static List<String> pathElements(
+            Path path, int maxElements, UnaryOperator<String> intern) {
 
         List<String> elements = new ArrayList<>();
 
         // If it has a root we include it
         if (path.getRoot() != null) {
-            addElementsFromRoot(path.getRoot().toString(), elements::add);
+            addElementsFromRoot(
+                    path.getRoot().toString(), element -> elements.add(intern.apply(element)));
+        }
+
+        int numberNames = Math.min(path.getNameCount(), maxElements - elements.size());
+        for (int i = 0; i < numberNames; i++) {
+            elements.add(intern.apply(path.getName(i).toString()));
         }
 
-        // We skip the file-name, and only consider directories
-        for (int i = 0; i < path.getNameCount(); i++) {
-            elements.add(path.getName(i).toString());
+        if (elements.size() > maxElements) {
+            // Only possible if the root alone contributes more elements than desired
+            return elements.subList(0, maxElements);
         }
         return elements;
     }
@@ -139,25 +129,6 @@ class ElementsFromPath {
         }
     }
 
-    /** Extracts path elements if a root exists on the string. */
-    private static String extractPathElementIfRootExists(Path path, String root, int index) {
-        int numberElementsForRoot = numberElementsForRoot(root);
-        if (index == 0) {
-            if (numberElementsForRoot == 2) {
-                // Windows-style root
-                return removeTrailingFileSeparator(root);
-            } else {
-                // Unix-style root
-                return root;
-            }
-        } else if (index == 1 && numberElementsForRoot == 2) {
-            // THe second element if a Windows-style root
-            return File.separator;
-        } else {
-            return path.getName(index - numberElementsForRoot).toString();
-        }
-    }
-
     /** Removes a file-separator from the end of a root. */
     private static String removeTrailingFileSeparator(String root) {
         return root.substring(0, root.length() - 1);
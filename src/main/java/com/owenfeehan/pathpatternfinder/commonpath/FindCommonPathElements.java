@@ -27,9 +27,12 @@ package com.owenfeehan.pathpatternfinder.commonpath;
  */
 
 import com.owenfeehan.pathpatternfinder.CasedStringComparer;
+import com.owenfeehan.pathpatternfinder.trim.ChunkedReduction;
 import java.nio.file.Path;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 import org.apache.commons.io.IOCase;
 
 /**
@@ -39,6 +42,11 @@ import org.apache.commons.io.IOCase;
  *
  * <p>The root of the path (e.g. {@code c:\}) is treated as an element, if it is present.
  *
+ * <p>When the paths are a {@link List}, only the first, and the lowest and highest paths in {@link
+ * PathOrder} are intersected, as these suffice to determine the common elements of all paths. If
+ * the list is already sorted, as is typical, the lowest and highest paths are simply the first and
+ * last.
+ *
  * @author Owen Feehan
  */
 public class FindCommonPathElements {
@@ -94,6 +102,10 @@ public class FindCommonPathElements {
     public static Optional<PathElements> findForFilePaths(
             Iterable<Path> pathsToFiles, CasedStringComparer comparer) {
 
+        if (pathsToFiles instanceof List && pathsToFiles instanceof RandomAccess) {
+            return findForList((List<Path>) pathsToFiles, comparer, false);
+        }
+
         Iterator<Path> iterator = pathsToFiles.iterator();
 
         if (!iterator.hasNext()) {
@@ -118,6 +130,114 @@ public class FindCommonPathElements {
         }
     }
 
+    /**
+     * Like {@link #findForFilePaths(Iterable, CasedStringComparer)} but the paths must already be
+     * sorted in {@link PathOrder}, so only the first and last paths need to be intersected.
+     *
+     * @param pathsToFiles paths to files, sorted by a {@link PathOrder} created for {@code
+     *     comparer}. If not sorted, the common elements may be incorrect.
+     * @param comparer how to compare two strings (whether to be case-sensitive or not).
+     * @return the common path-elements among all of {@code pathsToFiles}, if any common elements
+     *     exist.
+     * @throws IllegalArgumentException if {@code pathsToFiles} is empty.
+     */
+    public static Optional<PathElements> findForSortedFilePaths(
+            List<Path> pathsToFiles, CasedStringComparer comparer) {
+        return findForList(pathsToFiles, comparer, true);
+    }
+
+    /** Finds the common elements among a random-access list of paths. */
+    private static Optional<PathElements> findForList(
+            List<Path> paths, CasedStringComparer comparer, boolean sorted) {
+
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("At least one path must exist.");
+        }
+
+        Path pathFirst = paths.get(0);
+
+        // The first path is always used to form the common elements, even when it is neither
+        // the lowest nor highest path, so that the output-path is unaffected by the order
+        PathElements commonElements = new PathElements(pathFirst, comparer);
+
+        Path[] extremes = extremes(paths, new PathOrder(comparer), sorted);
+        for (Path extreme : extremes) {
+            if (extreme != pathFirst) {
+                commonElements.intersect(extreme);
+            }
+        }
+
+        // If we have at least one common element... we convert
+        if (!commonElements.isEmpty() || allRelative(paths)) {
+            return Optional.of(commonElements);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The lowest and highest paths in a list, in a particular order.
+     *
+     * <p>If not already known to be sorted, the list is first checked for sorted order, which
+     * typically fails quickly if it isn't. Only then are the lowest and highest paths found, in
+     * parallel chunks if the list is large.
+     *
+     * @return a two-element array, with the lowest path, and then the highest path.
+     */
+    private static Path[] extremes(List<Path> paths, PathOrder order, boolean sorted) {
+        if (sorted || isSorted(paths, order)) {
+            return new Path[] {paths.get(0), paths.get(paths.size() - 1)};
+        }
+        return ChunkedReduction.reduce(
+                paths.size(),
+                (start, end) -> extremesInRange(paths, order, start, end),
+                (left, right) ->
+                        new Path[] {
+                            lowest(left[0], right[0], order), highest(left[1], right[1], order)
+                        });
+    }
+
+    /** Is every path in the list no higher than the next? */
+    private static boolean isSorted(List<Path> paths, PathOrder order) {
+        for (int i = 1; i < paths.size(); i++) {
+            if (order.compare(paths.get(i - 1), paths.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The lowest and highest paths among a contiguous range of a list. */
+    private static Path[] extremesInRange(
+            List<Path> paths, PathOrder order, int startInclusive, int endExclusive) {
+        Path lowest = paths.get(startInclusive);
+        Path highest = lowest;
+        for (int i = startInclusive + 1; i < endExclusive; i++) {
+            Path path = paths.get(i);
+            lowest = lowest(lowest, path, order);
+            highest = highest(highest, path, order);
+        }
+        return new Path[] {lowest, highest};
+    }
+
+    private static Path lowest(Path path1, Path path2, PathOrder order) {
+        return order.compare(path1, path2) <= 0 ? path1 : path2;
+    }
+
+    private static Path highest(Path path1, Path path2, PathOrder order) {
+        return order.compare(path1, path2) >= 0 ? path1 : path2;
+    }
+
+    /** Are all paths relative? Only checked when no common elements exist. */
+    private static boolean allRelative(List<Path> paths) {
+        for (Path path : paths) {
+            if (path.isAbsolute()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Intersects elements of {@link paths} with {@link commonElements}.
      *
@@ -0,0 +1,62 @@
+package com.owenfeehan.pathpatternfinder.commonpath;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ensures each distinct path component (e.g. a directory name) is represented by only a single
+ * {@link String} instance.
+ *
+ * <p>Components that are retained, e.g. in a {@link PathTrie}, then occupy memory only once.
+ *
+ * <p>Unlike {@link String#intern}, the pool is discarded when no longer referenced, so it should be
+ * used only for the duration of a single operation over a list of paths.
+ *
+ * @author Owen Feehan
+ */
+class PathComponentPool {
+
+    private final Map<String, String> components = new HashMap<>();
+
+    /**
+     * The single instance in the pool equal to a component.
+     *
+     * @param component the component.
+     * @return an existing instance in the pool equal to {@code component}, or {@code component}
+     *     itself, which is added to the pool, if none exists.
+     */
+    public String intern(String component) {
+        String existing = components.putIfAbsent(component, component);
+        if (existing != null) {
+            return existing;
+        } else {
+            return component;
+        }
+    }
+}
@@ -55,7 +55,7 @@ public class PathElements implements Iterable<String> {
      */
     PathElements(Path path, CasedStringComparer comparer) {
         this.firstPath = path;
-        this.elements = ElementsFromPath.pathElements(path);
+        this.elements = ElementsFromPath.pathElements(path, Integer.MAX_VALUE);
         this.comparer = comparer;
     }
 
@@ -66,18 +66,17 @@ public class PathElements implements Iterable<String> {
      */
     public void intersect(Path path) {
 
-        // If the path has less elements, we trim ours to match
-        // We skip the file-name, and only consider directories
-
-        int numberElements = ElementsFromPath.numberElementsForPath(path);
+        // Each element of the path is extracted only once, and only as many as could be common
+        List<String> elementsPath = ElementsFromPath.pathElements(path, elements.size());
 
-        if (numberElements < elements.size()) {
-            trimTo(numberElements);
+        // If the path has less elements, we trim ours to match
+        if (elementsPath.size() < elements.size()) {
+            trimTo(elementsPath.size());
         }
 
         for (int i = 0; i < elements.size(); i++) {
 
-            if (!comparer.match(elements.get(i), ElementsFromPath.extractPathElement(path, i))) {
+            if (!comparer.match(elements.get(i), elementsPath.get(i))) {
                 trimTo(i);
                 return;
             }
@@ -0,0 +1,88 @@
+package com.owenfeehan.pathpatternfinder.commonpath;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.CasedStringComparer;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Orders paths so that all paths sharing any particular common (left-most) elements are contiguous.
+ *
+ * <p>The string-representations of the paths are compared character by character, except that a
+ * directory separator is considered lower than any other character. This places a path directly
+ * before any paths that it is a directory of, and ahead of any sibling names that merely share a
+ * prefix of characters, e.g. {@code a/b/c} before {@code a/b-c}.
+ *
+ * <p>Consequently, when paths are sorted in this order, the common elements of all paths are
+ * identical to the common elements of the first and last paths only.
+ *
+ * @author Owen Feehan
+ */
+public class PathOrder implements Comparator<Path> {
+
+    private final boolean caseSensitive;
+
+    /**
+     * Create for a given {@link CasedStringComparer}.
+     *
+     * @param comparer how elements of the paths are later compared (whether to be case-sensitive or
+     *     not).
+     */
+    public PathOrder(CasedStringComparer comparer) {
+        this.caseSensitive = comparer.isCaseSensitive();
+    }
+
+    @Override
+    public int compare(Path path1, Path path2) {
+        String str1 = path1.toString();
+        String str2 = path2.toString();
+
+        int length = Math.min(str1.length(), str2.length());
+        for (int i = 0; i < length; i++) {
+            int key1 = key(str1.charAt(i));
+            int key2 = key(str2.charAt(i));
+            if (key1 != key2) {
+                return Integer.compare(key1, key2);
+            }
+        }
+        return Integer.compare(str1.length(), str2.length());
+    }
+
+    /** The value by which a character is ordered. */
+    private int key(char character) {
+        if (character == File.separatorChar) {
+            return -1;
+        } else if (caseSensitive) {
+            return character;
+        } else {
+            // Identical to how String#compareToIgnoreCase folds the case of each character
+            return Character.toLowerCase(Character.toUpperCase(character));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.owenfeehan.pathpatternfinder.commonpath;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A tree of paths, where paths with the same left-most elements share the same nodes.
+ *
+ * <p>Each distinct directory is represented only once, no matter how many paths it contains, and
+ * each element is interned, so the memory occupied scales with the number of distinct directories,
+ * rather than with the total number of characters in all paths.
+ *
+ * <p>The root of a path (e.g. {@code c:\}) is treated as one or more elements, as in {@link
+ * FindCommonPathElements}.
+ *
+ * @author Owen Feehan
+ */
+public class PathTrie {
+
+    /** A node with no element, whose children are the left-most elements of all paths. */
+    private final PathTrieNode root = new PathTrieNode(null);
+
+    private final PathComponentPool pool = new PathComponentPool();
+
+    /**
+     * Adds a path to the trie.
+     *
+     * @param path the path to add.
+     */
+    public void add(Path path) {
+        PathTrieNode node = root;
+        node.incrementPaths();
+        for (String element : ElementsFromPath.pathElements(path, Integer.MAX_VALUE, pool)) {
+            node = node.child(element);
+            node.incrementPaths();
+        }
+        node.incrementEnding();
+    }
+
+    /**
+     * Adds paths to the trie.
+     *
+     * @param paths the paths to add, in order.
+     */
+    public void addAll(Iterable<Path> paths) {
+        for (Path path : paths) {
+            add(path);
+        }
+    }
+
+    /**
+     * Creates a trie containing particular paths.
+     *
+     * @param paths the paths to add, in order.
+     * @return a newly created trie.
+     */
+    public static PathTrie of(List<Path> paths) {
+        PathTrie trie = new PathTrie();
+        trie.addAll(paths);
+        return trie;
+    }
+
+    /**
+     * The number of paths that have been added.
+     *
+     * @return the number of paths, including any duplicates.
+     */
+    public int numberPaths() {
+        return root.numberPaths();
+    }
+
+    /**
+     * The root of the trie.
+     *
+     * @return the root, which has no element, and whose children are the left-most elements of all
+     *     paths.
+     */
+    public PathTrieNode root() {
+        return root;
+    }
+}
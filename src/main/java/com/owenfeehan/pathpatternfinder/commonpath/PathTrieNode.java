@@ -0,0 +1,162 @@
+package com.owenfeehan.pathpatternfinder.commonpath;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A node in a {@link PathTrie}, representing a single element of one or more paths.
+ *
+ * <p>The children of a node are ordered by when each was first added.
+ *
+ * @author Owen Feehan
+ */
+public class PathTrieNode {
+
+    /** The element the node represents, or null for the root of the trie. */
+    private final String element;
+
+    /** The children, indexed by their element, created only when the first child is added. */
+    private Map<String, PathTrieNode> children;
+
+    /** The number of paths that end at this node. */
+    private int numberEnding = 0;
+
+    /** The number of paths that end at this node or any node beneath it. */
+    private int numberPaths = 0;
+
+    PathTrieNode(String element) {
+        this.element = element;
+    }
+
+    /**
+     * The element the node represents.
+     *
+     * @return the element, or null for the root of the trie.
+     */
+    public String element() {
+        return element;
+    }
+
+    /**
+     * The children of the node.
+     *
+     * @return the children, in the order they were first added, which is empty if there are none.
+     */
+    public Collection<PathTrieNode> children() {
+        if (children != null) {
+            return Collections.unmodifiableCollection(children.values());
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * The number of children of the node.
+     *
+     * @return the number of children.
+     */
+    public int numberChildren() {
+        if (children != null) {
+            return children.size();
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Does the node have any children?
+     *
+     * @return true iff at least one child exists.
+     */
+    public boolean hasChildren() {
+        return children != null;
+    }
+
+    /**
+     * The number of paths that end at this node.
+     *
+     * @return the number of paths (more than one if duplicate paths were added).
+     */
+    public int numberEnding() {
+        return numberEnding;
+    }
+
+    /**
+     * The number of paths that end at this node or any node beneath it.
+     *
+     * @return the number of paths.
+     */
+    public int numberPaths() {
+        return numberPaths;
+    }
+
+    /**
+     * The number of elements every path beneath this node has, beyond the node itself.
+     *
+     * @return the number of elements, or -1 if paths beneath the node have differing numbers of
+     *     elements.
+     */
+    public int uniformDepth() {
+        if (children == null) {
+            return 0;
+        }
+        if (numberEnding > 0) {
+            return -1;
+        }
+        int depth = -1;
+        for (PathTrieNode child : children.values()) {
+            int depthChild = child.uniformDepth();
+            if (depthChild == -1 || (depth != -1 && depthChild + 1 != depth)) {
+                return -1;
+            }
+            depth = depthChild + 1;
+        }
+        return depth;
+    }
+
+    /** The child for an element, which is created if it doesn't already exist. */
+    PathTrieNode child(String elementChild) {
+        if (children == null) {
+            children = new LinkedHashMap<>();
+        }
+        return children.computeIfAbsent(elementChild, PathTrieNode::new);
+    }
+
+    /** Records that a path passes through this node. */
+    void incrementPaths() {
+        numberPaths++;
+    }
+
+    /** Records that a path ends at this node. */
+    void incrementEnding() {
+        numberEnding++;
+    }
+}
@@ -27,24 +27,62 @@ package com.owenfeehan.pathpatternfinder.describer.frequencymap.integer;
  */
 
 import com.owenfeehan.pathpatternfinder.describer.frequencymap.FrequencyMap;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Specialised frequency-map for integers, similar to {@link FrequencyMap}.
  *
+ * <p>The integers are sorted as primitives, after which all statistics are calculated in a single
+ * pass. The cost is therefore independent of the range of values.
+ *
  * @author Owen Feehan
  */
 public class IntegerFrequencyMap {
 
-    private FrequencyMap<Integer> map;
+    private final long lowest;
+
+    private final long highest;
+
+    private final int numberUniqueValues;
+
+    private final boolean contiguous;
 
     /**
      * Creates for a list of integers.
      *
-     * @param list the list
+     * @param list the list, which must contain at least one element.
      */
     public IntegerFrequencyMap(List<Integer> list) {
-        this.map = new FrequencyMap<>(list);
+        this(list.stream().mapToLong(Integer::longValue).toArray());
+    }
+
+    /**
+     * Creates for an array of integers.
+     *
+     * @param values the integers, which must contain at least one element. The array is not
+     *     modified.
+     */
+    public IntegerFrequencyMap(long[] values) {
+        long[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+
+        this.lowest = sorted[0];
+        this.highest = sorted[sorted.length - 1];
+
+        int unique = 1;
+        boolean consecutive = true;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[i - 1]) {
+                unique++;
+            }
+            // The addition can only overflow for the highest value, which is never the previous
+            if (sorted[i] != sorted[i - 1] + 1) {
+                consecutive = false;
+            }
+        }
+        this.numberUniqueValues = unique;
+        this.contiguous = consecutive;
     }
 
     /**
@@ -52,8 +90,8 @@ public class IntegerFrequencyMap {
      *
      * @return the lowest-value.
      */
-    public int lowest() {
-        return map.lowestKey();
+    public long lowest() {
+        return lowest;
     }
 
     /**
@@ -61,8 +99,8 @@ public class IntegerFrequencyMap {
      *
      * @return the highest-value.
      */
-    public int highest() {
-        return map.highestKey();
+    public long highest() {
+        return highest;
     }
 
     /**
@@ -71,7 +109,7 @@ public class IntegerFrequencyMap {
      * @return number of unique values.
      */
     public int numberUniqueValues() {
-        return map.numberUniqueValues();
+        return numberUniqueValues;
     }
 
     /**
@@ -81,12 +119,6 @@ public class IntegerFrequencyMap {
      * @return true if the map fulfills above condition
      */
     public boolean areIndicesContiguous() {
-        int highest = highest();
-        for (int i = lowest(); i <= highest; i++) {
-            if (map.getCount(i) != 1) {
-                return false;
-            }
-        }
-        return true;
+        return contiguous;
     }
 }
@@ -0,0 +1,176 @@
+package com.owenfeehan.pathpatternfinder.patternelements;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Which kinds of characters occur in every string of a {@link SubstringList}, computed in a single
+ * pass, so that operations that cannot possibly succeed can be skipped without scanning the strings
+ * themselves.
+ *
+ * <p>It records:
+ *
+ * <ul>
+ *   <li>whether every string starts, and whether every string ends, with a digit.
+ *   <li>the set of ASCII characters that occur (anywhere) in every string.
+ * </ul>
+ *
+ * <p>Characters are recorded in lower-case (as per {@link Character#toLowerCase(char)}), so that
+ * the set is valid irrespective of whether strings are compared case-sensitively. As characters
+ * outside ASCII are not recorded, {@link #mayContainInEvery} and {@link #mayHaveCommonCharacter}
+ * can only exclude a possibility, never confirm it.
+ *
+ * <p>A summary is immutable. Whether each string starts or ends with a digit is relative to the
+ * list it was retrieved from, so it is swapped for a reversed list.
+ *
+ * @author Owen Feehan
+ */
+public final class CharacterSummary {
+
+    /** The number of characters whose presence is recorded, i.e. all ASCII characters. */
+    static final int NUMBER_RECORDED = 128;
+
+    /** Bits for characters 0 to 63 that occur in every string. */
+    private final long commonLow;
+
+    /** Bits for characters 64 to 127 that occur in every string. */
+    private final long commonHigh;
+
+    private final boolean everyStartsWithDigit;
+
+    private final boolean everyEndsWithDigit;
+
+    /** Whether at least one string consists only of recorded characters. */
+    private final boolean someOnlyRecorded;
+
+    CharacterSummary(
+            long commonLow,
+            long commonHigh,
+            boolean everyStartsWithDigit,
+            boolean everyEndsWithDigit,
+            boolean someOnlyRecorded) {
+        this.commonLow = commonLow;
+        this.commonHigh = commonHigh;
+        this.everyStartsWithDigit = everyStartsWithDigit;
+        this.everyEndsWithDigit = everyEndsWithDigit;
+        this.someOnlyRecorded = someOnlyRecorded;
+    }
+
+    /**
+     * Combines the summaries of two ranges of strings, into a summary of both.
+     *
+     * @param first the summary of one range.
+     * @param second the summary of the other range.
+     * @return a newly created summary.
+     */
+    static CharacterSummary combine(CharacterSummary first, CharacterSummary second) {
+        return new CharacterSummary(
+                first.commonLow & second.commonLow,
+                first.commonHigh & second.commonHigh,
+                first.everyStartsWithDigit && second.everyStartsWithDigit,
+                first.everyEndsWithDigit && second.everyEndsWithDigit,
+                first.someOnlyRecorded || second.someOnlyRecorded);
+    }
+
+    /**
+     * Does every string start with a digit?
+     *
+     * @return true iff the first character of every string is a digit, as per {@link
+     *     Character#isDigit(char)}.
+     */
+    public boolean everyStartsWithDigit() {
+        return everyStartsWithDigit;
+    }
+
+    /**
+     * Does every string end with a digit?
+     *
+     * @return true iff the last character of every string is a digit, as per {@link
+     *     Character#isDigit(char)}.
+     */
+    public boolean everyEndsWithDigit() {
+        return everyEndsWithDigit;
+    }
+
+    /**
+     * Might a character occur in every string?
+     *
+     * @param character the character, which is considered to occur if either its upper or lower
+     *     case occurs.
+     * @return false if the character certainly does not occur in at least one string, true if it
+     *     may occur in every string.
+     */
+    public boolean mayContainInEvery(char character) {
+        char lower = Character.toLowerCase(character);
+        if (lower >= NUMBER_RECORDED) {
+            return true;
+        }
+        return isCommon(lower);
+    }
+
+    /**
+     * Might any character occur in every string?
+     *
+     * <p>If at least one string consists only of ASCII characters, then any common character must
+     * be ASCII, and therefore be recorded.
+     *
+     * @return false if no character occurs in every string, true if one may.
+     */
+    public boolean mayHaveCommonCharacter() {
+        return !someOnlyRecorded || commonLow != 0 || commonHigh != 0;
+    }
+
+    /**
+     * Derives the summary for the same strings, with their characters presented in reverse order.
+     *
+     * @return a newly created summary.
+     */
+    CharacterSummary reverse() {
+        return new CharacterSummary(
+                commonLow, commonHigh, everyEndsWithDigit, everyStartsWithDigit, someOnlyRecorded);
+    }
+
+    /**
+     * Is nothing more to be learned from further strings, as every property is already false?
+     *
+     * @return true iff combining with any other summary would produce an identical summary.
+     */
+    boolean isSaturated() {
+        return commonLow == 0
+                && commonHigh == 0
+                && !everyStartsWithDigit
+                && !everyEndsWithDigit
+                && someOnlyRecorded;
+    }
+
+    private boolean isCommon(char lower) {
+        if (lower < 64) {
+            return (commonLow & (1L << lower)) != 0;
+        } else {
+            return (commonHigh & (1L << (lower - 64))) != 0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.owenfeehan.pathpatternfinder.patternelements;
+
+/*-
+ * #%L
+ * com.owenfeehan.pathpatternfinder:path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Matches a {@link PatternElement} against part of a string, without creating any new objects.
+ *
+ * <p>Implementations are immutable and can be used concurrently from multiple threads.
+ *
+ * @author Owen Feehan
+ */
+@FunctionalInterface
+public interface ElementMatcher {
+
+    /**
+     * Matches the element, starting at a particular position in a string.
+     *
+     * <p>As with {@link PatternElement#extractElementFrom}, matching is greedy, so the longest
+     * possible match is always chosen.
+     *
+     * @param input the string to match against.
+     * @param position the index of the character in {@code input} where the match must begin.
+     * @return the index immediately after the last character that matches (so equal to {@code
+     *     position} for an empty match), or -1 if the element does not match at {@code position}.
+     */
+    int matchFrom(CharSequence input, int position);
+}
@@ -117,6 +117,18 @@ public abstract class PatternElement {
      */
     public abstract Optional<ExtractedElement> extractElementFrom(String str, IOCase ioCase);
 
+    /**
+     * Creates a matcher that behaves identically to {@link #extractElementFrom}, but which is
+     * prepared in advance, so that matching creates no new objects.
+     *
+     * <p>The matcher exists when {{@link #isResolved()} is true, and should only be called on
+     * elements in this state. Otherwise, an {@link IllegalStateException} will be thrown.
+     *
+     * @param ioCase how to handle case-sensitivity
+     * @return a newly created matcher.
+     */
+    public abstract ElementMatcher compileMatcher(IOCase ioCase);
+
     /**
      * Describe the element, summarized in a human-friendly way.
      *
@@ -141,6 +153,34 @@ public abstract class PatternElement {
      */
     public abstract String valueAt(int index);
 
+    /**
+     * Appends the value of the element for an additional string, after all strings used during
+     * pattern extraction.
+     *
+     * <p>The value can then be retrieved via {@link #valueAt} with the next index.
+     *
+     * <p>This is only possible when {{@link #isResolved()} is true, and should only be called on
+     * elements in this state. Otherwise, an {@link IllegalStateException} will be thrown.
+     *
+     * @param value the value, which must fit the element i.e. be extracted via {@link
+     *     #extractElementFrom} or a matcher from {@link #compileMatcher}.
+     */
+    public abstract void appendValue(String value);
+
+    /**
+     * Creates an element of the same type, with the same constant value if any, but without any
+     * values for particular strings.
+     *
+     * <p>Values for other strings, that fit this element, can then be added via {@link
+     * #appendValue}.
+     *
+     * <p>This is only possible when {{@link #isResolved()} is true, and should only be called on
+     * elements in this state. Otherwise, an {@link IllegalStateException} will be thrown.
+     *
+     * @return a newly created element, which is never reversed.
+     */
+    public abstract PatternElement duplicateWithoutValues();
+
     @Override
     public String toString() {
         // Arbitrary width
@@ -0,0 +1,519 @@
+package com.owenfeehan.pathpatternfinder.patternelements;
+
+/*-
+ * #%L
+ * com.owenfeehan.pathpatternfinder:path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.trim.ChunkedReduction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An immutable list of strings, each of which is a view onto a range of characters in a shared
+ * backing-store.
+ *
+ * <p>The backing-store holds each original string only once. Deriving a new list (e.g. by removing
+ * characters from the left of every string) creates only new arrays of indices, rather than copying
+ * any characters. A {@link String} is only created when {@link #get} or {@link #substring} is
+ * called, which typically occurs only when a resolved element is finally created.
+ *
+ * <p>As every derived list contains the same number of strings, in the same order, as the list it
+ * was derived from, the string at a particular index is always a view onto the original string at
+ * the same index.
+ *
+ * <p>Positions passed to methods are always relative to the start of the view, not the start of the
+ * original string.
+ *
+ * <p>A list may be <i>reversed</i>, in which case the characters of each view are presented from
+ * right to left, without any reversed copy being made. The start of a reversed view is then the
+ * last character of the corresponding range in the original string, so that operations that
+ * naturally proceed from the left, can instead proceed from the right.
+ *
+ * <p>A {@link CharacterSummary} of the strings is computed the first time it is needed, and then
+ * retained, and shared with the reversed list.
+ *
+ * @author Owen Feehan
+ */
+public class SubstringList {
+
+    /** The original strings, shared among all lists derived from each other. */
+    private final String[] source;
+
+    /** The index of the first character in each view (inclusive). */
+    private final int[] start;
+
+    /** The index of the last character in each view (exclusive). */
+    private final int[] end;
+
+    /** Whether the characters in each view are presented from right to left. */
+    private final boolean reversed;
+
+    /**
+     * A summary of the characters, relative to the original strings, or null if not yet computed.
+     * It is shared with the reversed list.
+     */
+    private final AtomicReference<CharacterSummary> summary;
+
+    /**
+     * Creates with a view onto the entirety of each string in a list.
+     *
+     * @param strings the strings, which become the backing-store.
+     */
+    public SubstringList(List<String> strings) {
+        this.source = strings.toArray(new String[0]);
+        this.start = new int[source.length];
+        this.end = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            end[i] = source[i].length();
+        }
+        this.reversed = false;
+        this.summary = new AtomicReference<>();
+    }
+
+    private SubstringList(String[] source, int[] start, int[] end, boolean reversed) {
+        this(source, start, end, reversed, new AtomicReference<>());
+    }
+
+    private SubstringList(
+            String[] source,
+            int[] start,
+            int[] end,
+            boolean reversed,
+            AtomicReference<CharacterSummary> summary) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.reversed = reversed;
+        this.summary = summary;
+    }
+
+    /**
+     * The number of strings in the list.
+     *
+     * @return the number of strings.
+     */
+    public int size() {
+        return source.length;
+    }
+
+    /**
+     * Are there no strings in the list?
+     *
+     * @return true iff the list contains zero strings.
+     */
+    public boolean isEmpty() {
+        return source.length == 0;
+    }
+
+    /**
+     * The number of characters in a particular string.
+     *
+     * @param index the index of the string in the list.
+     * @return the number of characters.
+     */
+    public int length(int index) {
+        return end[index] - start[index];
+    }
+
+    /**
+     * A particular character in a particular string.
+     *
+     * @param index the index of the string in the list.
+     * @param position the position of the character in the string.
+     * @return the character.
+     */
+    public char charAt(int index, int position) {
+        return source[index].charAt(physicalPosition(index, position));
+    }
+
+    /**
+     * The position of the first occurrence of a character in a particular string.
+     *
+     * @param index the index of the string in the list.
+     * @param character the character to search for.
+     * @return the position of the first occurrence, or -1 if the character does not occur.
+     */
+    public int indexOf(int index, char character) {
+        if (reversed) {
+            int position = source[index].lastIndexOf(character, end[index] - 1);
+            if (position < start[index]) {
+                return -1;
+            }
+            return end[index] - 1 - position;
+        }
+
+        int position = source[index].indexOf(character, start[index]);
+        if (position == -1 || position >= end[index]) {
+            return -1;
+        }
+        return position - start[index];
+    }
+
+    /**
+     * Does a particular character occur among the first characters of a particular string?
+     *
+     * @param index the index of the string in the list.
+     * @param character the character to search for.
+     * @param numberChars how many characters (from the left) to search.
+     * @return true iff {@code character} occurs in the first {@code numberChars} characters.
+     */
+    public boolean containsInLeft(int index, char character, int numberChars) {
+        int position = indexOf(index, character);
+        return position != -1 && position < numberChars;
+    }
+
+    /**
+     * Creates a {@link String} for a particular element in the list.
+     *
+     * @param index the index of the string in the list.
+     * @return a newly created string (or the original string, if the view covers all of it and is
+     *     not reversed).
+     */
+    public String get(int index) {
+        return substring(index, 0, length(index));
+    }
+
+    /**
+     * Creates a {@link String} for a range of characters in a particular element in the list.
+     *
+     * @param index the index of the string in the list.
+     * @param from the position of the first character (inclusive).
+     * @param to the position of the last character (exclusive).
+     * @return a newly created string.
+     */
+    public String substring(int index, int from, int to) {
+        String substring = substringIgnoringReversal(index, from, to);
+        if (reversed) {
+            return StringUtilities.reverse(substring);
+        } else {
+            return substring;
+        }
+    }
+
+    /**
+     * Like {@link #substring} but the characters always occur in the same order as in the original
+     * string, even if the list is reversed.
+     *
+     * <p>The range of characters is nevertheless specified relative to the start of the view, so
+     * for a reversed list, {@code from} and {@code to} count from the right.
+     *
+     * @param index the index of the string in the list.
+     * @param from the position of the first character (inclusive).
+     * @param to the position of the last character (exclusive).
+     * @return a newly created string.
+     */
+    public String substringIgnoringReversal(int index, int from, int to) {
+        if (reversed) {
+            return source[index].substring(end[index] - to, end[index] - from);
+        } else {
+            return source[index].substring(start[index] + from, start[index] + to);
+        }
+    }
+
+    /**
+     * Creates a {@link String} for each element in the list.
+     *
+     * @return a newly created list of newly created strings.
+     */
+    public List<String> materialize() {
+        List<String> out = new ArrayList<>(source.length);
+        for (int i = 0; i < source.length; i++) {
+            out.add(get(i));
+        }
+        return out;
+    }
+
+    /**
+     * Like {@link #materialize} but the characters always occur in the same order as in the
+     * original strings, even if the list is reversed.
+     *
+     * @return a newly created list of newly created strings.
+     */
+    public List<String> materializeIgnoringReversal() {
+        List<String> out = new ArrayList<>(source.length);
+        for (int i = 0; i < source.length; i++) {
+            out.add(substringIgnoringReversal(i, 0, length(i)));
+        }
+        return out;
+    }
+
+    /**
+     * Derives a list, where the same number of characters are removed from the left of every
+     * string.
+     *
+     * @param numberChars the number of characters to remove.
+     * @return a newly created list, sharing the same backing-store.
+     */
+    public SubstringList removeLeft(int numberChars) {
+        int[] out = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            out[i] = boundaryAfter(i, numberChars);
+        }
+        return deriveRemove(out);
+    }
+
+    /**
+     * Derives a list, where a varying number of characters are removed from the left of each
+     * string.
+     *
+     * @param numberChars the number of characters to remove, for each respective string. This array
+     *     is not retained, and may be reused after the call.
+     * @return a newly created list, sharing the same backing-store.
+     */
+    public SubstringList removeLeft(int[] numberChars) {
+        int[] out = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            out[i] = boundaryAfter(i, numberChars[i]);
+        }
+        return deriveRemove(out);
+    }
+
+    /**
+     * Derives a list, where only the same number of characters are retained from the left of every
+     * string.
+     *
+     * @param numberChars the number of characters to retain.
+     * @return a newly created list, sharing the same backing-store.
+     */
+    public SubstringList keepLeft(int numberChars) {
+        int[] out = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            out[i] = boundaryAfter(i, numberChars);
+        }
+        return deriveKeep(out);
+    }
+
+    /**
+     * Derives a list, where only a varying number of characters are retained from the left of each
+     * string.
+     *
+     * @param numberChars the number of characters to retain, for each respective string. This array
+     *     is not retained, and may be reused after the call.
+     * @return a newly created list, sharing the same backing-store.
+     */
+    public SubstringList keepLeft(int[] numberChars) {
+        int[] out = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            out[i] = boundaryAfter(i, numberChars[i]);
+        }
+        return deriveKeep(out);
+    }
+
+    /**
+     * Derives a list, where the characters in each string occur in reverse order.
+     *
+     * <p>No characters are copied, and the indices are shared with the existing list.
+     *
+     * @return a newly created list, sharing the same backing-store.
+     */
+    public SubstringList reverse() {
+        return new SubstringList(source, start, end, !reversed, summary);
+    }
+
+    /**
+     * Whether the characters in each string are presented in the reverse order to the original
+     * strings.
+     *
+     * @return true iff the list is reversed.
+     */
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Checks if there is any non-empty string in the list.
+     *
+     * @return true iff there's at least one non-empty string.
+     */
+    public boolean atLeastOneNonEmpty() {
+        for (int i = 0; i < source.length; i++) {
+            if (end[i] > start[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Which kinds of characters occur in every string.
+     *
+     * <p>It is computed in a single pass over the strings, the first time it is called for this
+     * list or its reversal, so that every operation that consults it shares the same pass.
+     *
+     * @return the summary, relative to the characters as presented by this list.
+     */
+    public CharacterSummary summary() {
+        CharacterSummary existing = summary.get();
+        if (existing == null) {
+            // If computed concurrently by several threads, each computes an identical summary
+            existing =
+                    ChunkedReduction.reduce(
+                            source.length, this::summarizeRange, CharacterSummary::combine);
+            summary.set(existing);
+        }
+        if (reversed) {
+            return existing.reverse();
+        } else {
+            return existing;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        SubstringList rhs = (SubstringList) obj;
+        if (size() != rhs.size()) {
+            return false;
+        }
+        for (int i = 0; i < size(); i++) {
+            if (!equalsAt(i, rhs)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < source.length; i++) {
+            // Identical to the hash-code of the equivalent String
+            int hashString = 0;
+            for (int position = 0; position < length(i); position++) {
+                hashString = 31 * hashString + charAt(i, position);
+            }
+            hash = 31 * hash + hashString;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return materialize().toString();
+    }
+
+    /** The index in the original string, of a character in a particular view. */
+    private int physicalPosition(int index, int position) {
+        if (reversed) {
+            return end[index] - 1 - position;
+        } else {
+            return start[index] + position;
+        }
+    }
+
+    /**
+     * The index in the original string, of the boundary that lies after the first {@code
+     * numberChars} characters of a particular view.
+     */
+    private int boundaryAfter(int index, int numberChars) {
+        if (reversed) {
+            return end[index] - numberChars;
+        } else {
+            return start[index] + numberChars;
+        }
+    }
+
+    /** Derives a list, after characters have been removed from the left of the views. */
+    private SubstringList deriveRemove(int[] boundaries) {
+        if (reversed) {
+            return new SubstringList(source, start, boundaries, true);
+        } else {
+            return new SubstringList(source, boundaries, end, false);
+        }
+    }
+
+    /** Derives a list, after only characters on the left of the views have been retained. */
+    private SubstringList deriveKeep(int[] boundaries) {
+        if (reversed) {
+            return new SubstringList(source, boundaries, end, true);
+        } else {
+            return new SubstringList(source, start, boundaries, false);
+        }
+    }
+
+    /**
+     * Summarizes the characters in a range of strings, relative to the original strings.
+     *
+     * <p>It stops as soon as nothing more can be learned from further strings.
+     */
+    private CharacterSummary summarizeRange(int startInclusive, int endExclusive) {
+        CharacterSummary out = new CharacterSummary(-1L, -1L, true, true, false);
+        for (int i = startInclusive; i < endExclusive && !out.isSaturated(); i++) {
+            out = CharacterSummary.combine(out, summarizeString(i));
+        }
+        return out;
+    }
+
+    /** Summarizes the characters in a single view, relative to the original string. */
+    private CharacterSummary summarizeString(int index) {
+        String string = source[index];
+        if (start[index] == end[index]) {
+            return new CharacterSummary(0, 0, false, false, true);
+        }
+
+        long low = 0;
+        long high = 0;
+        boolean onlyRecorded = true;
+        for (int position = start[index]; position < end[index]; position++) {
+            char lower = Character.toLowerCase(string.charAt(position));
+            if (lower < 64) {
+                low |= 1L << lower;
+            } else if (lower < CharacterSummary.NUMBER_RECORDED) {
+                high |= 1L << (lower - 64);
+            } else {
+                onlyRecorded = false;
+            }
+        }
+        return new CharacterSummary(
+                low,
+                high,
+                Character.isDigit(string.charAt(start[index])),
+                Character.isDigit(string.charAt(end[index] - 1)),
+                onlyRecorded);
+    }
+
+    /** Are the strings at a particular index identical in this list and another? */
+    private boolean equalsAt(int index, SubstringList other) {
+        int length = length(index);
+        if (length != other.length(index)) {
+            return false;
+        }
+        for (int position = 0; position < length; position++) {
+            if (charAt(index, position) != other.charAt(index, position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,91 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Constants shared by {@link BinaryElementWriter} and {@link BinaryElementReader}.
+ *
+ * <p>Each element begins with a byte indicating its kind, followed by any data for that kind:
+ *
+ * <ul>
+ *   <li>a constant: its value, as the number of UTF-8 bytes, followed by the bytes.
+ *   <li>a directory separator: no further data.
+ *   <li>a varying integer or string: a byte indicating how its values are encoded, the number of
+ *       values, and then the encoded values.
+ * </ul>
+ *
+ * <p>Values are encoded either:
+ *
+ * <ul>
+ *   <li>as integers: a byte with the width common to all values (or {@link
+ *       IntegerColumn#WIDTH_VARIES}), a {@code long} for each value, and then, only if the width
+ *       varies, a byte with the width of each value.
+ *   <li>via a dictionary: the number of distinct values, an offset for where each distinct value
+ *       begins (and the last ends) in the UTF-8 bytes that follow, and then a code for each value
+ *       of 1, 2 or 4 bytes, depending on the number of distinct values.
+ * </ul>
+ *
+ * <p>All numbers are big-endian, as written by {@link java.io.DataOutput}.
+ *
+ * @author Owen Feehan
+ */
+class BinaryElementFormat {
+
+    static final byte KIND_CONSTANT = 0;
+
+    static final byte KIND_DIRECTORY_SEPERATOR = 1;
+
+    static final byte KIND_INTEGER = 2;
+
+    static final byte KIND_STRING = 3;
+
+    static final byte VALUES_AS_INTEGERS = 0;
+
+    static final byte VALUES_AS_DICTIONARY = 1;
+
+    private static final int MAX_BYTE_CODES = 1 << 8;
+
+    private static final int MAX_SHORT_CODES = 1 << 16;
+
+    private BinaryElementFormat() {}
+
+    /**
+     * The number of bytes used for each code, when values are encoded via a dictionary.
+     *
+     * @param numberDistinct the number of distinct values in the dictionary.
+     * @return the number of bytes, which is 1, 2 or 4.
+     */
+    static int bytesPerCode(int numberDistinct) {
+        if (numberDistinct <= MAX_BYTE_CODES) {
+            return 1;
+        } else if (numberDistinct <= MAX_SHORT_CODES) {
+            return 2;
+        } else {
+            return 4;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads resolved elements from the binary form written by {@link BinaryElementWriter}.
+ *
+ * <p>The values of varying elements are not decoded when read. Instead, each value is read from the
+ * buffer only when requested, so the buffer (typically a memory-mapped file) must remain unchanged
+ * while the elements are in use. The offsets of distinct strings, and the codes referring to them,
+ * are nevertheless validated when read, so that a corrupted buffer is reported immediately.
+ *
+ * @author Owen Feehan
+ */
+public class BinaryElementReader {
+
+    /** The buffer to read elements from, which is accessed only via absolute offsets. */
+    private final ByteBuffer buffer;
+
+    /** The offset in {@code buffer} of the next element to read. */
+    private int offset;
+
+    /**
+     * Creates to read elements from a buffer.
+     *
+     * @param buffer the buffer to read from, whose position is ignored and never changed.
+     * @param offset the offset in {@code buffer} of the first element to read.
+     */
+    public BinaryElementReader(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * Reads the next element.
+     *
+     * @return a newly created element.
+     * @throws IOException if the buffer does not contain a valid element.
+     */
+    public PatternElement read() throws IOException {
+        byte kind = readByte();
+        switch (kind) {
+            case BinaryElementFormat.KIND_CONSTANT:
+                return new ConstantElement(readString());
+            case BinaryElementFormat.KIND_DIRECTORY_SEPERATOR:
+                return new DirectorySeperator();
+            case BinaryElementFormat.KIND_INTEGER:
+                return new IntegerVariableElement(readValues());
+            case BinaryElementFormat.KIND_STRING:
+                return new StringVariableElement(readValues());
+            default:
+                throw new IOException(String.format("Unknown kind of element: %d", kind));
+        }
+    }
+
+    /**
+     * The offset in the buffer of the next element to read.
+     *
+     * @return the offset, which is immediately after the last element read.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    private ValueColumn readValues() throws IOException {
+        byte encoding = readByte();
+        int size = readInt();
+        if (encoding == BinaryElementFormat.VALUES_AS_INTEGERS) {
+            int width = readByte();
+            int integersOffset = skip(size, Long.BYTES);
+            int widthsOffset = width == IntegerColumn.WIDTH_VARIES ? skip(size, 1) : -1;
+            return new MappedIntegerColumn(buffer, size, width, integersOffset, widthsOffset);
+        } else if (encoding == BinaryElementFormat.VALUES_AS_DICTIONARY) {
+            int numberDistinct = readInt();
+            if (numberDistinct < 0) {
+                throw new IOException(
+                        String.format("Invalid number of distinct values: %d", numberDistinct));
+            }
+            int offsetsOffset = skip(numberDistinct + 1L, Integer.BYTES);
+            int numberBytes = buffer.getInt(offsetsOffset + numberDistinct * Integer.BYTES);
+            int bytesOffset = skip(numberBytes, 1);
+            checkOffsets(offsetsOffset, numberDistinct, numberBytes);
+            int bytesPerCode = BinaryElementFormat.bytesPerCode(numberDistinct);
+            int codesOffset = skip(size, bytesPerCode);
+            checkCodes(codesOffset, size, bytesPerCode, numberDistinct);
+            return new MappedDictionaryColumn(
+                    buffer, size, offsetsOffset, bytesOffset, codesOffset, bytesPerCode);
+        } else {
+            throw new IOException(String.format("Unknown encoding of values: %d", encoding));
+        }
+    }
+
+    /**
+     * Checks that the offsets of the distinct values start at zero and never decrease.
+     *
+     * <p>The last offset is {@code numberBytes}, which is already known to lie within the buffer.
+     */
+    private void checkOffsets(int offsetsOffset, int numberDistinct, int numberBytes)
+            throws IOException {
+        int previous = 0;
+        for (int i = 0; i <= numberDistinct; i++) {
+            int current = buffer.getInt(offsetsOffset + i * Integer.BYTES);
+            if ((i == 0 && current != 0) || current < previous || current > numberBytes) {
+                throw new IOException(
+                        String.format("Invalid offset of distinct value %d: %d", i, current));
+            }
+            previous = current;
+        }
+    }
+
+    /** Checks that every code refers to a distinct value. */
+    private void checkCodes(int codesOffset, int size, int bytesPerCode, int numberDistinct)
+            throws IOException {
+        for (int i = 0; i < size; i++) {
+            int code = MappedDictionaryColumn.code(buffer, codesOffset, bytesPerCode, i);
+            if (code < 0 || code >= numberDistinct) {
+                throw new IOException(
+                        String.format(
+                                "Invalid code %d for value %d, with %d distinct values",
+                                code, i, numberDistinct));
+            }
+        }
+    }
+
+    private String readString() throws IOException {
+        int length = readInt();
+        int start = skip(length, 1);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte readByte() throws IOException {
+        return buffer.get(skip(1, 1));
+    }
+
+    private int readInt() throws IOException {
+        return buffer.getInt(skip(1, Integer.BYTES));
+    }
+
+    /**
+     * Skips over a number of items, without reading them.
+     *
+     * @return the offset of the first item.
+     * @throws IOException if the buffer ends before all the items.
+     */
+    private int skip(long numberItems, int bytesPerItem) throws IOException {
+        long end = offset + numberItems * bytesPerItem;
+        if (numberItems < 0 || end > buffer.limit()) {
+            throw new IOException("The buffer ends unexpectedly, before an element is complete.");
+        }
+        int start = offset;
+        offset = (int) end;
+        return start;
+    }
+}
@@ -0,0 +1,167 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes resolved elements in a compact binary form, which {@link BinaryElementReader} can read.
+ *
+ * <p>See {@link BinaryElementFormat} for a description of the form.
+ *
+ * @author Owen Feehan
+ */
+public class BinaryElementWriter {
+
+    /** Where the elements are written to. */
+    private final DataOutput output;
+
+    /**
+     * Creates to write to a particular output.
+     *
+     * @param output where the elements are written to.
+     */
+    public BinaryElementWriter(DataOutput output) {
+        this.output = output;
+    }
+
+    /**
+     * Writes an element.
+     *
+     * @param element the element to write, which must be resolved.
+     * @throws IOException if the element cannot be written to the output.
+     * @throws IllegalStateException if the element is not resolved.
+     */
+    public void write(PatternElement element) throws IOException {
+        if (element instanceof DirectorySeperator) {
+            output.writeByte(BinaryElementFormat.KIND_DIRECTORY_SEPERATOR);
+        } else if (element instanceof ConstantElement) {
+            output.writeByte(BinaryElementFormat.KIND_CONSTANT);
+            writeBytes(((ConstantElement) element).getValue().getBytes(StandardCharsets.UTF_8));
+        } else if (element instanceof IntegerVariableElement) {
+            output.writeByte(BinaryElementFormat.KIND_INTEGER);
+            writeValues(columnPresented((VariableElement) element, true));
+        } else if (element instanceof StringVariableElement) {
+            output.writeByte(BinaryElementFormat.KIND_STRING);
+            writeValues(columnPresented((VariableElement) element, false));
+        } else {
+            throw new IllegalStateException(
+                    String.format(
+                            "Only resolved elements can be written, but an element is of type %s.",
+                            element.getClass().getSimpleName()));
+        }
+    }
+
+    private void writeValues(ValueColumn column) throws IOException {
+        if (column instanceof IntegerColumn) {
+            writeIntegers((IntegerColumn) column);
+        } else {
+            writeDictionary((DictionaryColumn) column);
+        }
+    }
+
+    private void writeIntegers(IntegerColumn column) throws IOException {
+        output.writeByte(BinaryElementFormat.VALUES_AS_INTEGERS);
+        output.writeInt(column.size());
+
+        // Every width is at most IntegerColumn.MAX_WIDTH, so is never truncated, nor confused with
+        // WIDTH_VARIES, when written as a byte
+        int width = column.uniformWidth();
+        output.writeByte(width);
+        for (int i = 0; i < column.size(); i++) {
+            output.writeLong(column.integer(i));
+        }
+        if (width == IntegerColumn.WIDTH_VARIES) {
+            for (int i = 0; i < column.size(); i++) {
+                output.writeByte(column.width(i));
+            }
+        }
+    }
+
+    private void writeDictionary(DictionaryColumn column) throws IOException {
+        output.writeByte(BinaryElementFormat.VALUES_AS_DICTIONARY);
+        output.writeInt(column.size());
+
+        int numberDistinct = column.numberDistinct();
+        output.writeInt(numberDistinct);
+
+        byte[][] distinct = new byte[numberDistinct][];
+        int offset = 0;
+        for (int code = 0; code < numberDistinct; code++) {
+            distinct[code] = column.distinct(code).getBytes(StandardCharsets.UTF_8);
+            output.writeInt(offset);
+            offset += distinct[code].length;
+        }
+        output.writeInt(offset);
+        for (byte[] bytes : distinct) {
+            output.write(bytes);
+        }
+
+        int bytesPerCode = BinaryElementFormat.bytesPerCode(numberDistinct);
+        for (int i = 0; i < column.size(); i++) {
+            writeCode(column.code(i), bytesPerCode);
+        }
+    }
+
+    private void writeCode(int code, int bytesPerCode) throws IOException {
+        if (bytesPerCode == 1) {
+            output.writeByte(code);
+        } else if (bytesPerCode == 2) {
+            output.writeShort(code);
+        } else {
+            output.writeInt(code);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * A column with the values of an element as they are presented, i.e. not reversed, that is
+     * either an {@link IntegerColumn} or a {@link DictionaryColumn}.
+     */
+    private static ValueColumn columnPresented(VariableElement element, boolean integer) {
+        ValueColumn column = element.column();
+        if (!element.isReversed()
+                && (column instanceof IntegerColumn || column instanceof DictionaryColumn)) {
+            return column;
+        }
+
+        List<String> values = element.getValues();
+        if (integer && IntegerColumn.canStore(values)) {
+            return new IntegerColumn(values);
+        } else {
+            return new DictionaryColumn(values);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * com.owenfeehan.pathpatternfinder:path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Folds characters to a single case, so that they can be compared case-insensitively.
+ *
+ * <p>Two characters are equal after folding, precisely when {@link String#regionMatches(boolean,
+ * int, String, int, int)} considers them equal while ignoring case, as used by {@link
+ * org.apache.commons.io.IOCase}.
+ *
+ * @author Owen Feehan
+ */
+class CaseFolding {
+
+    private CaseFolding() {}
+
+    /**
+     * Folds a character, if case-insensitive.
+     *
+     * @param character the character to fold.
+     * @param caseSensitive if true, the character is returned unchanged.
+     * @return the folded character.
+     */
+    public static char fold(char character, boolean caseSensitive) {
+        if (caseSensitive) {
+            return character;
+        } else {
+            return Character.toLowerCase(Character.toUpperCase(character));
+        }
+    }
+}
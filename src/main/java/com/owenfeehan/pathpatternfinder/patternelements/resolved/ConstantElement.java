@@ -26,7 +26,9 @@ package com.owenfeehan.pathpatternfinder.patternelements.resolved;
  * #L%
  */
 
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
 import com.owenfeehan.pathpatternfinder.patternelements.ExtractedElement;
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
 import com.owenfeehan.pathpatternfinder.patternelements.StringUtilities;
 import java.util.Optional;
 import org.apache.commons.io.IOCase;
@@ -44,6 +46,13 @@ class ConstantElement extends ResolvedPatternElement {
     /** The constant value. */
     private String value;
 
+    /**
+     * Whether {@code value} is stored in the reverse order to how it is presented.
+     *
+     * <p>This allows the element to be reversed, without reversing the value.
+     */
+    private boolean reversed = false;
+
     /**
      * Create with the particular value is constant across all extracted strings.
      *
@@ -55,22 +64,35 @@ class ConstantElement extends ResolvedPatternElement {
 
     @Override
     public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        ConstantElement rhs = (ConstantElement) obj;
+        return new EqualsBuilder()
+                .appendSuper(super.equals(obj))
+                .append(getValue(), rhs.getValue())
+                .isEquals();
     }
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(getValue()).toHashCode();
     }
 
     @Override
     public void reverse() {
-        value = StringUtilities.reverse(value);
+        reversed = !reversed;
     }
 
     @Override
     public String describe(int widthToDescribe) {
-        return StringUtils.abbreviate(value, widthToDescribe);
+        return StringUtils.abbreviate(getValue(), widthToDescribe);
     }
 
     @Override
@@ -80,7 +102,22 @@ class ConstantElement extends ResolvedPatternElement {
 
     @Override
     public Optional<ExtractedElement> extractElementFrom(String str, IOCase ioCase) {
-        return ExtractElementFrom.extractStringIfPossible(value, str, ioCase);
+        return ExtractElementFrom.extractStringIfPossible(getValue(), str, ioCase);
+    }
+
+    @Override
+    public ElementMatcher compileMatcher(IOCase ioCase) {
+        return new PrefixMatcher(getValue(), ioCase);
+    }
+
+    @Override
+    public void appendValue(String value) {
+        // The value is identical for every string, so nothing needs to be recorded
+    }
+
+    @Override
+    public PatternElement duplicateWithoutValues() {
+        return new ConstantElement(getValue());
     }
 
     /**
@@ -92,11 +129,15 @@ class ConstantElement extends ResolvedPatternElement {
      * @return the value.
      */
     public String getValue() {
-        return value;
+        if (reversed) {
+            return StringUtilities.reverse(value);
+        } else {
+            return value;
+        }
     }
 
     @Override
     public String valueAt(int index) {
-        return value;
+        return getValue();
     }
 }
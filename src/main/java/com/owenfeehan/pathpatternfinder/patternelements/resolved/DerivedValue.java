@@ -0,0 +1,83 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.function.Supplier;
+
+/**
+ * A value derived from the values of a {@link VariableElement}, which is computed lazily and then
+ * cached.
+ *
+ * <p>The value is computed at most once (until reset), even if requested concurrently from several
+ * threads.
+ *
+ * <p>Resetting is not synchronized with concurrent requests for the value, as it only occurs when
+ * the element itself is modified, which is never safe concurrently with other operations.
+ *
+ * @author Owen Feehan
+ * @param <T> type of value
+ */
+class DerivedValue<T> {
+
+    /** Computes the value. */
+    private final Supplier<T> supplier;
+
+    /** The cached value, or null if it has not yet been computed. */
+    private volatile T value;
+
+    /**
+     * Creates with a supplier that computes the value.
+     *
+     * @param supplier computes the value, whenever it is needed, and must never return null.
+     */
+    public DerivedValue(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Gets the value, computing it if it has not already been computed.
+     *
+     * @return the value.
+     */
+    public T get() {
+        T existing = value;
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            if (value == null) {
+                value = supplier.get();
+            }
+            return value;
+        }
+    }
+
+    /** Discards any cached value, so it is computed again when next requested. */
+    public void reset() {
+        value = null;
+    }
+}
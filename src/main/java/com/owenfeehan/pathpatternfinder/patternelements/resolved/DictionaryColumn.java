@@ -0,0 +1,250 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores values via dictionary-encoding, so that each distinct value is stored only once.
+ *
+ * <p>Each value is instead represented by a code, an index into an array of distinct values. The
+ * codes are stored in the narrowest primitive array that suffices for the number of distinct
+ * values: a {@code byte[]} for up to 256 distinct values, a {@code short[]} for up to 65536, and
+ * otherwise an {@code int[]}.
+ *
+ * @author Owen Feehan
+ */
+class DictionaryColumn implements ValueColumn {
+
+    private static final int MAX_BYTE_CODES = 1 << 8;
+
+    private static final int MAX_SHORT_CODES = 1 << 16;
+
+    /** The distinct values, in the order they first occur. */
+    private String[] dictionary;
+
+    /** The number of elements used in {@code dictionary}. */
+    private int numberDistinct;
+
+    /**
+     * The code for each value in {@code dictionary}.
+     *
+     * <p>This is only needed to append values, so it is created when first appending, and otherwise
+     * discarded after construction.
+     */
+    private Map<String, Integer> codes;
+
+    /** The code for each value, when there are few enough distinct values, otherwise null. */
+    private byte[] byteCodes;
+
+    /** The code for each value, when there are few enough distinct values, otherwise null. */
+    private short[] shortCodes;
+
+    /** The code for each value, when there are too many distinct values for a narrower array. */
+    private int[] intCodes;
+
+    /** The number of values. */
+    private int size;
+
+    /**
+     * Creates for a list of values.
+     *
+     * @param values the values, which are not retained, only the distinct strings among them.
+     */
+    public DictionaryColumn(List<String> values) {
+        this.dictionary = new String[Math.min(values.size(), 16)];
+        this.codes = new HashMap<>();
+        this.byteCodes = new byte[values.size()];
+        for (String value : values) {
+            append(value);
+        }
+        this.dictionary = Arrays.copyOf(dictionary, numberDistinct);
+        this.codes = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of bounds for size %d", index, size));
+        }
+        return dictionary[code(index)];
+    }
+
+    @Override
+    public ValueColumn append(String value) {
+        if (codes == null) {
+            codes = createCodes();
+        }
+
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = addToDictionary(value);
+            codes.put(value, code);
+        }
+
+        ensureCapacity(size + 1);
+        setCode(size, code);
+        size++;
+        return this;
+    }
+
+    @Override
+    public List<String> asList() {
+        return new AbstractList<String>() {
+
+            @Override
+            public String get(int index) {
+                return DictionaryColumn.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int addToDictionary(String value) {
+        if (numberDistinct == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, Math.max(1, dictionary.length * 2));
+        }
+        dictionary[numberDistinct] = value;
+
+        int code = numberDistinct++;
+        if (code == MAX_BYTE_CODES && byteCodes != null) {
+            widenToShort();
+        } else if (code == MAX_SHORT_CODES && shortCodes != null) {
+            widenToInt();
+        }
+        return code;
+    }
+
+    /**
+     * The number of distinct values.
+     *
+     * @return the number of distinct values, which is also the number of codes.
+     */
+    int numberDistinct() {
+        return numberDistinct;
+    }
+
+    /**
+     * The distinct value for a particular code.
+     *
+     * @param code the code.
+     * @return the distinct value.
+     */
+    String distinct(int code) {
+        return dictionary[code];
+    }
+
+    private Map<String, Integer> createCodes() {
+        Map<String, Integer> out = new HashMap<>();
+        for (int i = 0; i < numberDistinct; i++) {
+            out.put(dictionary[i], i);
+        }
+        return out;
+    }
+
+    /**
+     * The code of a particular value.
+     *
+     * @param index the index of the value.
+     * @return the code, an index into the distinct values.
+     */
+    int code(int index) {
+        if (byteCodes != null) {
+            return byteCodes[index] & 0xFF;
+        } else if (shortCodes != null) {
+            return shortCodes[index] & 0xFFFF;
+        } else {
+            return intCodes[index];
+        }
+    }
+
+    private void setCode(int index, int code) {
+        if (byteCodes != null) {
+            byteCodes[index] = (byte) code;
+        } else if (shortCodes != null) {
+            shortCodes[index] = (short) code;
+        } else {
+            intCodes[index] = code;
+        }
+    }
+
+    /** Ensures the array of codes can hold at least {@code capacity} codes. */
+    private void ensureCapacity(int capacity) {
+        int existing = currentCapacity();
+        if (capacity <= existing) {
+            return;
+        }
+        int grown = Math.max(capacity, existing + (existing >> 1));
+        if (byteCodes != null) {
+            byteCodes = Arrays.copyOf(byteCodes, grown);
+        } else if (shortCodes != null) {
+            shortCodes = Arrays.copyOf(shortCodes, grown);
+        } else {
+            intCodes = Arrays.copyOf(intCodes, grown);
+        }
+    }
+
+    private int currentCapacity() {
+        if (byteCodes != null) {
+            return byteCodes.length;
+        } else if (shortCodes != null) {
+            return shortCodes.length;
+        } else {
+            return intCodes.length;
+        }
+    }
+
+    private void widenToShort() {
+        shortCodes = new short[byteCodes.length];
+        for (int i = 0; i < size; i++) {
+            shortCodes[i] = (short) (byteCodes[i] & 0xFF);
+        }
+        byteCodes = null;
+    }
+
+    private void widenToInt() {
+        intCodes = new int[shortCodes.length];
+        for (int i = 0; i < size; i++) {
+            intCodes[i] = shortCodes[i] & 0xFFFF;
+        }
+        shortCodes = null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * com.owenfeehan.pathpatternfinder:path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
+
+/**
+ * Matches as many digits as possible.
+ *
+ * <p>At least one digit must always match. This differs from {@link
+ * IntegerVariableElement#extractElementFrom}, which also matches zero digits when no characters
+ * remain, as an empty string is never a valid value for the element.
+ *
+ * @author Owen Feehan
+ */
+class DigitsMatcher implements ElementMatcher {
+
+    @Override
+    public int matchFrom(CharSequence input, int position) {
+        int end = position;
+        while (end < input.length() && Character.isDigit(input.charAt(end))) {
+            end++;
+        }
+
+        if (end == position) {
+            // The first character was non-digit, or no characters remain
+            return -1;
+        }
+        return end;
+    }
+}
@@ -26,7 +26,9 @@ package com.owenfeehan.pathpatternfinder.patternelements.resolved;
  * #L%
  */
 
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
 import com.owenfeehan.pathpatternfinder.patternelements.ExtractedElement;
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
 import java.io.File;
 import java.util.Optional;
 import org.apache.commons.io.IOCase;
@@ -70,6 +72,21 @@ class DirectorySeperator extends ResolvedPatternElement {
         return ExtractElementFrom.extractStringIfPossible(File.separator, str, ioCase);
     }
 
+    @Override
+    public ElementMatcher compileMatcher(IOCase ioCase) {
+        return new PrefixMatcher(File.separator, ioCase);
+    }
+
+    @Override
+    public void appendValue(String value) {
+        // The value is identical for every string, so nothing needs to be recorded
+    }
+
+    @Override
+    public PatternElement duplicateWithoutValues() {
+        return new DirectorySeperator();
+    }
+
     @Override
     public String valueAt(int index) {
         return File.separator;
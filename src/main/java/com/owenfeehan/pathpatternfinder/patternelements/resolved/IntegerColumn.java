@@ -0,0 +1,322 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores values that are non-negative integers in a primitive array, rather than as strings.
+ *
+ * <p>The integers are stored in an {@code int[]} if they are all small enough, otherwise in a
+ * {@code long[]}.
+ *
+ * <p>So that each value is identical to the original string, including any leading zeros, the width
+ * (number of digits) of each value is also recorded. Typically, all values have either no leading
+ * zeros or an identical width, in which case a single width suffices for all values. Otherwise, a
+ * width is stored for each value.
+ *
+ * <p>Only strings of ASCII digits, whose integer fits in a {@code long}, and whose width fits in a
+ * {@code byte}, can be stored.
+ *
+ * @author Owen Feehan
+ */
+class IntegerColumn implements ValueColumn {
+
+    /** Any string of digits with at most this length, is guaranteed to fit in a {@code long}. */
+    private static final int MAX_DIGITS_ALWAYS_LONG = 18;
+
+    /** The maximum width of any value, so that each width fits in a {@code byte}. */
+    static final int MAX_WIDTH = Byte.MAX_VALUE;
+
+    /** Indicates that the width is stored separately for each value, in {@code widths}. */
+    static final int WIDTH_VARIES = -1;
+
+    /** The integers, when all are small enough, otherwise null. */
+    private int[] ints;
+
+    /** The integers, when at least one is too large for {@code ints}, otherwise null. */
+    private long[] longs;
+
+    /**
+     * The minimum number of digits in every value, with leading zeros inserted as needed, or {@link
+     * #WIDTH_VARIES}.
+     *
+     * <p>Zero indicates that no value has leading zeros.
+     */
+    private int width;
+
+    /** The number of digits in each value, when {@code width} is {@link #WIDTH_VARIES}. */
+    private byte[] widths;
+
+    /** The number of values. */
+    private int size;
+
+    /**
+     * Creates for a list of values.
+     *
+     * @param values the values, each of which must satisfy {@link #canStore}.
+     */
+    public IntegerColumn(List<String> values) {
+        this.ints = new int[values.size()];
+        this.width = commonWidth(values);
+        if (width == WIDTH_VARIES) {
+            this.widths = new byte[values.size()];
+        }
+        for (String value : values) {
+            appendStorable(value);
+        }
+    }
+
+    /**
+     * Can a value be stored in a column of this type?
+     *
+     * @param value the value.
+     * @return true iff the value is one or more (and at most {@link #MAX_WIDTH}) ASCII digits,
+     *     representing an integer that fits in a {@code long}.
+     */
+    public static boolean canStore(String value) {
+        int length = value.length();
+        if (length == 0 || length > MAX_WIDTH) {
+            // A longer value can only arise from many leading zeros
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return length <= MAX_DIGITS_ALWAYS_LONG || fitsLong(value);
+    }
+
+    /**
+     * Can all values be stored in a column of this type?
+     *
+     * @param values the values.
+     * @return true iff {@link #canStore} is true for every value.
+     */
+    public static boolean canStore(List<String> values) {
+        return values.stream().allMatch(IntegerColumn::canStore);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of bounds for size %d", index, size));
+        }
+        return format(integer(index), width(index));
+    }
+
+    @Override
+    public ValueColumn append(String value) {
+        if (!canStore(value)) {
+            return new DictionaryColumn(asList()).append(value);
+        }
+        if (width != WIDTH_VARIES && !hasWidth(value, width)) {
+            varyWidth();
+        }
+        appendStorable(value);
+        return this;
+    }
+
+    @Override
+    public List<String> asList() {
+        return new AbstractList<String>() {
+
+            @Override
+            public String get(int index) {
+                return IntegerColumn.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * The integers, as an array.
+     *
+     * @return a newly created array, with an integer for each respective value.
+     */
+    public long[] toLongArray() {
+        long[] out = new long[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = integer(i);
+        }
+        return out;
+    }
+
+    /**
+     * The integer of a particular value.
+     *
+     * @param index the index of the value.
+     * @return the integer.
+     */
+    long integer(int index) {
+        if (ints != null) {
+            return ints[index];
+        } else {
+            return longs[index];
+        }
+    }
+
+    /**
+     * The minimum number of digits of a particular value, with leading zeros inserted as needed.
+     *
+     * @param index the index of the value.
+     * @return the width, or zero if the value has no leading zeros.
+     */
+    int width(int index) {
+        return width == WIDTH_VARIES ? widths[index] : width;
+    }
+
+    /**
+     * The minimum number of digits of every value, if this is identical for all values.
+     *
+     * @return the width, zero if no value has leading zeros, or {@link #WIDTH_VARIES}.
+     */
+    int uniformWidth() {
+        return width;
+    }
+
+    /**
+     * Formats an integer as a string, with leading zeros inserted as needed.
+     *
+     * @param integer the integer.
+     * @param width the minimum number of digits.
+     * @return the string.
+     */
+    static String format(long integer, int width) {
+        String digits = Long.toString(integer);
+        if (digits.length() >= width) {
+            return digits;
+        }
+
+        StringBuilder builder = new StringBuilder(width);
+        for (int i = digits.length(); i < width; i++) {
+            builder.append('0');
+        }
+        return builder.append(digits).toString();
+    }
+
+    /** Appends a value, whose width has already been accommodated. */
+    private void appendStorable(String value) {
+        long integer = Long.parseLong(value);
+
+        ensureCapacity(size + 1);
+        if (ints != null && (integer > Integer.MAX_VALUE)) {
+            widenToLong();
+        }
+        if (ints != null) {
+            ints[size] = (int) integer;
+        } else {
+            longs[size] = integer;
+        }
+        if (width == WIDTH_VARIES) {
+            widths[size] = (byte) value.length();
+        }
+        size++;
+    }
+
+    /** Ensures the arrays can hold at least {@code capacity} values. */
+    private void ensureCapacity(int capacity) {
+        int existing = ints != null ? ints.length : longs.length;
+        if (capacity <= existing) {
+            return;
+        }
+        int grown = Math.max(capacity, existing + (existing >> 1));
+        if (ints != null) {
+            ints = Arrays.copyOf(ints, grown);
+        } else {
+            longs = Arrays.copyOf(longs, grown);
+        }
+        if (widths != null) {
+            widths = Arrays.copyOf(widths, grown);
+        }
+    }
+
+    private void widenToLong() {
+        longs = new long[ints.length];
+        for (int i = 0; i < size; i++) {
+            longs[i] = ints[i];
+        }
+        ints = null;
+    }
+
+    /** Switches from a single width for all values, to a separate width for each value. */
+    private void varyWidth() {
+        widths = new byte[ints != null ? ints.length : longs.length];
+        for (int i = 0; i < size; i++) {
+            widths[i] = (byte) get(i).length();
+        }
+        width = WIDTH_VARIES;
+    }
+
+    /**
+     * A single width that suffices for all values, or {@link #WIDTH_VARIES} if none exists.
+     *
+     * <p>The width is zero if no value has leading zeros.
+     */
+    private static int commonWidth(List<String> values) {
+        if (values.stream().allMatch(value -> hasWidth(value, 0))) {
+            return 0;
+        }
+        int first = values.get(0).length();
+        if (values.stream().allMatch(value -> hasWidth(value, first))) {
+            return first;
+        }
+        return WIDTH_VARIES;
+    }
+
+    /** Is a value identical to its integer, when padded with leading zeros to a minimum width? */
+    private static boolean hasWidth(String value, int width) {
+        if (value.length() == width) {
+            return true;
+        }
+        // Otherwise, there must be no leading zeros (a single zero is itself not a leading zero)
+        return value.length() > width && (value.charAt(0) != '0' || value.length() == 1);
+    }
+
+    private static boolean fitsLong(String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -27,13 +27,15 @@ package com.owenfeehan.pathpatternfinder.patternelements.resolved;
  */
 
 import com.owenfeehan.pathpatternfinder.describer.frequencymap.integer.IntegerFrequencyMap;
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
 import com.owenfeehan.pathpatternfinder.patternelements.ExtractedElement;
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * A varying integer.
@@ -42,33 +44,52 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 class IntegerVariableElement extends VariableElement {
 
+    /**
+     * The value of each respective integer, or {@link Optional#empty} if any value is too large to
+     * be represented as a {@code long}.
+     */
+    private final DerivedValue<Optional<long[]>> parsed = derive(this::parseValues);
+
+    private final DerivedValue<Optional<IntegerFrequencyMap>> frequencyMap =
+            derive(() -> parsed.get().map(IntegerFrequencyMap::new));
+
+    /**
+     * Creates for a list of values.
+     *
+     * <p>If possible, the values are stored as primitive integers, rather than strings.
+     *
+     * @param values the values, each of which is one or more digits.
+     */
     public IntegerVariableElement(List<String> values) {
-        super(values);
+        super(columnFor(values));
     }
 
-    @Override
-    public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+    /**
+     * Creates for a column of values.
+     *
+     * @param values the values, each of which is one or more digits.
+     */
+    IntegerVariableElement(ValueColumn values) {
+        super(values);
     }
 
     @Override
-    public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+    public PatternElement duplicateWithoutValues() {
+        return new IntegerVariableElement(new ArrayList<>());
     }
 
     @Override
     public String describe(int widthToDescribe) {
 
-        IntegerFrequencyMap map = new IntegerFrequencyMap(extractIntegerList());
-
-        if (map.areIndicesContiguous()) {
-            return String.format(
-                    "an integer sequence from %d to %d inclusive", map.lowest(), map.highest());
+        Optional<IntegerFrequencyMap> map = frequencyMap.get();
+        if (map.isPresent()) {
+            return describe(
+                    map.get().areIndicesContiguous(),
+                    map.get().numberUniqueValues(),
+                    map.get().lowest(),
+                    map.get().highest());
         } else {
-
-            return String.format(
-                    "%d unique integers between %d and %d inclusive",
-                    map.numberUniqueValues(), map.lowest(), map.highest());
+            return describeBeyondLong(getValues());
         }
     }
 
@@ -88,6 +109,11 @@ class IntegerVariableElement extends VariableElement {
         }
     }
 
+    @Override
+    public ElementMatcher compileMatcher(IOCase ioCase) {
+        return new DigitsMatcher();
+    }
+
     /**
      * Returns the index of the first non-digit character (from left-most side) or -1 if all are
      * digits
@@ -104,7 +130,61 @@ class IntegerVariableElement extends VariableElement {
         return -1;
     }
 
-    private List<Integer> extractIntegerList() {
-        return getValues().stream().map(Integer::parseInt).collect(Collectors.toList());
+    private Optional<long[]> parseValues() {
+        ValueColumn column = column();
+        if (column instanceof IntegerColumn && !isReversed()) {
+            // The integers are already available, without parsing
+            return Optional.of(((IntegerColumn) column).toLongArray());
+        }
+
+        List<String> values = getValues();
+        long[] out = new long[values.size()];
+        for (int i = 0; i < out.length; i++) {
+            try {
+                out[i] = Long.parseLong(values.get(i));
+            } catch (NumberFormatException e) {
+                // Too many digits to fit in a long
+                return Optional.empty();
+            }
+        }
+        return Optional.of(out);
+    }
+
+    private static ValueColumn columnFor(List<String> values) {
+        if (IntegerColumn.canStore(values)) {
+            return new IntegerColumn(values);
+        } else {
+            return new DictionaryColumn(values);
+        }
+    }
+
+    /**
+     * Describes integers, some of which are too large for a {@code long}, via the slower {@link
+     * BigInteger}.
+     */
+    private static String describeBeyondLong(List<String> values) {
+        List<BigInteger> distinct =
+                values.stream()
+                        .map(BigInteger::new)
+                        .distinct()
+                        .sorted()
+                        .collect(Collectors.toList());
+        BigInteger lowest = distinct.get(0);
+        BigInteger highest = distinct.get(distinct.size() - 1);
+        boolean contiguous =
+                distinct.size() == values.size()
+                        && highest.subtract(lowest).equals(BigInteger.valueOf(values.size() - 1L));
+        return describe(contiguous, distinct.size(), lowest, highest);
+    }
+
+    private static String describe(
+            boolean contiguous, int numberUniqueValues, Number lowest, Number highest) {
+        if (contiguous) {
+            return String.format("an integer sequence from %d to %d inclusive", lowest, highest);
+        } else {
+            return String.format(
+                    "%d unique integers between %d and %d inclusive",
+                    numberUniqueValues, lowest, highest);
+        }
     }
 }
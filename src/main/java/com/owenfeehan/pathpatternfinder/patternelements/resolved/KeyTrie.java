@@ -0,0 +1,154 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * com.owenfeehan.pathpatternfinder:path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
+import java.util.Arrays;
+import java.util.Collection;
+import org.apache.commons.io.IOCase;
+
+/**
+ * Matches the longest of a set of keys, via a prefix-trie.
+ *
+ * <p>The trie is built once, and each match then requires only a single pass over the characters of
+ * the input, irrespective of the number of keys.
+ *
+ * @author Owen Feehan
+ */
+class KeyTrie implements ElementMatcher {
+
+    /** A node in the trie, whose children are sorted by their character. */
+    private static class Node {
+
+        /** The character leading to each respective child, in ascending order. */
+        private final char[] labels;
+
+        /** The child nodes. */
+        private final Node[] children;
+
+        /** Whether a key ends at this node. */
+        private final boolean terminal;
+
+        public Node(char[] labels, Node[] children, boolean terminal) {
+            this.labels = labels;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        /** The child for a particular character, or null if none exists. */
+        public Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private final Node root;
+
+    private final boolean caseSensitive;
+
+    /**
+     * Creates for a set of keys.
+     *
+     * @param keys the keys, which may contain duplicates.
+     * @param ioCase whether to be case-sensitive or not.
+     */
+    public KeyTrie(Collection<String> keys, IOCase ioCase) {
+        this.caseSensitive = ioCase.isCaseSensitive();
+
+        String[] folded = keys.stream().map(this::fold).distinct().sorted().toArray(String[]::new);
+        this.root = build(folded, 0, folded.length, 0);
+    }
+
+    @Override
+    public int matchFrom(CharSequence input, int position) {
+        int longest = root.terminal ? position : -1;
+
+        Node node = root;
+        for (int i = position; i < input.length(); i++) {
+            node = node.child(CaseFolding.fold(input.charAt(i), caseSensitive));
+            if (node == null) {
+                break;
+            }
+            if (node.terminal) {
+                longest = i + 1;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Builds a node for a range of sorted keys, which all share an identical prefix of length
+     * {@code depth}.
+     */
+    private static Node build(String[] keys, int start, int end, int depth) {
+
+        // As the keys are sorted, a key that ends at this depth can only be the first
+        boolean terminal = start < end && keys[start].length() == depth;
+        if (terminal) {
+            start++;
+        }
+
+        // Count the distinct characters at this depth, each of which forms a contiguous range
+        int numberChildren = 0;
+        for (int i = start; i < end; i++) {
+            if (i == start || keys[i].charAt(depth) != keys[i - 1].charAt(depth)) {
+                numberChildren++;
+            }
+        }
+
+        char[] labels = new char[numberChildren];
+        Node[] children = new Node[numberChildren];
+
+        int child = 0;
+        int rangeStart = start;
+        for (int i = start + 1; i <= end; i++) {
+            if (i == end || keys[i].charAt(depth) != keys[rangeStart].charAt(depth)) {
+                labels[child] = keys[rangeStart].charAt(depth);
+                children[child] = build(keys, rangeStart, i, depth + 1);
+                child++;
+                rangeStart = i;
+            }
+        }
+
+        return new Node(labels, children, terminal);
+    }
+
+    private String fold(String key) {
+        if (caseSensitive) {
+            return key;
+        }
+        char[] chars = new char[key.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = CaseFolding.fold(key.charAt(i), false);
+        }
+        return new String(chars);
+    }
+}
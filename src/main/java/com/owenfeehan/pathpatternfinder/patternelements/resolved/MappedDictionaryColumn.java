@@ -0,0 +1,157 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Reads dictionary-encoded values lazily from a buffer, in the form written by {@link
+ * BinaryElementWriter}.
+ *
+ * <p>Nothing is copied from the buffer until a value is requested, when only its code and its
+ * distinct value are read. Appending a value first copies all values into a {@link
+ * DictionaryColumn}.
+ *
+ * @author Owen Feehan
+ */
+class MappedDictionaryColumn implements ValueColumn {
+
+    private final ByteBuffer buffer;
+
+    /** The number of values. */
+    private final int size;
+
+    /**
+     * The offset in {@code buffer} of where each distinct value begins, relative to {@code
+     * bytesOffset}, as an {@code int}.
+     */
+    private final int offsetsOffset;
+
+    /** The offset in {@code buffer} of the UTF-8 bytes of the distinct values. */
+    private final int bytesOffset;
+
+    /** The offset in {@code buffer} of the code for each value. */
+    private final int codesOffset;
+
+    /** The number of bytes used by each code, which is 1, 2 or 4. */
+    private final int bytesPerCode;
+
+    /**
+     * Creates for a region of a buffer.
+     *
+     * @param buffer the buffer, which is accessed only via absolute offsets.
+     * @param size the number of values.
+     * @param offsetsOffset the offset in {@code buffer} of where each distinct value begins (and
+     *     the last ends), relative to {@code bytesOffset}, as an {@code int}.
+     * @param bytesOffset the offset in {@code buffer} of the UTF-8 bytes of the distinct values.
+     * @param codesOffset the offset in {@code buffer} of the code for each value.
+     * @param bytesPerCode the number of bytes used by each code, which is 1, 2 or 4.
+     */
+    public MappedDictionaryColumn(
+            ByteBuffer buffer,
+            int size,
+            int offsetsOffset,
+            int bytesOffset,
+            int codesOffset,
+            int bytesPerCode) {
+        this.buffer = buffer;
+        this.size = size;
+        this.offsetsOffset = offsetsOffset;
+        this.bytesOffset = bytesOffset;
+        this.codesOffset = codesOffset;
+        this.bytesPerCode = bytesPerCode;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of bounds for size %d", index, size));
+        }
+        int code = code(index);
+        int start = buffer.getInt(offsetsOffset + code * Integer.BYTES);
+        int end = buffer.getInt(offsetsOffset + (code + 1) * Integer.BYTES);
+
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(bytesOffset + start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ValueColumn append(String value) {
+        return new DictionaryColumn(asList()).append(value);
+    }
+
+    @Override
+    public List<String> asList() {
+        return new AbstractList<String>() {
+
+            @Override
+            public String get(int index) {
+                return MappedDictionaryColumn.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int code(int index) {
+        return code(buffer, codesOffset, bytesPerCode, index);
+    }
+
+    /**
+     * Reads the code for a particular value.
+     *
+     * @param buffer the buffer, which is accessed only via absolute offsets.
+     * @param codesOffset the offset in {@code buffer} of the code for each value.
+     * @param bytesPerCode the number of bytes used by each code, which is 1, 2 or 4.
+     * @param index the index of the value.
+     * @return the code, which is negative only if a 4-byte code is invalid.
+     */
+    static int code(ByteBuffer buffer, int codesOffset, int bytesPerCode, int index) {
+        if (bytesPerCode == 1) {
+            return buffer.get(codesOffset + index) & 0xFF;
+        } else if (bytesPerCode == 2) {
+            return buffer.getShort(codesOffset + index * 2) & 0xFFFF;
+        } else {
+            return buffer.getInt(codesOffset + index * Integer.BYTES);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Reads integer values lazily from a buffer, in the form written by {@link BinaryElementWriter}.
+ *
+ * <p>Nothing is copied from the buffer until a value is requested. Appending a value first copies
+ * all values into an {@link IntegerColumn}.
+ *
+ * @author Owen Feehan
+ */
+class MappedIntegerColumn implements ValueColumn {
+
+    private final ByteBuffer buffer;
+
+    /** The number of values. */
+    private final int size;
+
+    /** The width common to all values, or {@link IntegerColumn#WIDTH_VARIES}. */
+    private final int width;
+
+    /** The offset in {@code buffer} of the integer for each value, as a {@code long}. */
+    private final int integersOffset;
+
+    /** The offset in {@code buffer} of the width of each value, when {@code width} varies. */
+    private final int widthsOffset;
+
+    /**
+     * Creates for a region of a buffer.
+     *
+     * @param buffer the buffer, which is accessed only via absolute offsets.
+     * @param size the number of values.
+     * @param width the width common to all values, or {@link IntegerColumn#WIDTH_VARIES}.
+     * @param integersOffset the offset in {@code buffer} of the integer for each value, as a {@code
+     *     long}.
+     * @param widthsOffset the offset in {@code buffer} of the width of each value, as a byte. This
+     *     is ignored, unless {@code width} is {@link IntegerColumn#WIDTH_VARIES}.
+     */
+    public MappedIntegerColumn(
+            ByteBuffer buffer, int size, int width, int integersOffset, int widthsOffset) {
+        this.buffer = buffer;
+        this.size = size;
+        this.width = width;
+        this.integersOffset = integersOffset;
+        this.widthsOffset = widthsOffset;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of bounds for size %d", index, size));
+        }
+        long integer = buffer.getLong(integersOffset + index * Long.BYTES);
+        if (width == IntegerColumn.WIDTH_VARIES) {
+            return IntegerColumn.format(integer, buffer.get(widthsOffset + index));
+        } else {
+            return IntegerColumn.format(integer, width);
+        }
+    }
+
+    @Override
+    public ValueColumn append(String value) {
+        return new IntegerColumn(asList()).append(value);
+    }
+
+    @Override
+    public List<String> asList() {
+        return new AbstractList<String>() {
+
+            @Override
+            public String get(int index) {
+                return MappedIntegerColumn.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * com.owenfeehan.pathpatternfinder:path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
+import org.apache.commons.io.IOCase;
+
+/**
+ * Matches a constant string.
+ *
+ * @author Owen Feehan
+ */
+class PrefixMatcher implements ElementMatcher {
+
+    /** The constant string, with each character folded, if case-insensitive. */
+    private final char[] prefix;
+
+    private final boolean caseSensitive;
+
+    /**
+     * Creates for a particular constant string.
+     *
+     * @param prefix the constant string.
+     * @param ioCase whether to be case-sensitive or not.
+     */
+    public PrefixMatcher(String prefix, IOCase ioCase) {
+        this.caseSensitive = ioCase.isCaseSensitive();
+        this.prefix = new char[prefix.length()];
+        for (int i = 0; i < this.prefix.length; i++) {
+            this.prefix[i] = CaseFolding.fold(prefix.charAt(i), caseSensitive);
+        }
+    }
+
+    @Override
+    public int matchFrom(CharSequence input, int position) {
+        if (input.length() - position < prefix.length) {
+            return -1;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (CaseFolding.fold(input.charAt(position + i), caseSensitive) != prefix[i]) {
+                return -1;
+            }
+        }
+        return position + prefix.length;
+    }
+}
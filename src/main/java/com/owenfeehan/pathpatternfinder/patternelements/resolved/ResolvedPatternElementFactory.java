@@ -28,6 +28,7 @@ package com.owenfeehan.pathpatternfinder.patternelements.resolved;
 
 import com.owenfeehan.pathpatternfinder.Pattern;
 import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -93,6 +94,19 @@ public class ResolvedPatternElementFactory {
         return new IntegerVariableElement(values);
     }
 
+    /**
+     * Creates a varying integer element from a list of views onto strings.
+     *
+     * <p>If the list is reversed, the element is created from the unreversed strings and then
+     * itself reversed, so that no characters need be copied in reverse order.
+     *
+     * @param values the strings that vary
+     * @return a newly created element
+     */
+    public static PatternElement integer(SubstringList values) {
+        return reverseIfNeeded(integer(values.materializeIgnoringReversal()), values);
+    }
+
     /**
      * Creates a varying string element of one or more strings.
      *
@@ -113,6 +127,19 @@ public class ResolvedPatternElementFactory {
         return new StringVariableElement(values);
     }
 
+    /**
+     * Creates a varying string element from a list of views onto strings.
+     *
+     * <p>If the list is reversed, the element is created from the unreversed strings and then
+     * itself reversed, so that no characters need be copied in reverse order.
+     *
+     * @param values the strings that vary
+     * @return a newly created element
+     */
+    public static PatternElement string(SubstringList values) {
+        return reverseIfNeeded(string(values.materializeIgnoringReversal()), values);
+    }
+
     /**
      * Creates an element representing a directory separator.
      *
@@ -172,4 +199,11 @@ public class ResolvedPatternElementFactory {
     public static void addDirectorySeperatorTo(Pattern pattern) {
         pattern.add(directorySeperator());
     }
+
+    private static PatternElement reverseIfNeeded(PatternElement element, SubstringList values) {
+        if (values.isReversed()) {
+            element.reverse();
+        }
+        return element;
+    }
 }
@@ -28,15 +28,13 @@ package com.owenfeehan.pathpatternfinder.patternelements.resolved;
 
 import com.owenfeehan.pathpatternfinder.describer.frequencymap.DescribeFrequencyMap;
 import com.owenfeehan.pathpatternfinder.describer.frequencymap.FrequencyMap;
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
 import com.owenfeehan.pathpatternfinder.patternelements.ExtractedElement;
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.lang3.builder.EqualsBuilder;
 
 /**
  * A varying string.
@@ -48,24 +46,41 @@ class StringVariableElement extends VariableElement {
     private static final String SEP_ALL = " | ";
     private static final String SEP_SOME = ", ";
 
-    // Lazy initialization
-    private FrequencyMap<String> freqMap;
+    private final DerivedValue<FrequencyMap<String>> frequencyMap =
+            derive(() -> new FrequencyMap<>(getValues()));
+
+    /**
+     * Tries for greedy extraction, case-sensitive and case-insensitive respectively, each
+     * containing the distinct keys in sorted order.
+     */
+    private final DerivedValue<KeyTrie> trieSensitive =
+            derive(() -> new KeyTrie(frequencyMap.get().keys(), IOCase.SENSITIVE));
+
+    private final DerivedValue<KeyTrie> trieInsensitive =
+            derive(() -> new KeyTrie(frequencyMap.get().keys(), IOCase.INSENSITIVE));
 
     public StringVariableElement(List<String> values) {
         super(values);
     }
 
+    /**
+     * Creates for a column of values.
+     *
+     * @param values the values.
+     */
+    StringVariableElement(ValueColumn values) {
+        super(values);
+    }
+
     @Override
-    public boolean equals(Object obj) { // NOSONAR
-        return EqualsBuilder.reflectionEquals(this, obj);
+    public PatternElement duplicateWithoutValues() {
+        return new StringVariableElement(new ArrayList<>());
     }
 
     @Override
     public String describe(int widthToDescribe) {
 
-        FrequencyMap<String> freq = frequencyMap();
-
-        DescribeFrequencyMap<String> df = new DescribeFrequencyMap<>(freq);
+        DescribeFrequencyMap<String> df = new DescribeFrequencyMap<>(frequencyMap.get());
 
         if (df.canDescribeAllWithin(widthToDescribe, SEP_ALL.length())) {
             return describeAll(df, widthToDescribe);
@@ -76,49 +91,26 @@ class StringVariableElement extends VariableElement {
 
     @Override
     public Optional<ExtractedElement> extractElementFrom(String str, IOCase ioCase) {
-
-        // The order is important to make sure that smaller strings are checked after their longer
-        // ones
+        // The trie always prefers the longest key that matches, so the extraction is greedy
         //  e.g.  first "going" then "go" then ""
-        // This makes it a greedy extraction rather risking the empty or smaller-string being
-        // preferred.
-        List<String> keys = reverseSortedKeys(frequencyMap().keys(), ioCase);
-
-        // Search for the first key that can be extracted
-        for (String key : keys) {
-            Optional<ExtractedElement> element =
-                    ExtractElementFrom.extractStringIfPossible(key, str, ioCase);
-            if (element.isPresent()) {
-                return element;
-            }
+        int end = trie(ioCase).matchFrom(str, 0);
+        if (end == -1) {
+            return Optional.empty();
         }
-
-        return Optional.empty();
+        return Optional.of(new ExtractedElement(str, end));
     }
 
-    // Lazy creation of the frequency-map
-    private FrequencyMap<String> frequencyMap() {
-        if (freqMap == null) {
-            return new FrequencyMap<>(getValues());
-        }
-        return freqMap;
+    @Override
+    public ElementMatcher compileMatcher(IOCase ioCase) {
+        return trie(ioCase);
     }
 
-    private static List<String> reverseSortedKeys(Set<String> keys, IOCase ioCase) {
-
-        if (!ioCase.isCaseSensitive()) {
-            // first make all keys lower-case, so that different cases don't
-            //  mess up the ordering that is key to the greedy extraction
-            keys = makeSetLowercase(keys);
+    private KeyTrie trie(IOCase ioCase) {
+        if (ioCase.isCaseSensitive()) {
+            return trieSensitive.get();
+        } else {
+            return trieInsensitive.get();
         }
-
-        List<String> list = new ArrayList<>(keys);
-        Collections.sort(list, Collections.reverseOrder());
-        return list;
-    }
-
-    private static Set<String> makeSetLowercase(Set<String> set) {
-        return set.stream().map(String::toLowerCase).collect(Collectors.toSet());
     }
 
     private static String describeAll(DescribeFrequencyMap<String> freq, int widthToDescribe) {
@@ -0,0 +1,75 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.List;
+
+/**
+ * The values of a {@link VariableElement}, one for each string from which the pattern was
+ * extracted.
+ *
+ * <p>Implementations may store the values in a more compact form than a list of strings, creating a
+ * string only when a value is requested.
+ *
+ * @author Owen Feehan
+ */
+interface ValueColumn {
+
+    /**
+     * The number of values.
+     *
+     * @return the number of values.
+     */
+    int size();
+
+    /**
+     * A particular value.
+     *
+     * @param index the index of the value.
+     * @return the value.
+     */
+    String get(int index);
+
+    /**
+     * Appends a value, after all existing values.
+     *
+     * <p>If the column cannot store the value, a different column is created, containing all
+     * existing values and the appended value.
+     *
+     * @param value the value to append.
+     * @return the column containing the appended value, which should replace this column. It is
+     *     this column, if it can store the value.
+     */
+    ValueColumn append(String value);
+
+    /**
+     * A view of the values as a list.
+     *
+     * @return an unmodifiable list, which reflects any values that are later appended.
+     */
+    List<String> asList();
+}
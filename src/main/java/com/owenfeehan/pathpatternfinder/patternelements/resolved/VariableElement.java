@@ -28,7 +28,9 @@ package com.owenfeehan.pathpatternfinder.patternelements.resolved;
 
 import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
 import com.owenfeehan.pathpatternfinder.patternelements.StringUtilities;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -43,15 +45,38 @@ public abstract class VariableElement extends ResolvedPatternElement {
      * The varying values, respectively corresponding to each string from which the pattern was
      * extracted.
      */
-    private List<String> values;
+    private ValueColumn values;
 
     /**
-     * Creates for a list of values.
+     * Whether each value in {@code values} is stored in the reverse order to how it is presented.
+     *
+     * <p>This allows the element to be reversed, without reversing every value.
+     */
+    private boolean reversed = false;
+
+    /**
+     * Values derived from {@code values}, which are discarded whenever the element is reversed or a
+     * value is appended.
+     */
+    private final List<DerivedValue<?>> derived = new ArrayList<>();
+
+    /**
+     * Creates for a list of values, which are stored via dictionary-encoding.
      *
      * @param values the varying values, respectively corresponding to each string from which the
      *     pattern was extracted.
      */
     protected VariableElement(List<String> values) {
+        this(new DictionaryColumn(values));
+    }
+
+    /**
+     * Creates for a column of values.
+     *
+     * @param values the varying values, respectively corresponding to each string from which the
+     *     pattern was extracted.
+     */
+    VariableElement(ValueColumn values) {
         this.values = values;
     }
 
@@ -62,7 +87,8 @@ public abstract class VariableElement extends ResolvedPatternElement {
 
     @Override
     public void reverse() {
-        this.values = StringUtilities.reverseStringsInList(values);
+        this.reversed = !reversed;
+        derived.forEach(DerivedValue::reset);
     }
 
     @Override
@@ -79,28 +105,91 @@ public abstract class VariableElement extends ResolvedPatternElement {
 
         VariableElement rhs = (VariableElement) obj;
 
-        return new EqualsBuilder()
-                .appendSuper(super.equals(obj))
-                .append(values, rhs.values)
-                .isEquals();
+        if (reversed == rhs.reversed) {
+            // Avoid reversing any values, when the comparison is possible without
+            return new EqualsBuilder()
+                    .appendSuper(super.equals(obj))
+                    .append(values.asList(), rhs.values.asList())
+                    .isEquals();
+        } else {
+            return new EqualsBuilder()
+                    .appendSuper(super.equals(obj))
+                    .append(getValues(), rhs.getValues())
+                    .isEquals();
+        }
     }
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(values).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(getValues()).toHashCode();
+    }
+
+    @Override
+    public void appendValue(String value) {
+        if (reversed) {
+            values = values.append(StringUtilities.reverse(value));
+        } else {
+            values = values.append(value);
+        }
+        derived.forEach(DerivedValue::reset);
     }
 
     @Override
     public String valueAt(int index) {
-        return getValues().get(index);
+        String value = values.get(index);
+        if (reversed) {
+            return StringUtilities.reverse(value);
+        } else {
+            return value;
+        }
     }
 
     /**
-     * The values that describe the variable element, identical to those passed to the constructor.
+     * Creates a value derived from the values, which is computed lazily, and then cached until the
+     * element is reversed or a value is appended.
      *
-     * @return the values.
+     * <p>This should only be called during construction of the element.
+     *
+     * @param <T> type of derived value
+     * @param supplier computes the derived value from {@link #getValues}.
+     * @return the derived value.
      */
-    protected List<String> getValues() {
+    <T> DerivedValue<T> derive(Supplier<T> supplier) {
+        DerivedValue<T> value = new DerivedValue<>(supplier);
+        derived.add(value);
+        return value;
+    }
+
+    /**
+     * The column storing the values, which are reversed, if {@link #isReversed} is true.
+     *
+     * @return the column.
+     */
+    ValueColumn column() {
         return values;
     }
+
+    /**
+     * Whether the values in {@link #column} are stored in the reverse order to how they are
+     * presented.
+     *
+     * @return true iff the element has been reversed an odd number of times.
+     */
+    boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * The values that describe the variable element, identical to those passed to the constructor,
+     * but reversed if the element has been reversed an odd number of times.
+     *
+     * @return the values, which may be a view that reflects any values that are later appended.
+     */
+    protected List<String> getValues() {
+        if (reversed) {
+            return StringUtilities.reverseStringsInList(values.asList());
+        } else {
+            return values.asList();
+        }
+    }
 }
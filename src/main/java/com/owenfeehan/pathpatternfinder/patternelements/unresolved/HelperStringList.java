@@ -27,9 +27,8 @@ package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
  */
 
 import com.owenfeehan.pathpatternfinder.Pattern;
-import com.owenfeehan.pathpatternfinder.patternelements.StringUtilities;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.trim.TrimOperation;
-import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -40,23 +39,23 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * @author Owen Feehan
  */
 class HelperStringList {
-    private List<String> list;
+    private SubstringList list;
 
-    public HelperStringList(List<String> list) {
+    public HelperStringList(SubstringList list) {
         this.list = list;
     }
 
-    public Optional<Pattern> applyOperationFromLeft(TrimOperation<String> op) {
-        return op.trim(list);
+    public Optional<Pattern> applyOperationFromLeft(TrimOperation<SubstringList> op) {
+        return trimIfPossible(op, list);
     }
 
-    public Optional<Pattern> applyOperationFromRight(TrimOperation<String> op) {
+    public Optional<Pattern> applyOperationFromRight(TrimOperation<SubstringList> op) {
 
-        // 1. Invert all the strings to be resolved
-        List<String> reversed = StringUtilities.reverseStringsInList(list);
+        // 1. View all the strings to be resolved in reverse (without copying any characters)
+        SubstringList reversed = list.reverse();
 
         // 2. Apply op
-        Optional<Pattern> pattern = op.trim(reversed);
+        Optional<Pattern> pattern = trimIfPossible(op, reversed);
 
         // Invert the pattern found
         pattern.ifPresent(Pattern::reverse);
@@ -64,7 +63,7 @@ class HelperStringList {
     }
 
     public void reverse() {
-        this.list = StringUtilities.reverseStringsInList(list);
+        this.list = list.reverse();
     }
 
     public Optional<String> firstElement() {
@@ -79,12 +78,12 @@ class HelperStringList {
         return list.size();
     }
 
-    public List<String> list() {
+    public SubstringList list() {
         return list;
     }
 
     public boolean atLeastOneNonEmptyStr() {
-        return StringUtilities.atLeastOneNonEmptyStr(list);
+        return list.atLeastOneNonEmpty();
     }
 
     @Override
@@ -106,4 +105,13 @@ class HelperStringList {
     public int hashCode() {
         return new HashCodeBuilder().append(list).toHashCode();
     }
+
+    private static Optional<Pattern> trimIfPossible(
+            TrimOperation<SubstringList> op, SubstringList list) {
+        if (op.isPossible(list)) {
+            return op.trim(list);
+        } else {
+            return Optional.empty();
+        }
+    }
 }
@@ -26,15 +26,20 @@ package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
  * #L%
  */
 
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.trim.*;
 import com.owenfeehan.pathpatternfinder.trim.constantsubstring.TrimConstantSubstring;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntSupplier;
 
 /**
  * Collates together the operations used to trim strings.
  *
+ * <p>If the factory has a {@link com.owenfeehan.pathpatternfinder.profile.ResolveListener}, each
+ * individual operation is traced.
+ *
  * @author Owen Feehan
  */
 class StringTrimmerOps {
@@ -52,13 +57,19 @@ class StringTrimmerOps {
      * @param factory for creating elements
      * @param requiresPeriod if true, a constant string will only be trimmed from the right if it
      *     includes at least one period (useful to prevent file-extensions) from being broken up.
+     * @param depth the depth of the list of strings the operation is applied to, when traced
      * @return the operation
      */
-    public static TrimOperation<String> createFirstOperation(
-            UnresolvedPatternElementFactory factory, boolean requiresPeriod) {
-        List<TrimOperation<String>> list = new ArrayList<>();
-        list.add(new TrimConstantString(factory, requiresPeriod));
-        list.add(new TrimInteger(factory));
+    public static TrimOperation<SubstringList> createFirstOperation(
+            UnresolvedPatternElementFactory factory, boolean requiresPeriod, IntSupplier depth) {
+        List<TrimOperation<SubstringList>> list = new ArrayList<>();
+        list.add(
+                traceIfNeeded(
+                        new TrimConstantString(factory, requiresPeriod),
+                        requiresPeriod ? "TrimConstantString with period" : "TrimConstantString",
+                        factory,
+                        depth));
+        list.add(traceIfNeeded(new TrimInteger(factory), "TrimInteger", factory, depth));
         return new TrimOperationOrList<>(list);
     }
 
@@ -69,13 +80,19 @@ class StringTrimmerOps {
      *
      * @param factory for creating elements
      * @param startSplitCharIndex the first index to start splitting at
+     * @param depth the depth of the list of strings the operation is applied to, when traced
      * @return the operation
      */
-    public static TrimOperation<String> createSecondOperation(
-            UnresolvedPatternElementFactory factory, int startSplitCharIndex) {
-        List<TrimOperation<String>> list = new ArrayList<>();
+    public static TrimOperation<SubstringList> createSecondOperation(
+            UnresolvedPatternElementFactory factory, int startSplitCharIndex, IntSupplier depth) {
+        List<TrimOperation<SubstringList>> list = new ArrayList<>();
         for (int i = startSplitCharIndex; i < SPLIT_CHARS.length; i++) {
-            list.add(new TrimSplitByChar(SPLIT_CHARS[i], i, factory));
+            list.add(
+                    traceIfNeeded(
+                            new TrimSplitByChar(SPLIT_CHARS[i], i, factory),
+                            String.format("TrimSplitByChar '%c'", SPLIT_CHARS[i]),
+                            factory,
+                            depth));
         }
         return new TrimOperationOrList<>(list);
     }
@@ -86,10 +103,24 @@ class StringTrimmerOps {
      * <p>This is the <i>third</i> step for a list of unresolved strings.
      *
      * @param factory for creating elements
+     * @param depth the depth of the list of strings the operation is applied to, when traced
      * @return the operation
      */
-    public static TrimOperation<String> createThirdOperation(
-            UnresolvedPatternElementFactory factory) {
-        return new TrimConstantSubstring(factory);
+    public static TrimOperation<SubstringList> createThirdOperation(
+            UnresolvedPatternElementFactory factory, IntSupplier depth) {
+        return traceIfNeeded(
+                new TrimConstantSubstring(factory), "TrimConstantSubstring", factory, depth);
+    }
+
+    private static TrimOperation<SubstringList> traceIfNeeded(
+            TrimOperation<SubstringList> operation,
+            String name,
+            UnresolvedPatternElementFactory factory,
+            IntSupplier depth) {
+        if (factory.listener().isPresent()) {
+            return new TracedTrimOperation(operation, name, factory.listener().get(), depth);
+        } else {
+            return operation;
+        }
     }
 }
@@ -0,0 +1,94 @@
+package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
+import com.owenfeehan.pathpatternfinder.profile.ResolveListener;
+import com.owenfeehan.pathpatternfinder.profile.ResolveStep;
+import com.owenfeehan.pathpatternfinder.profile.ResolveStopwatch;
+import com.owenfeehan.pathpatternfinder.trim.TrimOperation;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+/**
+ * Informs a {@link ResolveListener} each time another trim-operation is applied.
+ *
+ * <p>Checking whether the operation is possible is not reported, only attempts to trim.
+ *
+ * @author Owen Feehan
+ */
+class TracedTrimOperation implements TrimOperation<SubstringList> {
+
+    private final TrimOperation<SubstringList> operation;
+
+    private final String name;
+
+    private final ResolveListener listener;
+
+    /** The depth of the list of strings the operation is applied to. */
+    private final IntSupplier depth;
+
+    /**
+     * Creates for an operation.
+     *
+     * @param operation the operation to trace.
+     * @param name the name of the operation, as reported.
+     * @param listener the listener to inform.
+     * @param depth the depth of the list of strings the operation is applied to, which may change
+     *     after creation.
+     */
+    public TracedTrimOperation(
+            TrimOperation<SubstringList> operation,
+            String name,
+            ResolveListener listener,
+            IntSupplier depth) {
+        this.operation = operation;
+        this.name = name;
+        this.listener = listener;
+        this.depth = depth;
+    }
+
+    @Override
+    public Optional<Pattern> trim(SubstringList source) {
+        ResolveStopwatch stopwatch = ResolveStopwatch.start();
+        Optional<Pattern> pattern = operation.trim(source);
+        stopwatch.stop(
+                listener,
+                ResolveStep.Level.OPERATION,
+                name,
+                source.size(),
+                pattern.map(Pattern::size).orElse(0),
+                depth.getAsInt());
+        return pattern;
+    }
+
+    @Override
+    public boolean isPossible(SubstringList source) {
+        return operation.isPossible(source);
+    }
+}
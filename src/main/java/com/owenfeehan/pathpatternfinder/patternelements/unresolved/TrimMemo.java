@@ -0,0 +1,183 @@
+package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which steps failed to resolve a list of unresolved strings, so that they need not be
+ * tried again for an identical list.
+ *
+ * <p>During recursion, identical lists of strings can occur in different branches, e.g. when the
+ * strings either side of a split character are identical. Each step is deterministic, so a step
+ * that failed for a list fails again for an identical list, with identical options. It is then
+ * skipped, and the pattern is identical to that without the memo.
+ *
+ * <p>Only failures are remembered, not the pattern a successful step produces, as patterns are
+ * later modified while resolving, and so cannot be shared.
+ *
+ * <p>A step is identified by a hash of the characters in the list, the kind of step, and the only
+ * option affecting the step (whether a period is required when trimming from the right, and the
+ * index of the first split character, from the {@link Skipper}). The list is then compared in full,
+ * which is cheap compared to the step it may avoid. The least-recently used entries are discarded
+ * when the maximum number is exceeded.
+ *
+ * <p>It is safe to use from several threads concurrently, e.g. when resolving in parallel.
+ *
+ * @author Owen Feehan
+ */
+public class TrimMemo {
+
+    /** Identifies a step applied to a list of strings, together with any option affecting it. */
+    static final class Key {
+
+        private final SubstringList list;
+        private final UnresolvedStringList.Step step;
+        private final int option;
+        private final boolean caseSensitive;
+        private final int hash;
+
+        /**
+         * Creates for a step applied to a list.
+         *
+         * @param list the list of strings to resolve.
+         * @param listHash the hash-code of {@code list}, which is computed only once for all steps.
+         * @param step the step.
+         * @param option the only option affecting the step, or zero if none does.
+         * @param caseSensitive whether strings are compared case-sensitively.
+         */
+        Key(
+                SubstringList list,
+                int listHash,
+                UnresolvedStringList.Step step,
+                int option,
+                boolean caseSensitive) {
+            this.list = list;
+            this.step = step;
+            this.option = option;
+            this.caseSensitive = caseSensitive;
+            this.hash =
+                    31 * (31 * (31 * listHash + step.ordinal()) + option) + (caseSensitive ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key rhs = (Key) obj;
+            return hash == rhs.hash
+                    && step == rhs.step
+                    && option == rhs.option
+                    && caseSensitive == rhs.caseSensitive
+                    && list.equals(rhs.list);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** The steps that failed, in order of least-recent use. The values are unused. */
+    private final Map<Key, Boolean> failed;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates with a maximum number of entries.
+     *
+     * @param maxEntries the maximum number of failed steps that are remembered.
+     */
+    public TrimMemo(int maxEntries) {
+        this.failed =
+                new LinkedHashMap<Key, Boolean>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+    }
+
+    /**
+     * The number of steps that were skipped, as they were remembered to fail.
+     *
+     * @return the number of hits.
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * The number of steps that were applied, as they were not remembered to fail.
+     *
+     * @return the number of misses.
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Is a step remembered to fail?
+     *
+     * @param key identifies the step and list.
+     * @return true iff the step previously failed for an identical list.
+     */
+    boolean isKnownToFail(Key key) {
+        boolean known;
+        synchronized (failed) {
+            known = failed.get(key) != null;
+        }
+        if (known) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return known;
+    }
+
+    /**
+     * Remembers that a step failed.
+     *
+     * @param key identifies the step and list.
+     */
+    void recordFailure(Key key) {
+        synchronized (failed) {
+            failed.put(key, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.commonpath.PathTrie;
+import com.owenfeehan.pathpatternfinder.commonpath.PathTrieNode;
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * A {@link PatternElement} that has yet to be resolved with the paths in a {@link PathTrie}.
+ *
+ * <p>Any common root is found by descending the trie, while only a single child exists, without
+ * considering each path individually.
+ *
+ * <p>Beneath the common root, if every path has the same number of elements, each level of the trie
+ * (i.e. each directory, and then the file-name) is resolved separately as a list of strings, and
+ * separated by a directory-separator. Otherwise, the remainder of each path is resolved as a single
+ * string, like {@link UnresolvedPathList}.
+ *
+ * <p>The values of each element occur in the order the paths are found in the trie, which groups
+ * together paths with a common directory.
+ *
+ * @author Owen Feehan
+ */
+class UnresolvedPathTrie extends UnresolvedPatternElement {
+
+    private PathTrie trie;
+    private UnresolvedPatternElementFactory factory;
+    private boolean avoidExtensionSplit;
+
+    /**
+     * Constructor
+     *
+     * @param trie the paths that are yet to be resolved
+     * @param factory factory for creating unresolved elements
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     */
+    public UnresolvedPathTrie(
+            PathTrie trie, UnresolvedPatternElementFactory factory, boolean avoidExtensionSplit) {
+        this.trie = trie;
+        this.factory = factory;
+        this.avoidExtensionSplit = avoidExtensionSplit;
+    }
+
+    @Override
+    public Optional<Pattern> resolve() {
+        Pattern pattern = new Pattern();
+
+        // Descend while there is only a single child, each of which is common to all paths
+        PathTrieNode node = trie.root();
+        boolean first = true;
+        while (node.numberChildren() == 1) {
+            PathTrieNode child = node.children().iterator().next();
+            if (child.hasChildren() && child.numberEnding() > 0) {
+                // A path ends at a directory of other paths, so it is left in the remainder
+                break;
+            }
+            addCommonElementTo(child.element(), first, child.hasChildren(), pattern);
+            node = child;
+            first = false;
+        }
+
+        if (node.hasChildren()) {
+            addRemainderTo(node, pattern);
+        }
+        return Optional.of(pattern);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public void reverse() {
+        // This operation is not currently supported
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String describe(int widthToDescribe) {
+        return String.format("unresolved path-trie with %d elements", trie.numberPaths());
+    }
+
+    /**
+     * Adds an element common to all paths.
+     *
+     * <p>A directory separator is only added as an element if it's the very first element,
+     * otherwise one is already present after the previous element.
+     */
+    private static void addCommonElementTo(
+            String element, boolean first, boolean directory, Pattern pattern) {
+        if (!directory) {
+            ResolvedPatternElementFactory.addConstantTo(element, pattern);
+        } else if (first || !element.equals(File.separator)) {
+            ResolvedPatternElementFactory.addConstantAndDirectoryTo(element, pattern);
+        }
+    }
+
+    /** Adds unresolved elements for the remainder of the paths beneath a node. */
+    private void addRemainderTo(PathTrieNode node, Pattern pattern) {
+        int depth = node.uniformDepth();
+        if (depth > 0) {
+            List<List<String>> levels = new ArrayList<>(depth);
+            for (int i = 0; i < depth; i++) {
+                levels.add(new ArrayList<>(node.numberPaths()));
+            }
+
+            forEachPath(
+                    node,
+                    new ArrayList<>(depth),
+                    elements -> {
+                        for (int i = 0; i < depth; i++) {
+                            levels.get(i).add(elements.get(i));
+                        }
+                    });
+
+            for (int i = 0; i < depth; i++) {
+                if (i != 0) {
+                    ResolvedPatternElementFactory.addDirectorySeperatorTo(pattern);
+                }
+                // Only the final level contains file-names, and therefore file-extensions
+                boolean fileNames = i == depth - 1;
+                factory.addUnresolvedStringsTo(
+                        levels.get(i), pattern, fileNames && requiresPeriod(levels.get(i)));
+            }
+        } else {
+            List<String> strings = new ArrayList<>(node.numberPaths());
+            forEachPath(node, new ArrayList<>(), elements -> strings.add(join(elements)));
+            factory.addUnresolvedStringsTo(strings, pattern, requiresPeriod(strings));
+        }
+    }
+
+    /**
+     * Calls {@code consumer} for every path beneath a node, in the order they are found in the
+     * trie.
+     *
+     * @param node the node.
+     * @param elements the elements of the path beneath {@code node}, which are temporarily appended
+     *     to while descending.
+     * @param consumer called with the elements of each path beneath {@code node}. The list is
+     *     reused after the call.
+     */
+    private static void forEachPath(
+            PathTrieNode node, List<String> elements, Consumer<List<String>> consumer) {
+        for (PathTrieNode child : node.children()) {
+            elements.add(child.element());
+            for (int i = 0; i < child.numberEnding(); i++) {
+                consumer.accept(elements);
+            }
+            forEachPath(child, elements, consumer);
+            elements.remove(elements.size() - 1);
+        }
+    }
+
+    /** Joins elements into a single string, with a directory separator between each. */
+    private static String join(List<String> elements) {
+        StringBuilder builder = new StringBuilder();
+        for (String element : elements) {
+            // A root may already end with a separator, or itself be a separator
+            if (builder.length() > 0
+                    && builder.charAt(builder.length() - 1) != File.separatorChar
+                    && !element.equals(File.separator)) {
+                builder.append(File.separatorChar);
+            }
+            builder.append(element);
+        }
+        return builder.toString();
+    }
+
+    /** Does at least one file extension exist, if extensions should not be split? */
+    private boolean requiresPeriod(List<String> strings) {
+        return avoidExtensionSplit && strings.stream().anyMatch(string -> string.contains("."));
+    }
+}
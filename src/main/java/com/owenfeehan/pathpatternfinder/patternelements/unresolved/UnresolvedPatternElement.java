@@ -26,6 +26,8 @@ package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
  * #L%
  */
 
+import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.ElementMatcher;
 import com.owenfeehan.pathpatternfinder.patternelements.ExtractedElement;
 import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
 import java.util.Optional;
@@ -38,6 +40,12 @@ import org.apache.commons.io.IOCase;
  */
 abstract class UnresolvedPatternElement extends PatternElement {
 
+    /**
+     * How many lists of strings were resolved to produce this element, which is only tracked when a
+     * {@link com.owenfeehan.pathpatternfinder.profile.ResolveListener} is used.
+     */
+    private int depth = 0;
+
     @Override
     public boolean isResolved() {
         return false;
@@ -54,9 +62,50 @@ abstract class UnresolvedPatternElement extends PatternElement {
                 "extractElementFrom operation is usupported un unresolved path elements");
     }
 
+    @Override
+    public ElementMatcher compileMatcher(IOCase ioCase) {
+        throw new IllegalStateException(
+                "This method should not be called on an unresolved pattern element.");
+    }
+
+    @Override
+    public void appendValue(String value) {
+        throw new IllegalStateException(
+                "This method should not be called on an unresolved pattern element.");
+    }
+
+    @Override
+    public PatternElement duplicateWithoutValues() {
+        throw new IllegalStateException(
+                "This method should not be called on an unresolved pattern element.");
+    }
+
     @Override
     public String valueAt(int index) {
         throw new IllegalStateException(
                 "This method should not be called on an unresolved pattern element.");
     }
+
+    /**
+     * How many lists of strings were resolved to produce this element.
+     *
+     * @return the depth, which is zero for an element that existed before resolving began.
+     */
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * Assigns a depth, one greater than this element's, to each unresolved element in a pattern
+     * this element was resolved into.
+     *
+     * @param resolved the pattern this element was resolved into.
+     */
+    void deepen(Pattern resolved) {
+        for (PatternElement element : resolved) {
+            if (element instanceof UnresolvedPatternElement) {
+                ((UnresolvedPatternElement) element).depth = depth + 1;
+            }
+        }
+    }
 }
@@ -28,10 +28,13 @@ package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
 
 import com.owenfeehan.pathpatternfinder.CasedStringComparer;
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.commonpath.PathTrie;
 import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
-import com.owenfeehan.pathpatternfinder.patternelements.StringUtilities;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
+import com.owenfeehan.pathpatternfinder.profile.ResolveListener;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import org.apache.commons.io.IOCase;
 
 /**
@@ -44,13 +47,48 @@ public class UnresolvedPatternElementFactory {
 
     private CasedStringComparer comparer;
 
+    private Optional<TrimMemo> memo;
+
+    private Optional<ResolveListener> listener;
+
     /**
      * Creates with a particular case-sensitivity.
      *
      * @param ioCase specifies the case-sensitivity to use when comparing strings.
      */
     public UnresolvedPatternElementFactory(IOCase ioCase) {
+        this(ioCase, Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Creates with a particular case-sensitivity, and a memo shared by every list of unresolved
+     * strings.
+     *
+     * @param ioCase specifies the case-sensitivity to use when comparing strings.
+     * @param memo remembers which steps failed for each list of strings, to avoid repeating them
+     *     for identical lists.
+     */
+    public UnresolvedPatternElementFactory(IOCase ioCase, TrimMemo memo) {
+        this(ioCase, Optional.of(memo), Optional.empty());
+    }
+
+    /**
+     * Creates with a particular case-sensitivity, and a listener informed of each step when
+     * resolving.
+     *
+     * @param ioCase specifies the case-sensitivity to use when comparing strings.
+     * @param listener informed of each step when resolving a list of strings, and of each
+     *     trim-operation applied to it.
+     */
+    public UnresolvedPatternElementFactory(IOCase ioCase, ResolveListener listener) {
+        this(ioCase, Optional.empty(), Optional.of(listener));
+    }
+
+    private UnresolvedPatternElementFactory(
+            IOCase ioCase, Optional<TrimMemo> memo, Optional<ResolveListener> listener) {
         this.comparer = new CasedStringComparer(ioCase);
+        this.memo = memo;
+        this.listener = listener;
     }
 
     /**
@@ -62,6 +100,24 @@ public class UnresolvedPatternElementFactory {
         return comparer;
     }
 
+    /**
+     * The memo shared by every list of unresolved strings, if any.
+     *
+     * @return the memo, or {@link Optional#empty} if none is used.
+     */
+    public Optional<TrimMemo> memo() {
+        return memo;
+    }
+
+    /**
+     * The listener informed of each step when resolving, if any.
+     *
+     * @return the listener, or {@link Optional#empty} if none is used.
+     */
+    public Optional<ResolveListener> listener() {
+        return listener;
+    }
+
     /**
      * Creates a {@link Pattern} with a single-unresolved-string as element
      *
@@ -71,6 +127,18 @@ public class UnresolvedPatternElementFactory {
      * @return the newly created pattern
      */
     public Pattern createUnresolvedString(List<String> list, boolean requiresPeriod) {
+        return createUnresolvedString(new SubstringList(list), requiresPeriod);
+    }
+
+    /**
+     * Creates a {@link Pattern} with a single-unresolved-string as element
+     *
+     * @param list input-list
+     * @param requiresPeriod if true, a constant string will only be trimmed from the right if it
+     *     includes at
+     * @return the newly created pattern
+     */
+    public Pattern createUnresolvedString(SubstringList list, boolean requiresPeriod) {
         Pattern pattern = new Pattern();
         addUnresolvedStringsTo(list, pattern, requiresPeriod);
         return pattern;
@@ -86,10 +154,10 @@ public class UnresolvedPatternElementFactory {
      * @return the newly created pattern
      */
     public Pattern createUnresolvedString(
-            List<PatternElement> left, List<String> right, boolean requiresPeriod) {
+            List<PatternElement> left, SubstringList right, boolean requiresPeriod) {
         Pattern pattern = new Pattern();
         left.forEach(pattern::add);
-        if (StringUtilities.atLeastOneNonEmptyStr(right)) {
+        if (right.atLeastOneNonEmpty()) {
             addUnresolvedStringsTo(right, pattern, requiresPeriod);
         }
         return pattern;
@@ -105,10 +173,10 @@ public class UnresolvedPatternElementFactory {
      * @return the newly created pattern
      */
     public Pattern createUnresolvedString(
-            PatternElement left, List<String> right, boolean requiresPeriod) {
+            PatternElement left, SubstringList right, boolean requiresPeriod) {
         Pattern pattern = new Pattern();
         pattern.add(left);
-        if (StringUtilities.atLeastOneNonEmptyStr(right)) {
+        if (right.atLeastOneNonEmpty()) {
             addUnresolvedStringsTo(right, pattern, requiresPeriod);
         }
         return pattern;
@@ -127,6 +195,18 @@ public class UnresolvedPatternElementFactory {
         pattern.add(new UnresolvedPathList(list, this, avoidExtensionSplit));
     }
 
+    /**
+     * Adds unresolved-paths, as a trie, to the pattern
+     *
+     * @param trie paths to add
+     * @param pattern pattern to add them to
+     * @param avoidExtensionSplit if true, splits will be avoided in file extensions in the paths
+     *     (defined as anything after the right-most period)
+     */
+    public void addUnresolvedTrieTo(PathTrie trie, Pattern pattern, boolean avoidExtensionSplit) {
+        pattern.add(new UnresolvedPathTrie(trie, this, avoidExtensionSplit));
+    }
+
     /**
      * Adds unresolved-strings to the pattern
      *
@@ -136,6 +216,19 @@ public class UnresolvedPatternElementFactory {
      *     includes at least one period (useful to prevent file-extensions) from being broken up.
      */
     public void addUnresolvedStringsTo(List<String> list, Pattern pattern, boolean requiresPeriod) {
+        addUnresolvedStringsTo(new SubstringList(list), pattern, requiresPeriod);
+    }
+
+    /**
+     * Adds unresolved-strings to the pattern
+     *
+     * @param list strings to add
+     * @param pattern pattern to add them to
+     * @param requiresPeriod if true, a constant string will only be trimmed from the right if it
+     *     includes at least one period (useful to prevent file-extensions) from being broken up.
+     */
+    public void addUnresolvedStringsTo(
+            SubstringList list, Pattern pattern, boolean requiresPeriod) {
         pattern.add(new UnresolvedStringList(list, this, requiresPeriod));
     }
 
@@ -150,7 +243,7 @@ public class UnresolvedPatternElementFactory {
      * @param skipper which types of operations to skip
      */
     public void addUnresolvedStringsTo(
-            List<String> list, Pattern pattern, boolean requiresPeriod, Skipper skipper) {
+            SubstringList list, Pattern pattern, boolean requiresPeriod, Skipper skipper) {
         pattern.add(new UnresolvedStringList(list, this, requiresPeriod, skipper));
     }
 }
@@ -27,9 +27,12 @@ package com.owenfeehan.pathpatternfinder.patternelements.unresolved;
  */
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
+import com.owenfeehan.pathpatternfinder.profile.ResolveListener;
+import com.owenfeehan.pathpatternfinder.profile.ResolveStep;
+import com.owenfeehan.pathpatternfinder.profile.ResolveStopwatch;
 import com.owenfeehan.pathpatternfinder.trim.*;
-import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -41,23 +44,53 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 class UnresolvedStringList extends UnresolvedPatternElement {
 
+    /** The steps tried in order to resolve the list, until one produces a pattern. */
+    enum Step {
+        /** Trims a constant or integer from the left. */
+        LEFT,
+
+        /** Trims a constant or integer from the right. */
+        RIGHT,
+
+        /** Splits by a special character. */
+        SPLIT,
+
+        /** Splits by a common sub-string. */
+        SUBSTRING,
+
+        /** Creates a single element from all strings, which always succeeds. */
+        STRINGS
+    }
+
     private HelperStringList list;
 
     /** First op tried for trimming from the left. */
-    private TrimOperation<String> firstOpLeft;
+    private TrimOperation<SubstringList> firstOpLeft;
 
     /** First op tried for trimming from the right. */
-    private TrimOperation<String> firstOpRight;
+    private TrimOperation<SubstringList> firstOpRight;
 
     /** Second op tried for splitting (direction irrelevant) */
-    private TrimOperation<String> secondOp;
+    private TrimOperation<SubstringList> secondOp;
 
     /** Third op tried. */
-    private TrimOperation<String> thirdOp;
+    private TrimOperation<SubstringList> thirdOp;
 
     /** Skips certain kind of resolves operations if it is known a priori that they are unneeded. */
     private Skipper skipper;
 
+    /** If true, a constant string will only be trimmed from the right if it includes a period. */
+    private boolean requiresPeriod;
+
+    /** Whether strings are compared case-sensitively. */
+    private boolean caseSensitive;
+
+    /** If defined, remembers which steps failed for identical lists. */
+    private Optional<TrimMemo> memo;
+
+    /** If defined, informed of each step when resolving. */
+    private Optional<ResolveListener> listener;
+
     /**
      * Creates for a list of strings - without a {@link Skipper}.
      *
@@ -67,7 +100,7 @@ class UnresolvedStringList extends UnresolvedPatternElement {
      *     includes at least one period (useful to prevent file-extensions) from being broken up.
      */
     public UnresolvedStringList(
-            List<String> list, UnresolvedPatternElementFactory factory, boolean requiresPeriod) {
+            SubstringList list, UnresolvedPatternElementFactory factory, boolean requiresPeriod) {
         this(list, factory, requiresPeriod, new Skipper());
     }
 
@@ -82,55 +115,55 @@ class UnresolvedStringList extends UnresolvedPatternElement {
      *     are unneeded.
      */
     public UnresolvedStringList(
-            List<String> list,
+            SubstringList list,
             UnresolvedPatternElementFactory factory,
             boolean requiresPeriod,
             Skipper skipper) {
         this.list = new HelperStringList(list);
         assert (this.list.atLeastOneNonEmptyStr());
-        this.firstOpLeft = StringTrimmerOps.createFirstOperation(factory, false);
-        this.firstOpRight = StringTrimmerOps.createFirstOperation(factory, requiresPeriod);
+        this.firstOpLeft = StringTrimmerOps.createFirstOperation(factory, false, this::depth);
+        this.firstOpRight =
+                StringTrimmerOps.createFirstOperation(factory, requiresPeriod, this::depth);
         this.secondOp =
-                StringTrimmerOps.createSecondOperation(factory, skipper.getStartSplitCharIndex());
-        this.thirdOp = StringTrimmerOps.createThirdOperation(factory);
+                StringTrimmerOps.createSecondOperation(
+                        factory, skipper.getStartSplitCharIndex(), this::depth);
+        this.thirdOp = StringTrimmerOps.createThirdOperation(factory, this::depth);
         this.skipper = skipper;
+        this.requiresPeriod = requiresPeriod;
+        this.caseSensitive = factory.stringComparer().isCaseSensitive();
+        this.memo = factory.memo();
+        this.listener = factory.listener();
     }
 
     @Override
     public Optional<Pattern> resolve() {
+        Optional<ResolveStopwatch> stopwatch = listener.map(value -> ResolveStopwatch.start());
 
-        if (skipper.includeLeftResolve()) {
-            Optional<Pattern> patternLeft = list.applyOperationFromLeft(firstOpLeft);
+        // Computed only once, as it is needed to identify every step in the memo
+        int listHash = memo.isPresent() ? list.list().hashCode() : 0;
 
-            if (patternLeft.isPresent()) {
-                return patternLeft;
+        for (Step step : Step.values()) {
+            if (isIncluded(step)) {
+                Optional<Pattern> pattern = applyStepUnlessKnownToFail(step, listHash);
+                if (pattern.isPresent()) {
+                    if (stopwatch.isPresent()) {
+                        deepen(pattern.get());
+                        stopwatch
+                                .get()
+                                .stop(
+                                        listener.get(),
+                                        ResolveStep.Level.ELEMENT,
+                                        "UnresolvedStringList via " + step,
+                                        list.size(),
+                                        pattern.get().size(),
+                                        depth());
+                    }
+                    return pattern;
+                }
             }
         }
-
-        if (skipper.includeRightResolve()) {
-            Optional<Pattern> patternRight = list.applyOperationFromRight(firstOpRight);
-
-            if (patternRight.isPresent()) {
-                return patternRight;
-            }
-        }
-
-        // We attempt to split by various special characters
-        Optional<Pattern> patternSplit = list.applyOperationFromLeft(secondOp);
-
-        if (patternSplit.isPresent()) {
-            return patternSplit;
-        }
-
-        // We attempt to split by common sub-strings
-        Optional<Pattern> patternThird = list.applyOperationFromLeft(thirdOp);
-
-        if (patternThird.isPresent()) {
-            return patternThird;
-        }
-
-        // Nothing more we can do, so we convert into a StringSetElement
-        return Optional.of(new Pattern(ResolvedPatternElementFactory.string(list.list())));
+        // Unreachable, as the last step always produces a pattern
+        return Optional.empty();
     }
 
     @Override
@@ -174,6 +207,70 @@ class UnresolvedStringList extends UnresolvedPatternElement {
                 "unresolved strings with %d elements%s", list.size(), describeFirstElement());
     }
 
+    /** Whether a step should be tried at all, as determined by the {@link Skipper}. */
+    private boolean isIncluded(Step step) {
+        switch (step) {
+            case LEFT:
+                return skipper.includeLeftResolve();
+            case RIGHT:
+                return skipper.includeRightResolve();
+            default:
+                return true;
+        }
+    }
+
+    /** Applies a step, unless the memo remembers that it fails for an identical list. */
+    private Optional<Pattern> applyStepUnlessKnownToFail(Step step, int listHash) {
+        if (!memo.isPresent() || step == Step.STRINGS) {
+            return applyStep(step);
+        }
+
+        TrimMemo.Key key =
+                new TrimMemo.Key(list.list(), listHash, step, option(step), caseSensitive);
+        if (memo.get().isKnownToFail(key)) {
+            return Optional.empty();
+        }
+        Optional<Pattern> pattern = applyStep(step);
+        if (!pattern.isPresent()) {
+            memo.get().recordFailure(key);
+        }
+        return pattern;
+    }
+
+    /** The only option that affects a step, other than the list and case-sensitivity. */
+    private int option(Step step) {
+        switch (step) {
+            case RIGHT:
+                return requiresPeriod ? 1 : 0;
+            case SPLIT:
+                return skipper.getStartSplitCharIndex();
+            default:
+                return 0;
+        }
+    }
+
+    private Optional<Pattern> applyStep(Step step) {
+        switch (step) {
+            case LEFT:
+                return list.applyOperationFromLeft(firstOpLeft);
+
+            case RIGHT:
+                return list.applyOperationFromRight(firstOpRight);
+
+            case SPLIT:
+                // We attempt to split by various special characters
+                return list.applyOperationFromLeft(secondOp);
+
+            case SUBSTRING:
+                // We attempt to split by common sub-strings
+                return list.applyOperationFromLeft(thirdOp);
+
+            default:
+                // Nothing more we can do, so we convert into a StringSetElement
+                return Optional.of(new Pattern(ResolvedPatternElementFactory.string(list.list())));
+        }
+    }
+
     private String describeFirstElement() {
         if (list.size() > 0) {
             // If there's at least 1 item
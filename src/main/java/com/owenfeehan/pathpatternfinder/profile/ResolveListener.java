@@ -0,0 +1,50 @@
+package com.owenfeehan.pathpatternfinder.profile;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * Is informed of each step that occurs while resolving a pattern.
+ *
+ * <p>Steps are nested: a {@link ResolveStep.Level#PATTERN} step includes the {@link
+ * ResolveStep.Level#ELEMENT} steps that occur within it, which in turn include {@link
+ * ResolveStep.Level#OPERATION} steps.
+ *
+ * <p>When a pattern is resolved concurrently, steps may be reported from several threads at once,
+ * so implementations must be thread-safe.
+ *
+ * @author Owen Feehan
+ */
+@FunctionalInterface
+public interface ResolveListener {
+
+    /**
+     * Called after each step has completed, whether or not it succeeded.
+     *
+     * @param step the step.
+     */
+    void stepCompleted(ResolveStep step);
+}
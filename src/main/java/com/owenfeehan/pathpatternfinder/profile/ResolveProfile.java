@@ -0,0 +1,193 @@
+package com.owenfeehan.pathpatternfinder.profile;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aggregates the steps that occur while resolving, by level and operation, to describe where time
+ * and memory are spent.
+ *
+ * <p>For each operation, it totals the number of times it was applied, how often it succeeded, the
+ * strings in and elements out, the time and bytes allocated, and the maximum depth.
+ *
+ * <p>As steps are nested, the time of a {@link ResolveStep.Level#PATTERN} or {@link
+ * ResolveStep.Level#ELEMENT} step includes the time of the steps within it.
+ *
+ * <p>It is thread-safe.
+ *
+ * @author Owen Feehan
+ */
+public class ResolveProfile implements ResolveListener {
+
+    /** The totals for a particular operation at a particular level. */
+    private static class Row {
+        private final ResolveStep.Level level;
+        private final String operation;
+        private long count;
+        private long succeeded;
+        private long sizeIn;
+        private long sizeOut;
+        private long nanos;
+        private long bytesAllocated;
+        private int maxDepth;
+
+        public Row(ResolveStep.Level level, String operation) {
+            this.level = level;
+            this.operation = operation;
+        }
+
+        public void add(ResolveStep step) {
+            count++;
+            if (step.succeeded()) {
+                succeeded++;
+            }
+            sizeIn += step.sizeIn();
+            sizeOut += step.sizeOut();
+            nanos += step.nanos();
+            if (step.bytesAllocated() == -1 || bytesAllocated == -1) {
+                bytesAllocated = -1;
+            } else {
+                bytesAllocated += step.bytesAllocated();
+            }
+            maxDepth = Math.max(maxDepth, step.depth());
+        }
+    }
+
+    /** The rows, keyed by level and operation, in order of first occurrence. */
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void stepCompleted(ResolveStep step) {
+        rows.computeIfAbsent(
+                        step.level() + ":" + step.operation(),
+                        key -> new Row(step.level(), step.operation()))
+                .add(step);
+    }
+
+    /**
+     * Describes the totals as a table, with a row for each operation.
+     *
+     * <p>Rows are ordered by level, and then by decreasing total time.
+     *
+     * @return a multi-line description, with columns aligned.
+     */
+    public synchronized String toTable() {
+        StringBuilder builder = new StringBuilder();
+        String format = "%-9s %-32s %9s %9s %12s %12s %12s %14s %5s%n";
+        builder.append(
+                String.format(
+                        format,
+                        "level",
+                        "operation",
+                        "count",
+                        "succeeded",
+                        "strings in",
+                        "elements out",
+                        "millis",
+                        "bytes",
+                        "depth"));
+        for (Row row : sortedRows()) {
+            builder.append(
+                    String.format(
+                            format,
+                            row.level.name().toLowerCase(Locale.ROOT),
+                            row.operation,
+                            row.count,
+                            row.succeeded,
+                            row.sizeIn,
+                            row.sizeOut,
+                            String.format("%.3f", row.nanos / 1e6),
+                            row.bytesAllocated != -1 ? Long.toString(row.bytesAllocated) : "?",
+                            row.maxDepth));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Describes the totals as JSON, an array with an object for each operation.
+     *
+     * <p>Objects are ordered as in {@link #toTable}. Bytes allocated are {@code null} if unknown.
+     *
+     * @return the JSON.
+     */
+    public synchronized String toJson() {
+        StringBuilder builder = new StringBuilder("[");
+        List<Row> sorted = sortedRows();
+        for (int i = 0; i < sorted.size(); i++) {
+            Row row = sorted.get(i);
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(
+                    String.format(
+                            "%n  {\"level\": \"%s\", \"operation\": \"%s\", \"count\": %d, \"succeeded\": %d, \"stringsIn\": %d, \"elementsOut\": %d, \"nanos\": %d, \"bytesAllocated\": %s, \"maxDepth\": %d}",
+                            row.level.name().toLowerCase(Locale.ROOT),
+                            escapeJson(row.operation),
+                            row.count,
+                            row.succeeded,
+                            row.sizeIn,
+                            row.sizeOut,
+                            row.nanos,
+                            row.bytesAllocated != -1 ? Long.toString(row.bytesAllocated) : "null",
+                            row.maxDepth));
+        }
+        if (!sorted.isEmpty()) {
+            builder.append(String.format("%n"));
+        }
+        return builder.append(']').toString();
+    }
+
+    private List<Row> sortedRows() {
+        List<Row> sorted = new ArrayList<>(rows.values());
+        sorted.sort(
+                Comparator.comparing((Row row) -> row.level)
+                        .thenComparing(row -> row.nanos, Comparator.reverseOrder()));
+        return sorted;
+    }
+
+    /** Escapes the characters that cannot occur unescaped in a JSON string. */
+    private static String escapeJson(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\') {
+                builder.append('\\').append(character);
+            } else if (character < 0x20) {
+                builder.append(String.format("\\u%04x", (int) character));
+            } else {
+                builder.append(character);
+            }
+        }
+        return builder.toString();
+    }
+}
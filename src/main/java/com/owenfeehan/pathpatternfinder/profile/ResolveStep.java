@@ -0,0 +1,160 @@
+package com.owenfeehan.pathpatternfinder.profile;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * A single step that occurred while resolving a pattern, and what it cost.
+ *
+ * @author Owen Feehan
+ */
+public final class ResolveStep {
+
+    /** The level at which a step occurs. */
+    public enum Level {
+        /** Resolving an entire pattern, via {@link com.owenfeehan.pathpatternfinder.Pattern}. */
+        PATTERN,
+
+        /** Resolving a single unresolved element, e.g. a list of strings. */
+        ELEMENT,
+
+        /** Applying a single trim-operation to a list of strings. */
+        OPERATION
+    }
+
+    private final Level level;
+    private final String operation;
+    private final int sizeIn;
+    private final int sizeOut;
+    private final long nanos;
+    private final long bytesAllocated;
+    private final int depth;
+
+    /**
+     * Creates for a step.
+     *
+     * @param level the level at which the step occurred.
+     * @param operation a name for what the step did, e.g. the trim-operation that was applied.
+     * @param sizeIn the number of strings (or elements for {@link Level#PATTERN}) before the step.
+     * @param sizeOut the number of elements produced by the step, or zero if it did not succeed.
+     * @param nanos the time the step took, in nanoseconds.
+     * @param bytesAllocated the number of bytes allocated by the current thread during the step, or
+     *     -1 if unknown.
+     * @param depth how many lists of strings were resolved to produce the element the step applies
+     *     to, or zero for an element that existed before resolving began.
+     */
+    public ResolveStep(
+            Level level,
+            String operation,
+            int sizeIn,
+            int sizeOut,
+            long nanos,
+            long bytesAllocated,
+            int depth) {
+        this.level = level;
+        this.operation = operation;
+        this.sizeIn = sizeIn;
+        this.sizeOut = sizeOut;
+        this.nanos = nanos;
+        this.bytesAllocated = bytesAllocated;
+        this.depth = depth;
+    }
+
+    /**
+     * The level at which the step occurred.
+     *
+     * @return the level.
+     */
+    public Level level() {
+        return level;
+    }
+
+    /**
+     * A name for what the step did.
+     *
+     * @return the name.
+     */
+    public String operation() {
+        return operation;
+    }
+
+    /**
+     * The number of strings (or elements for {@link Level#PATTERN}) before the step.
+     *
+     * @return the number.
+     */
+    public int sizeIn() {
+        return sizeIn;
+    }
+
+    /**
+     * The number of elements produced by the step.
+     *
+     * @return the number, or zero if the step did not succeed.
+     */
+    public int sizeOut() {
+        return sizeOut;
+    }
+
+    /**
+     * Did the step produce a pattern?
+     *
+     * @return true iff at least one element was produced.
+     */
+    public boolean succeeded() {
+        return sizeOut > 0;
+    }
+
+    /**
+     * The time the step took.
+     *
+     * @return the time, in nanoseconds.
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * The number of bytes allocated by the current thread during the step.
+     *
+     * <p>Bytes allocated by other threads, e.g. when evaluating a large list in parallel, are not
+     * included.
+     *
+     * @return the number of bytes, or -1 if unknown.
+     */
+    public long bytesAllocated() {
+        return bytesAllocated;
+    }
+
+    /**
+     * How many lists of strings were resolved to produce the element the step applies to.
+     *
+     * @return the depth, which is zero for an element that existed before resolving began.
+     */
+    public int depth() {
+        return depth;
+    }
+}
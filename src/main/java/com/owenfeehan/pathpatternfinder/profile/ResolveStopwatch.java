@@ -0,0 +1,105 @@
+package com.owenfeehan.pathpatternfinder.profile;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the time and memory spent on a step, from when it is started until it is stopped.
+ *
+ * <p>Memory is measured as the bytes allocated by the current thread, via {@link
+ * com.sun.management.ThreadMXBean}, when the JVM supports it. It must therefore be stopped on the
+ * same thread that started it.
+ *
+ * @author Owen Feehan
+ */
+public final class ResolveStopwatch {
+
+    /** Reports allocated bytes, or null if unsupported by the JVM. */
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+    private final long startNanos;
+
+    private final long startBytes;
+
+    private ResolveStopwatch() {
+        this.startBytes = allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring a step.
+     *
+     * @return a newly created stopwatch.
+     */
+    public static ResolveStopwatch start() {
+        return new ResolveStopwatch();
+    }
+
+    /**
+     * Stops measuring a step, and informs a listener.
+     *
+     * @param listener the listener to inform.
+     * @param level the level at which the step occurred.
+     * @param operation a name for what the step did.
+     * @param sizeIn the number of strings (or elements) before the step.
+     * @param sizeOut the number of elements produced by the step, or zero if it did not succeed.
+     * @param depth the depth of the element the step applies to.
+     */
+    public void stop(
+            ResolveListener listener,
+            ResolveStep.Level level,
+            String operation,
+            int sizeIn,
+            int sizeOut,
+            int depth) {
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = startBytes != -1 ? allocatedBytes() - startBytes : -1;
+        listener.stepCompleted(
+                new ResolveStep(level, operation, sizeIn, sizeOut, nanos, bytes, depth));
+    }
+
+    /** The total bytes allocated by the current thread, or -1 if unknown. */
+    private static long allocatedBytes() {
+        if (ALLOCATION == null) {
+            return -1;
+        }
+        return ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean cast = (com.sun.management.ThreadMXBean) bean;
+            if (cast.isThreadAllocatedMemorySupported() && cast.isThreadAllocatedMemoryEnabled()) {
+                return cast;
+            }
+        }
+        return null;
+    }
+}
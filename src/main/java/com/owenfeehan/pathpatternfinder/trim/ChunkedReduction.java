@@ -0,0 +1,119 @@
+package com.owenfeehan.pathpatternfinder.trim;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates an operation over every string in a list, in parallel chunks if the list is large.
+ *
+ * <p>Parallel evaluation only occurs when the calling thread is already executing in a {@link
+ * java.util.concurrent.ForkJoinPool}, e.g. when a pattern is resolved via {@link
+ * com.owenfeehan.pathpatternfinder.Pattern#resolve(java.util.concurrent.ForkJoinPool)}. The chunks
+ * are then evaluated as tasks in that same pool. Otherwise, evaluation is always sequential.
+ *
+ * <p>The result is identical whether evaluation occurs sequentially or in parallel.
+ *
+ * @author Owen Feehan
+ */
+public class ChunkedReduction {
+
+    /** Lists with fewer strings than this are always evaluated sequentially. */
+    public static final int MIN_SIZE_PARALLEL = 16384;
+
+    /** The number of strings in each chunk, when evaluating in parallel. */
+    private static final int CHUNK_SIZE = 4096;
+
+    /**
+     * Reduces a contiguous range of strings in a list to a single value.
+     *
+     * @param <T> type of value
+     */
+    @FunctionalInterface
+    public interface ChunkReducer<T> {
+
+        /**
+         * Reduces the strings in a range.
+         *
+         * @param startInclusive the index of the first string in the range (inclusive).
+         * @param endExclusive the index of the last string in the range (exclusive).
+         * @return the value the range is reduced to.
+         */
+        T reduce(int startInclusive, int endExclusive);
+    }
+
+    private ChunkedReduction() {}
+
+    /**
+     * Reduces a list of strings to a single value, by reducing chunks and combining them.
+     *
+     * @param <T> type of value
+     * @param size the number of strings in the list.
+     * @param reducer reduces a chunk of strings to a value.
+     * @param combiner combines the values of two neighbouring chunks (the left-most chunk is passed
+     *     first). It must be associative.
+     * @return the value the entire list is reduced to.
+     */
+    public static <T> T reduce(int size, ChunkReducer<T> reducer, BinaryOperator<T> combiner) {
+        if (!isParallel(size)) {
+            return reducer.reduce(0, size);
+        }
+
+        int numberChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, numberChunks)
+                .parallel()
+                .mapToObj(
+                        chunk ->
+                                reducer.reduce(
+                                        chunk * CHUNK_SIZE,
+                                        Math.min(size, (chunk + 1) * CHUNK_SIZE)))
+                .reduce(combiner)
+                .orElseThrow(
+                        () -> new IllegalArgumentException("There must be at least one chunk"));
+    }
+
+    /**
+     * A stream of the indices of the strings in a list, which is parallel if the list is large.
+     *
+     * @param size the number of strings in the list.
+     * @return a newly-created stream from {@code 0} (inclusive) to {@code size} (exclusive).
+     */
+    public static IntStream indices(int size) {
+        IntStream stream = IntStream.range(0, size);
+        if (isParallel(size)) {
+            return stream.parallel();
+        } else {
+            return stream;
+        }
+    }
+
+    private static boolean isParallel(int size) {
+        return size >= MIN_SIZE_PARALLEL && ForkJoinTask.inForkJoinPool();
+    }
+}
@@ -46,7 +46,7 @@ import java.util.stream.Collectors;
  *
  * @author Owen Feehan
  */
-public class TrimCommonPathRoot implements TrimOperation<Path> {
+public class TrimCommonPathRoot implements TrimOperation<List<Path>> {
 
     private UnresolvedPatternElementFactory factory;
     private boolean avoidExtensionSplit;
@@ -30,11 +30,12 @@ import com.owenfeehan.pathpatternfinder.CasedStringComparer;
 import com.owenfeehan.pathpatternfinder.Pattern;
 import com.owenfeehan.pathpatternfinder.SplitDirectoriesHelper;
 import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Looks for a constant common substring (from left-size, as maximal as possible).
@@ -49,7 +50,42 @@ import java.util.stream.Collectors;
  *
  * @author Owen Feehan
  */
-public class TrimConstantString implements TrimOperation<String> {
+public class TrimConstantString implements TrimOperation<SubstringList> {
+
+    /**
+     * A prefix common to a range of strings (and the first string), expressed as the first {@code
+     * length} characters of the string at {@code index}.
+     *
+     * <p>When case-insensitive, the prefix is taken from the last string that reduced the common
+     * prefix to its own entire length. This is tracked via {@code index} and {@code lengthAtIndex},
+     * and {@code index} is -1 if no string in the range did so.
+     */
+    private static class CommonPrefix {
+        private int index;
+        private int length;
+        private int lengthAtIndex;
+
+        public CommonPrefix(int index, int length) {
+            this.index = index;
+            this.length = length;
+            this.lengthAtIndex = length;
+        }
+
+        /**
+         * Combines the common-prefix of a range of strings with that of the range immediately to
+         * its right.
+         */
+        public static CommonPrefix combine(CommonPrefix left, CommonPrefix right) {
+            CommonPrefix out = new CommonPrefix(left.index, Math.min(left.length, right.length));
+            if (right.index != -1 && right.lengthAtIndex < left.length) {
+                out.index = right.index;
+                out.lengthAtIndex = right.lengthAtIndex;
+            } else {
+                out.lengthAtIndex = left.lengthAtIndex;
+            }
+            return out;
+        }
+    }
 
     private UnresolvedPatternElementFactory factory;
 
@@ -68,97 +104,119 @@ public class TrimConstantString implements TrimOperation<String> {
     }
 
     @Override
-    public Optional<Pattern> trim(List<String> source) {
-        Optional<String> common = findCommonString(source);
-        return common.map(value -> createPattern(source, value));
+    public Optional<Pattern> trim(SubstringList source) {
+        CommonPrefix common = findCommonPrefix(source);
+        if (common.length > 0) {
+            return Optional.of(createPattern(source, common));
+        } else {
+            return Optional.empty();
+        }
     }
 
-    private Optional<String> findCommonString(List<String> source) {
-        String common = source.get(0);
-
-        for (int i = 1; i < source.size(); i++) {
-
-            // Find the maximum intersection
-            common = intersect(common, source.get(i));
-
-            // If there's nothing left in common we give up
-            if (common.isEmpty()) {
-                return Optional.empty();
-            }
+    private CommonPrefix findCommonPrefix(SubstringList source) {
+        // All characters of the first string are initially considered common
+        CommonPrefix first = new CommonPrefix(0, source.length(0));
+
+        CommonPrefix common =
+                CommonPrefix.combine(
+                        first,
+                        ChunkedReduction.reduce(
+                                source.size(),
+                                (start, end) -> intersect(source, start, end),
+                                CommonPrefix::combine));
+
+        if (common.length < first.length) {
+            // Only a prefix that is shorter than the first string needs to be checked for
+            // compliance, as the first string is otherwise retained in its entirety.
+            common.length = zeroIfNonCompliant(source, common.index, common.length);
         }
-
-        return Optional.of(common);
+        return common;
     }
 
     /**
      * If successful, then we create a pattern out of the commonality, and remove it from each
      * string.
      */
-    private Pattern createPattern(List<String> source, String common) {
+    private Pattern createPattern(SubstringList source, CommonPrefix common) {
         List<PatternElement> elements = new ArrayList<>();
-        SplitDirectoriesHelper.splitStringIntoElements(common, elements::add);
+        SplitDirectoriesHelper.splitStringIntoElements(
+                source.substringIgnoringReversal(common.index, 0, common.length), elements::add);
+
+        if (source.isReversed()) {
+            // The elements were created from the unreversed prefix, so are reversed to match the
+            // source, rather than reversing the characters in the prefix.
+            Collections.reverse(elements);
+            elements.forEach(PatternElement::reverse);
+        }
 
         // Add all elements, and removing the number of characters from the remaining charrs
-        return factory.createUnresolvedString(
-                elements, removeFirstNCharsFrom(source, common.length()), false);
+        return factory.createUnresolvedString(elements, source.removeLeft(common.length), false);
     }
 
     /**
-     * Returns as many characters as possible (from the left) that are equal between source and to
-     * intersect.
-     *
-     * <p>An empty string is returned if the left-most character is different in both strings.
+     * Finds the prefix of the first string that is common to a range of strings.
      *
-     * <p>If {@code requiresPeriod} is selected, only strings that contain a period character are
-     * included.
+     * <p>The common prefix becomes empty, as soon as the left-most character is different.
      */
-    private String intersect(String source, String toIntersect) {
+    private CommonPrefix intersect(SubstringList source, int startInclusive, int endExclusive) {
 
         CasedStringComparer comparer = factory.stringComparer();
 
-        for (int i = 0; i < source.length(); i++) {
+        CommonPrefix common = new CommonPrefix(-1, source.length(0));
 
-            if (i == toIntersect.length()) {
-                // our intersection string is smaller, and it entirely matches
-                return emptyIfNonCompliant(toIntersect);
-            }
+        for (int i = startInclusive; i < endExclusive && common.length > 0; i++) {
 
-            if (!comparer.match(source.charAt(i), toIntersect.charAt(i))) {
+            int matching = countMatchingChars(source, i, common.length, comparer);
 
-                if (i == 0) {
-                    return "";
+            if (matching < common.length) {
+                common.length = matching;
+                if (matching == source.length(i)) {
+                    // our intersection string is smaller, and it entirely matches
+                    common.index = i;
+                    common.lengthAtIndex = matching;
                 }
-
-                return emptyIfNonCompliant(source.substring(0, i));
             }
         }
 
-        // Everything matches to we keep the source
-        return source;
+        return common;
+    }
+
+    /**
+     * The number of characters (from the left) that are equal between the string at {@code index}
+     * and the first string, considering at most {@code maxChars} characters.
+     */
+    private static int countMatchingChars(
+            SubstringList source, int index, int maxChars, CasedStringComparer comparer) {
+        int length = Math.min(maxChars, source.length(index));
+        for (int i = 0; i < length; i++) {
+            if (!comparer.match(source.charAt(0, i), source.charAt(index, i))) {
+                return i;
+            }
+        }
+        return length;
     }
 
     /**
-     * Returns the string if it meets applicable conditions, otherwise an empty-string if it
+     * Returns the length of a prefix if it meets applicable conditions, otherwise zero if it
      * doesn't.
      *
      * <p>This condition may include requiring a period.
      *
-     * @param str the string that is checked for compliance
-     * @return {@code str} if it's compliant, otherwise an empty string
+     * @param source the list of strings
+     * @param index the index of the string in {@code source}, whose prefix is checked for
+     *     compliance
+     * @param length the number of characters in the prefix
+     * @return {@code length} if it's compliant, otherwise zero
      */
-    private String emptyIfNonCompliant(String str) {
+    private int zeroIfNonCompliant(SubstringList source, int index, int length) {
         if (requiresPeriod) {
-            if (str.contains(".")) {
-                return str;
+            if (source.containsInLeft(index, '.', length)) {
+                return length;
             } else {
-                return "";
+                return 0;
             }
         } else {
-            return str;
+            return length;
         }
     }
-
-    private static List<String> removeFirstNCharsFrom(List<String> source, int n) {
-        return source.stream().map(string -> string.substring(n)).collect(Collectors.toList());
-    }
 }
@@ -27,10 +27,9 @@ package com.owenfeehan.pathpatternfinder.trim;
  */
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -42,7 +41,7 @@ import java.util.Optional;
  *
  * @author Owen Feehan
  */
-public class TrimInteger implements TrimOperation<String> {
+public class TrimInteger implements TrimOperation<SubstringList> {
 
     private UnresolvedPatternElementFactory factory;
 
@@ -56,46 +55,46 @@ public class TrimInteger implements TrimOperation<String> {
     }
 
     @Override
-    public Optional<Pattern> trim(List<String> source) {
+    public Optional<Pattern> trim(SubstringList source) {
 
-        List<String> foundIntegers = new ArrayList<>();
-        List<String> remainder = new ArrayList<>();
+        // The number of digits on the left side of each string
+        int[] numberDigits = new int[source.size()];
 
-        for (String str : source) {
+        // Is there an integer on the left side of every string? Each index writes only to its own
+        // element of the array, so this is safe to evaluate in parallel.
+        boolean allIntegers =
+                ChunkedReduction.indices(source.size())
+                        .allMatch(i -> (numberDigits[i] = countDigitsFromLeft(source, i)) > 0);
 
-            // Is there an integer on the left side of the string
-            String integerPart = readNumbersFromLeft(str, remainder);
-
-            if (integerPart.isEmpty()) {
-                // Can't read an integer, so this won't work
-                return Optional.empty();
-            }
-
-            foundIntegers.add(integerPart);
+        if (!allIntegers) {
+            // Can't read an integer, so this won't work
+            return Optional.empty();
         }
 
         // If successful, then we create a pattern out of the commonality, and remove it from each
         // string
         return Optional.of(
                 factory.createUnresolvedString(
-                        ResolvedPatternElementFactory.integer(foundIntegers), remainder, false));
+                        ResolvedPatternElementFactory.integer(source.keepLeft(numberDigits)),
+                        source.removeLeft(numberDigits),
+                        false));
     }
 
-    private String readNumbersFromLeft(String str, List<String> remainder) {
+    @Override
+    public boolean isPossible(SubstringList source) {
+        return source.summary().everyStartsWithDigit();
+    }
 
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (!Character.isDigit(c)) {
+    private static int countDigitsFromLeft(SubstringList source, int index) {
+        int length = source.length(index);
+        for (int i = 0; i < length; i++) {
+            if (!Character.isDigit(source.charAt(index, i))) {
                 // As soon as we meet a non-digit we escape
-                String left = str.substring(0, i);
-                String right = str.substring(i);
-                remainder.add(right);
-                return left;
+                return i;
             }
         }
 
         // If the entire string is a number
-        remainder.add("");
-        return str;
+        return length;
     }
 }
@@ -27,13 +27,12 @@ package com.owenfeehan.pathpatternfinder.trim;
  */
 
 import com.owenfeehan.pathpatternfinder.Pattern;
-import java.util.List;
 import java.util.Optional;
 
 /**
  * Attempts to trim the list of objects from left or right.
  *
- * @param <T> type of objects the trimmer works upon
+ * @param <T> type of list of objects the trimmer works upon
  * @author Owen Feehan
  */
 public interface TrimOperation<T> {
@@ -44,5 +43,18 @@ public interface TrimOperation<T> {
      * @param source list of objects
      * @return if successful, a pattern with the trimmed elements (and what remains to be resolved) as elements, otherwise {@link Optional#empty} if unsuccessful
      */
-    public abstract Optional<Pattern> trim(List<T> source);
+    public abstract Optional<Pattern> trim(T source);
+
+    /**
+     * Could {@link #trim} possibly succeed, as determined cheaply without attempting it?
+     *
+     * <p>This allows operations that certainly fail to be skipped, without scanning the list.
+     *
+     * @param source list of objects
+     * @return false if {@link #trim} would certainly return {@link Optional#empty}, true if it may
+     *     succeed. By default, always true.
+     */
+    default boolean isPossible(T source) {
+        return true;
+    }
 }
@@ -33,8 +33,11 @@ import java.util.Optional;
 /**
  * Tries to apply each operation in a list until one is successful.
  *
+ * <p>Operations that are not possible for a particular list (see {@link TrimOperation#isPossible})
+ * are skipped, without otherwise changing the order in which operations are tried.
+ *
  * @author Owen Feehan
- * @param <T> type of objects the trimmer works upon
+ * @param <T> type of list of objects the trimmer works upon
  */
 public class TrimOperationOrList<T> implements TrimOperation<T> {
 
@@ -50,15 +53,27 @@ public class TrimOperationOrList<T> implements TrimOperation<T> {
     }
 
     @Override
-    public Optional<Pattern> trim(List<T> source) {
+    public Optional<Pattern> trim(T source) {
 
         for (TrimOperation<T> op : operations) {
-            Optional<Pattern> pattern = op.trim(source);
-            if (pattern.isPresent()) {
-                return pattern;
+            if (op.isPossible(source)) {
+                Optional<Pattern> pattern = op.trim(source);
+                if (pattern.isPresent()) {
+                    return pattern;
+                }
             }
         }
 
         return Optional.empty();
     }
+
+    @Override
+    public boolean isPossible(T source) {
+        for (TrimOperation<T> op : operations) {
+            if (op.isPossible(source)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -27,11 +27,10 @@ package com.owenfeehan.pathpatternfinder.trim;
  */
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.Skipper;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -45,7 +44,7 @@ import java.util.Optional;
  *
  * @author Owen Feehan
  */
-public class TrimSplitByChar implements TrimOperation<String> {
+public class TrimSplitByChar implements TrimOperation<SubstringList> {
 
     private UnresolvedPatternElementFactory factoryResolved;
 
@@ -70,7 +69,7 @@ public class TrimSplitByChar implements TrimOperation<String> {
     }
 
     @Override
-    public Optional<Pattern> trim(List<String> source) {
+    public Optional<Pattern> trim(SubstringList source) {
 
         // As most of the time, we won't find a special char, we execute this algorithm in two
         // stages
@@ -83,32 +82,31 @@ public class TrimSplitByChar implements TrimOperation<String> {
         }
     }
 
-    private boolean allStringsHaveSpecialCharacter(List<String> source) {
-        for (String str : source) {
-
-            int index = str.indexOf(splitChar);
+    @Override
+    public boolean isPossible(SubstringList source) {
+        return source.summary().mayContainInEvery(splitChar);
+    }
 
-            if (index == -1) {
-                // At least one string doesn't have this character. Let's abandon
-                return false;
-            }
-        }
-        return true;
+    private boolean allStringsHaveSpecialCharacter(SubstringList source) {
+        // If at least one string doesn't have this character, we abandon
+        return ChunkedReduction.indices(source.size())
+                .allMatch(i -> source.indexOf(i, splitChar) != -1);
     }
 
-    private Pattern createPattern(List<String> source) {
+    private Pattern createPattern(SubstringList source) {
+
+        int[] indices = new int[source.size()];
 
-        List<String> left = new ArrayList<>();
-        List<String> right = new ArrayList<>();
+        ChunkedReduction.indices(source.size())
+                .forEach(i -> indices[i] = source.indexOf(i, splitChar));
 
-        for (String s : source) {
+        SubstringList left = source.keepLeft(indices);
 
-            int index = s.indexOf(splitChar);
-            assert (index >= 0);
-            assert (index < s.length());
-            left.add(s.substring(0, index));
-            right.add(s.substring(index + 1));
+        // Skip the split character itself, for the right side
+        for (int i = 0; i < indices.length; i++) {
+            indices[i]++;
         }
+        SubstringList right = source.removeLeft(indices);
 
         Pattern pattern = new Pattern();
         factoryResolved.addUnresolvedStringsTo(
@@ -27,32 +27,43 @@ package com.owenfeehan.pathpatternfinder.trim.constantsubstring;
  */
 
 import com.owenfeehan.pathpatternfinder.CasedStringComparer;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import java.util.Optional;
 
 class CommonCharsTracker {
 
-    private String firstItem;
+    private SubstringList source;
+    private int lengthFirstItem;
     private CountedBooleanMask mask;
     private CasedStringComparer comparer;
 
-    public CommonCharsTracker(String firstItem, CasedStringComparer comparer) {
-        this.firstItem = firstItem;
-        this.mask = new CountedBooleanMask(firstItem.length());
+    /**
+     * Creates with all characters of the first string in {@code source} considered common.
+     *
+     * @param source the strings, whose first element is used to initialize the tracker.
+     * @param comparer how to compare characters.
+     */
+    public CommonCharsTracker(SubstringList source, CasedStringComparer comparer) {
+        this.source = source;
+        this.lengthFirstItem = source.length(0);
+        this.mask = new CountedBooleanMask(lengthFirstItem);
         this.comparer = comparer;
     }
 
     /**
      * Another string that is combined with the existing string.
      *
-     * @param toMask the string to combine
+     * @param indexToMask the index of the string (in {@code source}) to combine
      */
-    public void combineWith(String toMask) {
+    public void combineWith(int indexToMask) {
 
-        for (int i = 0; i < firstItem.length(); i++) {
+        int lengthToMask = source.length(indexToMask);
 
-            if (i < toMask.length()) {
+        for (int i = 0; i < lengthFirstItem; i++) {
 
-                if (!comparer.match(toMask.charAt(i), firstItem.charAt(i))) {
+            if (i < lengthToMask) {
+
+                if (!comparer.match(source.charAt(indexToMask, i), source.charAt(0, i))) {
                     mask.ensureFalse(i);
                 }
 
@@ -62,6 +73,18 @@ class CommonCharsTracker {
         }
     }
 
+    /**
+     * Combines with another tracker, for the same strings, so that only characters common to both
+     * are retained.
+     *
+     * @param other the other tracker
+     * @return this tracker, after combining.
+     */
+    public CommonCharsTracker combineWith(CommonCharsTracker other) {
+        mask.ensureFalseWhereFalse(other.mask);
+        return this;
+    }
+
     /**
      * The number of common characters (i.e. mask values which are true) to all strings.
      *
@@ -52,6 +52,15 @@ class CountedBooleanMask {
         }
     }
 
+    // Makes sure the mask is false at every index where another mask (of identical size) is false
+    public void ensureFalseWhereFalse(CountedBooleanMask other) {
+        for (int i = 0; i < mask.length; i++) {
+            if (!other.mask[i]) {
+                ensureFalse(i);
+            }
+        }
+    }
+
     public int countTrueValues() {
         return countTrueValues;
     }
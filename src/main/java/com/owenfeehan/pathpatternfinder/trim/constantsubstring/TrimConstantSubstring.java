@@ -27,12 +27,12 @@ package com.owenfeehan.pathpatternfinder.trim.constantsubstring;
  */
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.Skipper;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
+import com.owenfeehan.pathpatternfinder.trim.ChunkedReduction;
 import com.owenfeehan.pathpatternfinder.trim.TrimOperation;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,7 +41,7 @@ import java.util.Optional;
  *
  * @author Owen Feehan
  */
-public class TrimConstantSubstring implements TrimOperation<String> {
+public class TrimConstantSubstring implements TrimOperation<SubstringList> {
 
     private UnresolvedPatternElementFactory factory;
 
@@ -55,7 +55,7 @@ public class TrimConstantSubstring implements TrimOperation<String> {
     }
 
     @Override
-    public Optional<Pattern> trim(List<String> source) {
+    public Optional<Pattern> trim(SubstringList source) {
 
         if (source.isEmpty()) {
             throw new IllegalArgumentException("source must contain at least one path");
@@ -69,58 +69,62 @@ public class TrimConstantSubstring implements TrimOperation<String> {
         return common.map(value -> createPattern(source, value));
     }
 
+    @Override
+    public boolean isPossible(SubstringList source) {
+        // A common sub-string requires at least one character that occurs in every string
+        return source.summary().mayHaveCommonCharacter();
+    }
+
     /**
      * Finds the index-range of the first common subset of characters (all located at the same
      * indices) among the strings
      */
-    private Optional<IndexRange> findCommonString(List<String> source) {
+    private Optional<IndexRange> findCommonString(SubstringList source) {
 
         CommonCharsTracker tracker =
-                new CommonCharsTracker(source.get(0), factory.stringComparer());
+                ChunkedReduction.reduce(
+                        source.size(),
+                        (start, end) -> trackRange(source, start, end),
+                        CommonCharsTracker::combineWith);
+
+        // If there's nothing left in common we give up
+        if (tracker.numberCommonCharacters() == 0) {
+            return Optional.empty();
+        }
 
-        for (int i = 1; i < source.size(); i++) {
+        return tracker.indexOfFirstTrueRange();
+    }
+
+    /** Tracks the characters, common to the first string, for a range of strings. */
+    private CommonCharsTracker trackRange(
+            SubstringList source, int startInclusive, int endExclusive) {
+        CommonCharsTracker tracker = new CommonCharsTracker(source, factory.stringComparer());
 
-            tracker.combineWith(source.get(i));
+        for (int i = startInclusive; i < endExclusive; i++) {
+
+            tracker.combineWith(i);
 
             // If there's nothing left in common we give up
             if (tracker.numberCommonCharacters() == 0) {
-                return Optional.empty();
+                break;
             }
         }
-
-        return tracker.indexOfFirstTrueRange();
+        return tracker;
     }
 
     /** Creates a pattern left+constant+right to represent the common substring we found */
-    private Pattern createPattern(List<String> source, IndexRange common) {
+    private Pattern createPattern(SubstringList source, IndexRange common) {
 
-        List<String> left = new ArrayList<>();
-        List<String> right = new ArrayList<>();
+        assert (common.getStartIndex() > 0);
 
         // Figures out the values to the left, and to the right of the common range
-        populateLeftRight(source, left, right, common);
-
-        return createPatternLeftRight(left, right, common, source.get(0));
-    }
-
-    private void populateLeftRight(
-            List<String> source, List<String> left, List<String> right, IndexRange common) {
-
-        for (String str : source) {
-
-            assert (common.getStartIndex() > 0);
-            left.add(str.substring(0, common.getStartIndex()));
-            right.add(str.substring(common.getEndIndexExclusive()));
-        }
-    }
+        SubstringList left = source.keepLeft(common.getStartIndex());
+        SubstringList right = source.removeLeft(common.getEndIndexExclusive());
 
-    private Pattern createPatternLeftRight(
-            List<String> left, List<String> right, IndexRange common, String arbitrarySourceValue) {
         Pattern pattern = new Pattern();
         factory.addUnresolvedStringsTo(left, pattern, false, new Skipper(false, true, 0));
         ResolvedPatternElementFactory.addConstantTo(
-                arbitrarySourceValue.substring(
-                        common.getStartIndex(), common.getEndIndexExclusive()),
+                source.substring(0, common.getStartIndex(), common.getEndIndexExclusive()),
                 pattern);
         factory.addUnresolvedStringsTo(right, pattern, false, new Skipper(true, false, 0));
         return pattern;
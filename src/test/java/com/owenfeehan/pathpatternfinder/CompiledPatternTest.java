@@ -0,0 +1,112 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static com.owenfeehan.pathpatternfinder.VarArgsHelper.*;
+import static com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CompiledPattern}.
+ *
+ * <p>Every string is fitted both via the compiled pattern and via {@link Pattern#fitAgainst}, which
+ * should always produce identical results.
+ *
+ * @author Owen Feehan
+ */
+class CompiledPatternTest {
+
+    /** Strings to fit, some of which fit {@link PatternFixture}, and some of which do not. */
+    private static final List<String> STRINGS =
+            Arrays.asList(
+                    String.format("34343fRiDay%sGREEN", File.separator),
+                    String.format("1friday%sblueish", File.separator),
+                    String.format("1friday%sred", File.separator),
+                    String.format("friday%sgreen", File.separator),
+                    "12friday",
+                    "");
+
+    /** Fits strings case-sensitively. */
+    @Test
+    void testCaseSensitive() {
+        testAgainstFixture(IOCase.SENSITIVE);
+    }
+
+    /** Fits strings case-insensitively. */
+    @Test
+    void testCaseInsensitive() {
+        testAgainstFixture(IOCase.INSENSITIVE);
+    }
+
+    /** Fits the longest of several keys that share a prefix, with the empty key last. */
+    @Test
+    void testLongestKey() {
+        Pattern pattern = pattern(string("go", "going", "", "gone"), constant("a"));
+        CompiledPattern compiled = pattern.compile(IOCase.INSENSITIVE);
+
+        int[] boundaries = compiled.createBoundaries();
+        assertTrue(compiled.match("GOINGaway", boundaries));
+        assertArrayEquals(new int[] {0, 5, 6}, boundaries);
+
+        assertTrue(compiled.match("away", boundaries));
+        assertArrayEquals(new int[] {0, 0, 1}, boundaries);
+
+        assertFalse(compiled.match("gob", boundaries));
+    }
+
+    /** A pattern with an unresolved element cannot be compiled. */
+    @Test
+    void testUnresolved() {
+        Pattern pattern = new Pattern();
+        new UnresolvedPatternElementFactory(IOCase.SENSITIVE)
+                .addUnresolvedStringsTo(Arrays.asList("a1", "a2"), pattern, false);
+        assertThrows(IllegalStateException.class, () -> pattern.compile(IOCase.SENSITIVE));
+    }
+
+    private static void testAgainstFixture(IOCase ioCase) {
+        Pattern pattern = PatternFixture.pattern(true);
+        CompiledPattern compiled = pattern.compile(ioCase);
+        assertEquals(pattern.size(), compiled.numberElements());
+        for (String string : STRINGS) {
+            assertEquals(
+                    pattern.fitAgainst(string, ioCase).map(Arrays::asList),
+                    compiled.fitAgainst(string).map(Arrays::asList),
+                    string);
+        }
+    }
+}
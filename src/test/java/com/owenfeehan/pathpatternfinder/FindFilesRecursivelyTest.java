@@ -0,0 +1,117 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link FindFilesRecursively}.
+ *
+ * <p>Directories are listed in parallel, and compared against listing sequentially.
+ *
+ * @author Owen Feehan
+ */
+class FindFilesRecursivelyTest {
+
+    @TempDir Path root;
+
+    @BeforeEach
+    void setup() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            Path directory = Files.createDirectories(root.resolve("a" + i).resolve("b" + (i % 2)));
+            for (int j = 0; j < 4; j++) {
+                Files.createFile(directory.resolve(String.format("file%d_%d.txt", i, j)));
+                Files.createFile(directory.getParent().resolve(String.format("other%d.csv", j)));
+            }
+        }
+        Files.createFile(root.resolve("top.txt"));
+    }
+
+    /** All files, in sorted order. */
+    @Test
+    void testAllSorted() throws IOException {
+        List<Path> expected = sequential(Optional.empty());
+        assertEquals(41, expected.size());
+        assertEquals(expected, FindFilesRecursively.findFiles(root, Optional.empty(), 3, true));
+    }
+
+    /** Only files matching a glob, in any order. */
+    @Test
+    void testGlobUnsorted() throws IOException {
+        List<Path> found =
+                new ArrayList<>(
+                        FindFilesRecursively.findFiles(root, Optional.of("*.txt"), 3, false));
+        Collections.sort(found);
+        assertEquals(sequential(Optional.of("*.txt")), found);
+        assertEquals(21, found.size());
+    }
+
+    /** The last-modified time of the root and every directory beneath it is recorded. */
+    @Test
+    void testDirectoryTimes() throws IOException {
+        Map<Path, Long> directoryTimes = new ConcurrentHashMap<>();
+        List<Path> found =
+                FindFilesRecursively.findFiles(root, Optional.empty(), 3, true, directoryTimes);
+        assertEquals(sequential(Optional.empty()), found);
+        assertEquals(11, directoryTimes.size());
+        assertEquals(
+                Files.getLastModifiedTime(root.resolve("a3")).toMillis(),
+                directoryTimes.get(root.resolve("a3")));
+        assertTrue(directoryTimes.containsKey(root));
+    }
+
+    /** The root must be a directory. */
+    @Test
+    void testRootNotDirectory() {
+        assertThrows(
+                IOException.class,
+                () ->
+                        FindFilesRecursively.findFiles(
+                                root.resolve("top.txt"), Optional.empty(), 3, true));
+    }
+
+    private List<Path> sequential(Optional<String> fileFilterPattern) throws IOException {
+        List<Path> list = FindFilesRecursively.findFiles(root, fileFilterPattern);
+        Collections.sort(list);
+        return list;
+    }
+}
@@ -31,12 +31,18 @@ import static com.owenfeehan.pathpatternfinder.patternelements.resolved.Resolved
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.owenfeehan.pathpatternfinder.commonpath.PathTrie;
+import com.owenfeehan.pathpatternfinder.patternelements.unresolved.TrimMemo;
+import com.owenfeehan.pathpatternfinder.trim.ChunkedReduction;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.commons.io.IOCase;
 import org.junit.jupiter.api.Test;
 
@@ -175,6 +181,37 @@ class PathPatternFinderTest {
     void testEmpty() {
         assertThrows( // NOSONAR
                 IllegalArgumentException.class, () -> findPattern(new ArrayList<>(), false, false));
+        assertThrows( // NOSONAR
+                IllegalArgumentException.class,
+                () -> PathPatternFinder.findPatternPaths(new PathTrie(), IOCase.SENSITIVE, false));
+    }
+
+    /**
+     * Tests a trie where paths are grouped by directory, differently to the order they were added,
+     * and where a path ends at a directory containing other paths.
+     */
+    @Test
+    void testTrieOrderAndDirectoryPath() {
+        List<Path> paths = pathList("top/a/1.txt", "top/b/2.txt", "top/a/3.txt");
+        assertEquals(
+                pattern(
+                        constant("top"),
+                        directorySeperator(),
+                        string("a", "a", "b"),
+                        directorySeperator(),
+                        integer(1, 3, 2),
+                        constant(".txt")),
+                PathPatternFinder.findPatternPaths(PathTrie.of(paths), IOCase.SENSITIVE, true));
+
+        List<Path> pathsWithDirectory = pathList("top/a", "top/a/1.txt", "top/a/2.txt");
+        assertEquals(
+                pattern(
+                        constant("top"),
+                        directorySeperator(),
+                        constant("a"),
+                        string("", File.separator + "1.txt", File.separator + "2.txt")),
+                PathPatternFinder.findPatternPaths(
+                        PathTrie.of(pathsWithDirectory), IOCase.SENSITIVE, false));
     }
 
     /** Tests that a split is avoided in the file extension. */
@@ -227,6 +264,73 @@ class PathPatternFinderTest {
                 new String[] {"dir", File.separator, "a", "_100"});
     }
 
+    /**
+     * Tests paths whose directory and file-name are identical, so that an identical list of strings
+     * occurs either side of a directory separator, and steps that failed for the first need not be
+     * tried for the second.
+     */
+    @Test
+    void testMemoRepeatedList() {
+        List<Path> paths = pathList("ab/ab.txt", "cd/cd.txt", "efg/efg.txt");
+        TrimMemo memo = new TrimMemo(100);
+        Pattern pattern = PathPatternFinder.findPatternPaths(paths, IOCase.SENSITIVE, true, memo);
+        assertEquals(
+                pattern(
+                        string("ab", "cd", "efg"),
+                        directorySeperator(),
+                        string("ab", "cd", "efg"),
+                        constant(".txt")),
+                pattern);
+        assertTrue(memo.hits() > 0);
+    }
+
+    /**
+     * Tests that resolving concurrently produces identical patterns to resolving sequentially, for
+     * lists large enough that individual operations are also evaluated in parallel.
+     */
+    @Test
+    void testLargeListConcurrently() {
+        List<String> strings = largeList();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (IOCase ioCase : new IOCase[] {IOCase.SENSITIVE, IOCase.INSENSITIVE}) {
+                assertEquals(
+                        PathPatternFinder.findPatternStrings(strings, ioCase),
+                        PathPatternFinder.findPatternStrings(strings, ioCase, pool));
+            }
+
+            // The case of the constant is taken from the shortest string, not the first string
+            assertEquals(
+                    constant("sAM"),
+                    PathPatternFinder.findPatternStrings(strings, IOCase.INSENSITIVE, pool).get(0));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Strings with a prefix in random case, and a shorter prefix-only string placed every so often,
+     * so that the case of any constant depends upon which string is chosen for it.
+     *
+     * <p>The shorter strings always have a different case to the first string.
+     */
+    private static List<String> largeList() {
+        Random random = new Random(7);
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < 3 * ChunkedReduction.MIN_SIZE_PARALLEL; i++) {
+            String prefix = (i == 0 || random.nextBoolean()) ? "Sample_" : "sAMPLE_";
+            if (i % 5000 == 4999) {
+                out.add("sAMPLE_".substring(0, 3 + random.nextInt(4)));
+            } else {
+                out.add(
+                        String.format(
+                                "%s%04d-%s.tif",
+                                prefix, random.nextInt(10000), i % 3 == 0 ? "a" : "b"));
+            }
+        }
+        return out;
+    }
+
     private static void applyTest(
             List<Path> paths,
             Pattern expectedPattern,
@@ -235,8 +339,34 @@ class PathPatternFinderTest {
             String[] expectedFirstValue) {
         Pattern pattern = findPattern(paths, caseSensitive, avoidExtensionSplit);
         assertEquals(expectedPattern, pattern);
+
+        // Resolving concurrently should produce an identical pattern
+        assertEquals(
+                pattern,
+                PathPatternFinder.findPatternPaths(
+                        paths,
+                        caseSensitive ? IOCase.SENSITIVE : IOCase.INSENSITIVE,
+                        avoidExtensionSplit,
+                        ForkJoinPool.commonPool()));
         assertArrayEquals(expectedFirstValue, pattern.valuesAt(0));
 
+        // Remembering which steps failed for each list should produce an identical pattern
+        assertEquals(
+                pattern,
+                PathPatternFinder.findPatternPaths(
+                        paths,
+                        caseSensitive ? IOCase.SENSITIVE : IOCase.INSENSITIVE,
+                        avoidExtensionSplit,
+                        new TrimMemo(100)));
+
+        // The paths are already grouped by directory, so a trie should produce an identical pattern
+        assertEquals(
+                pattern,
+                PathPatternFinder.findPatternPaths(
+                        PathTrie.of(paths),
+                        caseSensitive ? IOCase.SENSITIVE : IOCase.INSENSITIVE,
+                        avoidExtensionSplit));
+
         String[] expectedFirstValueSubrange =
                 new String[] {expectedFirstValue[1], expectedFirstValue[2]};
         assertArrayEquals(expectedFirstValueSubrange, pattern.valuesAt(0, 1, 3));
@@ -0,0 +1,95 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link PathsFromManifest}.
+ *
+ * @author Owen Feehan
+ */
+class PathsFromManifestTest {
+
+    /** Newline-separated paths, including a carriage-return, an empty line and no final newline. */
+    @Test
+    void testNewlineSeparated() throws IOException {
+        assertEquals(
+                paths("a/b.txt", "a/c d.txt", "e.txt"),
+                read("a/b.txt\na/c d.txt\r\n\ne.txt", false));
+    }
+
+    /** NUL-separated paths, where a newline is part of a path. */
+    @Test
+    void testNullSeparated() throws IOException {
+        assertEquals(paths("a/b\nc.txt", "d.txt"), read("a/b\nc.txt\0d.txt\0", true));
+    }
+
+    /** Many paths, which span more than one block of characters, are all read in order. */
+    @Test
+    void testManyPaths() throws IOException {
+        StringBuilder manifest = new StringBuilder();
+        List<Path> expected = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            String path = String.format("dir%d/file_%d.txt", i % 7, i);
+            manifest.append(path).append('\n');
+            expected.add(Paths.get(path));
+        }
+        assertEquals(expected, read(manifest.toString(), false));
+    }
+
+    /** A NUL character in a newline-separated path is invalid, and its line is reported. */
+    @Test
+    void testInvalidPath() {
+        IOException exception =
+                assertThrows(IOException.class, () -> read("a.txt\n\nb\0c.txt\nd.txt", false));
+        assertTrue(exception.getMessage().contains("line 3"));
+    }
+
+    private static List<Path> read(String manifest, boolean nullSeparated) throws IOException {
+        return PathsFromManifest.readPaths(
+                Channels.newChannel(new ByteArrayInputStream(manifest.getBytes())), nullSeparated);
+    }
+
+    private static List<Path> paths(String... paths) {
+        List<Path> out = new ArrayList<>();
+        Arrays.stream(paths).map(Paths::get).forEach(out::add);
+        return out;
+    }
+}
@@ -0,0 +1,128 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static com.owenfeehan.pathpatternfinder.VarArgsHelper.*;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.owenfeehan.pathpatternfinder.describer.DescribePattern;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link PatternBuilder}.
+ *
+ * <p>After each path is added, every path added so far should fit the pattern, and the values of
+ * the pattern for each path should concatenate to the path.
+ *
+ * @author Owen Feehan
+ */
+class PatternBuilderTest {
+
+    /** Paths that all fit the pattern found from the first two paths. */
+    @Test
+    void testAlwaysFits() {
+        List<Path> paths = new ArrayList<>(pathList("/a/b/file_1.txt", "/a/b/file_2.txt"));
+        PatternBuilder builder = new PatternBuilder(IOCase.SENSITIVE, true);
+        builder.addAll(paths);
+        Pattern initial = builder.pattern();
+
+        for (int i = 3; i <= 12; i++) {
+            Path path = Paths.get(String.format("/a/b/file_%d.txt", i));
+            paths.add(path);
+            builder.add(path);
+            assertConsistent(builder, paths);
+        }
+
+        // The same pattern is retained, with the values appended
+        assertTrue(initial == builder.pattern());
+        assertEquals(
+                PathPatternFinder.findPatternPaths(paths, IOCase.SENSITIVE, true),
+                builder.pattern());
+    }
+
+    /** Paths added individually, some of which break the pattern. */
+    @Test
+    void testBreaks() {
+        List<Path> paths =
+                pathList(
+                        "/a/b/file_1.txt",
+                        "/a/b/file_2.txt",
+                        "/a/b/image_3.txt",
+                        "/a/b/file_4.txt.bak",
+                        "/a/b/file_42.txt",
+                        "/a/c/file_5.txt",
+                        "/a/d/file_6.txt");
+        PatternBuilder builder = new PatternBuilder(IOCase.SENSITIVE, true);
+        for (int i = 0; i < paths.size(); i++) {
+            builder.add(paths.get(i));
+            assertConsistent(builder, paths.subList(0, i + 1));
+        }
+        assertEquals(
+                PathPatternFinder.findPatternPaths(paths, IOCase.SENSITIVE, true),
+                builder.pattern());
+    }
+
+    /** A path that ends where an integer is expected does not fit with an empty integer. */
+    @Test
+    void testEmptyInteger() {
+        List<Path> paths = new ArrayList<>(pathList("/d/b_1.tif", "/d/b_2.tif", "/d/b_3.tif"));
+        PatternBuilder builder = new PatternBuilder(IOCase.SENSITIVE, true);
+        builder.addAll(paths);
+
+        Path path = Paths.get("/d/b_");
+        paths.add(path);
+        builder.add(path);
+        assertConsistent(builder, paths);
+        assertDoesNotThrow(() -> DescribePattern.apply(builder.pattern(), true));
+    }
+
+    /** No pattern exists before any path is added. */
+    @Test
+    void testEmpty() {
+        PatternBuilder builder = new PatternBuilder(IOCase.SENSITIVE, true);
+        assertThrows(IllegalStateException.class, builder::pattern);
+    }
+
+    private static void assertConsistent(PatternBuilder builder, List<Path> paths) {
+        Pattern pattern = builder.pattern();
+        assertEquals(paths.size(), builder.numberPaths());
+        CompiledPattern compiled = pattern.compile(IOCase.SENSITIVE);
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i).toString();
+            assertTrue(compiled.fitAgainst(path).isPresent(), path);
+            assertEquals(path, String.join("", pattern.valuesAt(i)));
+        }
+    }
+}
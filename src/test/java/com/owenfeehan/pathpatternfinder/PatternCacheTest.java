@@ -0,0 +1,227 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link PatternCache}.
+ *
+ * <p>Changes to the files are simulated by adding files, and by changing the last-modified time of
+ * directories.
+ *
+ * @author Owen Feehan
+ */
+class PatternCacheTest {
+
+    /** The last-modified time given to every directory, so that later changes are detected. */
+    private static final FileTime TIME = FileTime.fromMillis(1000000000000L);
+
+    @TempDir Path temporary;
+
+    private Path root;
+
+    private Path cacheDirectory;
+
+    /** The number of times a pattern is found, rather than retrieved. */
+    private AtomicInteger numberFound;
+
+    @BeforeEach
+    void setup() throws IOException {
+        root = temporary.resolve("root");
+        cacheDirectory = temporary.resolve("cache");
+        for (int i = 0; i < 3; i++) {
+            Path directory = Files.createDirectories(root.resolve("a" + i));
+            for (int j = 0; j < 4; j++) {
+                Files.createFile(directory.resolve(String.format("file%d.txt", j)));
+            }
+            Files.setLastModifiedTime(directory, TIME);
+        }
+        Files.setLastModifiedTime(root, TIME);
+        numberFound = new AtomicInteger();
+    }
+
+    /** A pattern is retrieved without listing, until a file is added. */
+    @Test
+    void testUnchangedThenAdded() throws IOException {
+        PatternCache cache = new PatternCache(cacheDirectory, Long.MAX_VALUE);
+        assertFalse(cache.get(root).isPresent());
+
+        Pattern found = listAndGetOrFind(cache);
+        assertEquals(1, numberFound.get());
+
+        Optional<PatternCache.Entry> entry = cache.get(root);
+        assertTrue(entry.isPresent());
+        assertEquals(found, entry.get().pattern());
+        assertEquals(12, entry.get().fingerprint().numberFiles());
+
+        Files.createFile(root.resolve("a1").resolve("file4.txt"));
+        assertFalse(cache.get(root).isPresent());
+        // Otherwise too recent to be trusted without listing
+        Files.setLastModifiedTime(root.resolve("a1"), FileTime.fromMillis(TIME.toMillis() + 1));
+        assertFalse(found.equals(listAndGetOrFind(cache)));
+        assertEquals(2, numberFound.get());
+        assertTrue(cache.get(root).isPresent());
+    }
+
+    /** When only the time of a directory changes, the pattern is retrieved after listing. */
+    @Test
+    void testTimeChanged() throws IOException {
+        PatternCache cache = new PatternCache(cacheDirectory, Long.MAX_VALUE);
+        Pattern found = listAndGetOrFind(cache);
+
+        Files.setLastModifiedTime(root.resolve("a2"), FileTime.fromMillis(TIME.toMillis() + 1));
+        assertFalse(cache.get(root).isPresent());
+        assertEquals(found, listAndGetOrFind(cache));
+        assertEquals(1, numberFound.get());
+
+        // The updated times are now valid, without listing
+        assertTrue(cache.get(root).isPresent());
+    }
+
+    /**
+     * A root that is a symbolic link is retrieved until a file is added to the linked directory.
+     */
+    @Test
+    void testSymbolicLinkRoot() throws IOException {
+        Path link = temporary.resolve("link");
+        try {
+            Files.createSymbolicLink(link, root);
+        } catch (UnsupportedOperationException | IOException e) {
+            assumeTrue(false, "Symbolic links are not supported");
+        }
+
+        PatternCache cache = new PatternCache(cacheDirectory, Long.MAX_VALUE);
+        listAndGetOrFind(cache, link);
+        assertTrue(cache.get(link).isPresent());
+
+        Files.createFile(root.resolve("file.txt"));
+        assertFalse(cache.get(link).isPresent());
+    }
+
+    /**
+     * A directory modified just before listing may change again within the same tick, so the
+     * pattern is only retrieved after listing.
+     */
+    @Test
+    void testRecentlyModified() throws IOException {
+        Files.setLastModifiedTime(
+                root.resolve("a1"), FileTime.fromMillis(System.currentTimeMillis()));
+
+        PatternCache cache = new PatternCache(cacheDirectory, Long.MAX_VALUE);
+        Pattern found = listAndGetOrFind(cache);
+        assertFalse(cache.get(root).isPresent());
+
+        assertEquals(found, listAndGetOrFind(cache));
+        assertEquals(1, numberFound.get());
+    }
+
+    /** The least-recently used entry is evicted, when the maximum size is exceeded. */
+    @Test
+    void testEviction() throws IOException {
+        Path other = Files.createDirectories(temporary.resolve("other"));
+        Files.createFile(other.resolve("x1.txt"));
+        Files.createFile(other.resolve("x2.txt"));
+        Files.setLastModifiedTime(other, TIME);
+
+        PatternCache unbounded = new PatternCache(cacheDirectory, Long.MAX_VALUE);
+        listAndGetOrFind(unbounded);
+        long sizeOne = directorySize(cacheDirectory);
+
+        // Room for only one entry
+        PatternCache cache = new PatternCache(cacheDirectory, sizeOne + 10);
+        // The existing entry was used long ago
+        Files.setLastModifiedTime(onlyFingerprint(cacheDirectory), TIME);
+        cache.put(
+                fingerprint(other),
+                PathPatternFinder.findPatternPaths(files(other), IOCase.SENSITIVE, true));
+
+        assertFalse(cache.get(root).isPresent());
+        assertTrue(cache.get(other).isPresent());
+    }
+
+    private Pattern listAndGetOrFind(PatternCache cache) throws IOException {
+        return listAndGetOrFind(cache, root);
+    }
+
+    private Pattern listAndGetOrFind(PatternCache cache, Path directory) throws IOException {
+        List<Path> files = files(directory);
+        return cache.getOrFind(
+                fingerprint(directory),
+                () -> {
+                    numberFound.incrementAndGet();
+                    return PathPatternFinder.findPatternPaths(files, IOCase.SENSITIVE, true);
+                });
+    }
+
+    private static DirectoryFingerprint fingerprint(Path directory) throws IOException {
+        Map<Path, Long> directoryTimes = new ConcurrentHashMap<>();
+        List<Path> files =
+                FindFilesRecursively.findFiles(
+                        directory, Optional.empty(), 2, true, directoryTimes);
+        return new DirectoryFingerprint(directory, files, directoryTimes);
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        return FindFilesRecursively.findFiles(directory, Optional.empty(), 2, true);
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                total += Files.size(path);
+            }
+        }
+        return total;
+    }
+
+    /** The only fingerprint in a directory. */
+    private static Path onlyFingerprint(Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.fingerprint")) {
+            return stream.iterator().next();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link PatternFile}.
+ *
+ * <p>Each pattern is written and then read again, and should be equal to the original, with
+ * identical values.
+ *
+ * @author Owen Feehan
+ */
+class PatternFileTest {
+
+    @TempDir Path directory;
+
+    /** Every kind of element. */
+    @Test
+    void testFixture() throws IOException {
+        assertRoundTrip(PatternFixture.pattern(true), 2);
+    }
+
+    /** Reversed elements are written as they are presented. */
+    @Test
+    void testReversed() throws IOException {
+        assertRoundTrip(PatternFixture.patternReversed(), 2);
+    }
+
+    /** Integers with leading zeros, of a common and of a varying width, and beyond a long. */
+    @Test
+    void testIntegerWidths() throws IOException {
+        assertRoundTrip(
+                pattern(
+                        integer(Arrays.asList("007", "010", "123")),
+                        integer(Arrays.asList("0", "07", "1234")),
+                        integer(Arrays.asList("1", "99999999999999999999", "2"))),
+                3);
+    }
+
+    /** Strings with enough distinct values to need wider codes, and non-ASCII characters. */
+    @Test
+    void testManyDistinctStrings() throws IOException {
+        List<String> distinct = new ArrayList<>();
+        List<String> repeated = new ArrayList<>();
+        for (int i = 0; i < 70000; i++) {
+            distinct.add("value\u00e9" + i);
+            repeated.add("value" + (i % 300));
+        }
+        assertRoundTrip(pattern(string(distinct), constant("\u00fcber"), string(repeated)), 70000);
+    }
+
+    /** A value can be appended to an element that was read. */
+    @Test
+    void testAppend() throws IOException {
+        Pattern read = writeAndRead(PatternFixture.pattern(true));
+        read.get(0).appendValue("0042");
+        read.get(3).appendValue("red");
+        assertArrayEquals(new String[] {"0042", "friday", File.separator, "red"}, read.valuesAt(2));
+        assertEquals("56", read.get(0).valueAt(0));
+    }
+
+    /** A pattern with an unresolved element cannot be written. */
+    @Test
+    void testUnresolved() {
+        Pattern pattern = new Pattern();
+        new UnresolvedPatternElementFactory(IOCase.SENSITIVE)
+                .addUnresolvedStringsTo(Arrays.asList("a1", "a2"), pattern, false);
+        assertThrows(
+                IllegalStateException.class,
+                () -> PatternFile.write(pattern, directory.resolve("unresolved")));
+    }
+
+    /**
+     * A file that is not a pattern, of a different version, truncated, or with a corrupted offset,
+     * code or number of elements, cannot be read.
+     */
+    @Test
+    void testInvalid() throws IOException {
+        Path notPattern = directory.resolve("notPattern");
+        Files.write(notPattern, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        assertThrows(IOException.class, () -> PatternFile.read(notPattern));
+
+        Path file = directory.resolve("pattern");
+        PatternFile.write(PatternFixture.pattern(true), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = 99;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> PatternFile.read(file));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> PatternFile.read(file));
+
+        // The distinct strings are preceded by their offsets {0, 5, 9} and followed by the codes
+        PatternFile.write(pattern(string(Arrays.asList("green", "blue"))), file);
+        bytes = Files.readAllBytes(file);
+        int distinctIndex = indexOf(bytes, "greenblue".getBytes(StandardCharsets.UTF_8));
+
+        byte[] corruptedOffset = bytes.clone();
+        corruptedOffset[distinctIndex - 5] = 10;
+        Files.write(file, corruptedOffset);
+        assertThrows(IOException.class, () -> PatternFile.read(file));
+
+        byte[] corruptedCode = bytes.clone();
+        corruptedCode[distinctIndex + 9] = 2;
+        Files.write(file, corruptedCode);
+        assertThrows(IOException.class, () -> PatternFile.read(file));
+
+        // A header alone, whose number of elements exceeds what the file could contain
+        ByteBuffer header = ByteBuffer.wrap(Arrays.copyOf(bytes, 12));
+        header.putInt(8, Integer.MAX_VALUE - 8);
+        Files.write(file, header.array());
+        assertThrows(IOException.class, () -> PatternFile.read(file));
+    }
+
+    private void assertRoundTrip(Pattern pattern, int numberValues) throws IOException {
+        Pattern read = writeAndRead(pattern);
+        assertEquals(pattern, read);
+        for (int i = 0; i < numberValues; i++) {
+            assertArrayEquals(pattern.valuesAt(i), read.valuesAt(i));
+        }
+    }
+
+    private Pattern writeAndRead(Pattern pattern) throws IOException {
+        Path file = directory.resolve("pattern");
+        PatternFile.write(pattern, file);
+        return PatternFile.read(file);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] search) {
+        for (int i = 0; i <= bytes.length - search.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + search.length), search)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("The bytes do not contain the search bytes");
+    }
+
+    private static Pattern pattern(PatternElement... elements) {
+        return new Pattern(Arrays.asList(elements));
+    }
+}
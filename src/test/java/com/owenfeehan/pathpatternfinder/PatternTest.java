@@ -27,9 +27,14 @@ package com.owenfeehan.pathpatternfinder;
  */
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.apache.commons.io.IOCase;
 import org.junit.jupiter.api.Test;
@@ -53,6 +58,30 @@ class PatternTest {
         pattern.reverse();
     }
 
+    /**
+     * Tests the {@link Pattern#resolve()} method with strings containing hundreds of separators,
+     * which produce hundreds of elements.
+     */
+    @Test
+    void testResolveManySeparators() {
+        int numberSegments = 300;
+        List<String> strings = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            strings.add(String.join("_", Collections.nCopies(numberSegments, "a" + i)));
+        }
+
+        Pattern pattern = unresolved(strings);
+        assertTrue(pattern.resolve());
+        // A constant and an integer for each segment
+        assertEquals(numberSegments * 2, pattern.size());
+        for (int i = 0; i < strings.size(); i++) {
+            assertEquals(strings.get(i), String.join("", pattern.valuesAt(i)));
+        }
+
+        // Nothing changes when resolved again
+        assertFalse(pattern.resolve());
+    }
+
     /** Tests the {@link Pattern#describeShort} method. */
     @Test
     void testDescribeShort() {
@@ -98,4 +127,9 @@ class PatternTest {
     private void checkPatternStr(String str) {
         assertEquals("${0}friday" + File.separator, str);
     }
+
+    private static Pattern unresolved(List<String> strings) {
+        return new UnresolvedPatternElementFactory(IOCase.SENSITIVE)
+                .createUnresolvedString(strings, false);
+    }
 }
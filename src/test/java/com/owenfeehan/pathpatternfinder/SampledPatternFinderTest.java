@@ -0,0 +1,159 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.owenfeehan.pathpatternfinder.describer.DescribePattern;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SampledPatternFinder}.
+ *
+ * @author Owen Feehan
+ */
+class SampledPatternFinderTest {
+
+    private static final int NUMBER_DIRECTORIES = 4;
+
+    private static final int NUMBER_FILES = 500;
+
+    /**
+     * When every path fits the pattern from the sample, the pattern is identical to that found from
+     * all paths.
+     */
+    @Test
+    void testAllFit() {
+        List<Path> paths = numberedPaths();
+        SampledPattern sampled = find(paths, 50);
+
+        assertEquals(paths.size(), sampled.numberFit());
+        assertTrue(sampled.residual().isEmpty());
+        assertFalse(sampled.residualPattern().isPresent());
+        assertEquals(
+                PathPatternFinder.findPatternPaths(paths, IOCase.SENSITIVE, true),
+                sampled.pattern());
+    }
+
+    /** A path with a string absent from the sample does not fit, and is resolved separately. */
+    @Test
+    void testResidual() {
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < NUMBER_FILES; i++) {
+            paths.add(Paths.get("data", String.format("red_%d.txt", i)));
+        }
+        paths.add(100, Paths.get("data", "green.txt"));
+
+        SampledPattern sampled = find(paths, 20);
+
+        assertEquals(Arrays.asList(Paths.get("data", "green.txt")), sampled.residual());
+        assertEquals(NUMBER_FILES, sampled.numberFit());
+        assertEquals(
+                PathPatternFinder.findPatternPaths(sampled.residual(), IOCase.SENSITIVE, true),
+                sampled.residualPattern().get());
+
+        // The values are from every fitting path, not only the sample
+        assertEquals(
+                Paths.get("data", "red_123.txt").toString(),
+                String.join("", sampled.pattern().valuesAt(123)));
+    }
+
+    /** A path that ends where an integer is expected does not fit with an empty integer. */
+    @Test
+    void testEmptyInteger() {
+        List<Path> paths = new ArrayList<>();
+        for (int i = 1; i <= NUMBER_FILES; i++) {
+            paths.add(Paths.get("d", String.format("b_%d", i)));
+        }
+        paths.add(Paths.get("d", "b_"));
+
+        SampledPattern sampled = find(paths, 20);
+
+        assertEquals(Arrays.asList(Paths.get("d", "b_")), sampled.residual());
+        assertEquals(NUMBER_FILES, sampled.numberFit());
+        assertDoesNotThrow(() -> DescribePattern.apply(sampled.pattern(), true));
+    }
+
+    /** Every directory contributes at least one path to the sample, in the original order. */
+    @Test
+    void testStratified() {
+        List<Path> paths = numberedPaths();
+        List<Path> sample = StratifiedSample.select(paths, 10, new Random(3));
+
+        assertEquals(10, sample.size());
+        assertEquals(
+                NUMBER_DIRECTORIES,
+                sample.stream()
+                        .map(Path::getParent)
+                        .distinct()
+                        .collect(Collectors.toList())
+                        .size());
+
+        List<Path> sorted = new ArrayList<>(sample);
+        sorted.sort((path1, path2) -> Integer.compare(paths.indexOf(path1), paths.indexOf(path2)));
+        assertEquals(sorted, sample);
+    }
+
+    /** The sample size must be positive. */
+    @Test
+    void testInvalidSampleSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SampledPatternFinder(IOCase.SENSITIVE, true, 0, 0));
+    }
+
+    private static SampledPattern find(List<Path> paths, int sampleSize) {
+        return new SampledPatternFinder(IOCase.SENSITIVE, true, sampleSize, 7).find(paths);
+    }
+
+    /** Numbered files in numbered directories, where every directory has the same files. */
+    private static List<Path> numberedPaths() {
+        List<Path> paths = new ArrayList<>();
+        for (int directory = 0; directory < NUMBER_DIRECTORIES; directory++) {
+            for (int file = 0; file < NUMBER_FILES; file++) {
+                paths.add(
+                        Paths.get(
+                                "experiment",
+                                String.format("run%d", directory),
+                                String.format("image_%04d.tif", file)));
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,124 @@
+package com.owenfeehan.pathpatternfinder;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static com.owenfeehan.pathpatternfinder.VarArgsHelper.pathList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ShardedPatternFinder}.
+ *
+ * <p>Each merged pattern is compared against the pattern found from all paths at once.
+ *
+ * @author Owen Feehan
+ */
+class ShardedPatternFinderTest {
+
+    /** Every combination of {@link PathListFixture}, with shards of one or two paths. */
+    @Test
+    void testFixture() {
+        for (IOCase ioCase : new IOCase[] {IOCase.SENSITIVE, IOCase.INSENSITIVE}) {
+            for (boolean changeCaseDir1 : new boolean[] {false, true}) {
+                for (boolean changeCaseDir2 : new boolean[] {false, true}) {
+                    for (boolean includeRoot : new boolean[] {false, true}) {
+                        if (includeRoot && changeCaseDir1 && ioCase.isCaseSensitive()) {
+                            // Paths whose only common element is the root cannot currently be
+                            // resolved, even from all paths at once
+                            continue;
+                        }
+                        List<Path> paths =
+                                new PathListFixture(changeCaseDir1, changeCaseDir2, includeRoot)
+                                        .createPaths();
+                        assertMergedIdentical(paths, ioCase, 1, 2);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Shards whose patterns have an identical structure, so their elements are combined. */
+    @Test
+    void testIdenticalStructure() {
+        List<Path> paths = new ArrayList<>();
+        for (int directory = 0; directory < 4; directory++) {
+            for (int file = 0; file < 300; file++) {
+                paths.add(
+                        Paths.get(
+                                "experiment",
+                                "run" + directory,
+                                String.format("image_%04d.tif", file)));
+            }
+        }
+        assertMergedIdentical(paths, IOCase.SENSITIVE, 1, 7, 50, 300);
+    }
+
+    /** Shards whose patterns differ in structure, so the file-names are resolved again. */
+    @Test
+    void testDifferentStructure() {
+        List<Path> paths = new ArrayList<>();
+        for (int file = 0; file < 300; file++) {
+            paths.add(Paths.get("data", (file % 7 == 0 ? "green_" : "red_") + file + ".txt"));
+        }
+        assertMergedIdentical(paths, IOCase.SENSITIVE, 1, 2, 3, 50);
+
+        assertMergedIdentical(
+                pathList("dir/Running", "dir/walking", "dir/somefile.png", "dir/file.png"),
+                IOCase.SENSITIVE,
+                1,
+                2,
+                3);
+    }
+
+    /** The shard size must be positive. */
+    @Test
+    void testInvalidShardSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ShardedPatternFinder(IOCase.SENSITIVE, true, 0));
+    }
+
+    private static void assertMergedIdentical(List<Path> paths, IOCase ioCase, int... shardSizes) {
+        Pattern expected = PathPatternFinder.findPatternPaths(paths, ioCase, true);
+        for (int shardSize : shardSizes) {
+            ShardedPatternFinder finder = new ShardedPatternFinder(ioCase, true, shardSize);
+            assertEquals(expected, finder.find(paths), () -> "Shard size " + shardSize);
+            assertEquals(
+                    expected,
+                    finder.find(paths, ForkJoinPool.commonPool()),
+                    () -> "Shard size " + shardSize);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.owenfeehan.pathpatternfinder.CasedStringComparer;
 import com.owenfeehan.pathpatternfinder.PathListFixture;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -131,6 +132,47 @@ class FindCommonPathElementsTest {
                 Optional.of("/test1/test2/"));
     }
 
+    /**
+     * Finds a common-path among unsorted paths, where a sibling directory shares a prefix of
+     * characters with the common directory.
+     */
+    @Test
+    void testUnsorted() {
+        List<Path> paths =
+                Arrays.asList(
+                        Paths.get("/a/b/x.txt"),
+                        Paths.get("/a/b-c/y.txt"),
+                        Paths.get("/a/b/z.txt"),
+                        Paths.get("/a/bc/w.txt"));
+        testDirectly(paths, IOCase.SENSITIVE, Optional.of(Paths.get("/a")));
+    }
+
+    /** Finds a common-path among paths sorted in {@link PathOrder}, where the case differs. */
+    @Test
+    void testSorted() {
+        List<Path> paths =
+                Arrays.asList(
+                        Paths.get("dir/SUB/a.txt"),
+                        Paths.get("dir/sub/b.txt"),
+                        Paths.get("dir/Sub/c.txt"));
+        CasedStringComparer comparer = new CasedStringComparer(IOCase.INSENSITIVE);
+
+        List<Path> sorted = new ArrayList<>(paths);
+        sorted.sort(new PathOrder(comparer));
+
+        Optional<PathElements> common =
+                FindCommonPathElements.findForSortedFilePaths(sorted, comparer);
+        assertEquals(Optional.of(Paths.get("dir/SUB")), common.map(PathElements::toPath));
+    }
+
+    /** Finds no common-path among a mix of absolute and relative paths. */
+    @Test
+    void testMixedAbsoluteRelative() {
+        List<Path> paths =
+                Arrays.asList(Paths.get("a/x.txt"), Paths.get("/a/y.txt"), Paths.get("b/z.txt"));
+        testDirectly(paths, IOCase.SENSITIVE, Optional.empty());
+    }
+
     /** Tests with paths determined from a fixture. */
     private static void testWithFixture(
             IOCase ioCase,
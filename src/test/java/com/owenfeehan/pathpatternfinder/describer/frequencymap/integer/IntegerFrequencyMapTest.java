@@ -0,0 +1,72 @@
+package com.owenfeehan.pathpatternfinder.describer.frequencymap.integer;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link IntegerFrequencyMap}.
+ *
+ * @author Owen Feehan
+ */
+class IntegerFrequencyMapTest {
+
+    /** Unordered integers that form a sequence. */
+    @Test
+    void testContiguous() {
+        IntegerFrequencyMap map = new IntegerFrequencyMap(new long[] {7, 5, 6, 4});
+        assertTrue(map.areIndicesContiguous());
+        assertEquals(4, map.numberUniqueValues());
+        assertEquals(4, map.lowest());
+        assertEquals(7, map.highest());
+    }
+
+    /** A repeated integer means the integers are not contiguous, even without any gap. */
+    @Test
+    void testDuplicates() {
+        IntegerFrequencyMap map = new IntegerFrequencyMap(new long[] {2, 3, 2, 4});
+        assertFalse(map.areIndicesContiguous());
+        assertEquals(3, map.numberUniqueValues());
+    }
+
+    /** Integers at the extremes of the range, without any overflow occurring. */
+    @Test
+    void testExtremes() {
+        assertTrue(
+                new IntegerFrequencyMap(new long[] {Long.MAX_VALUE, Long.MAX_VALUE - 1})
+                        .areIndicesContiguous());
+        IntegerFrequencyMap map =
+                new IntegerFrequencyMap(new long[] {Long.MIN_VALUE, Long.MAX_VALUE});
+        assertFalse(map.areIndicesContiguous());
+        assertEquals(Long.MIN_VALUE, map.lowest());
+        assertEquals(Long.MAX_VALUE, map.highest());
+    }
+}
@@ -0,0 +1,168 @@
+package com.owenfeehan.pathpatternfinder.patternelements;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SubstringList}.
+ *
+ * <p>Each derived list is compared against the result of performing the equivalent {@link
+ * String#substring} operations directly on the original strings.
+ *
+ * @author Owen Feehan
+ */
+class SubstringListTest {
+
+    private static final List<String> SOURCE = Arrays.asList("abc_123", "de_4", "fghij_56");
+
+    /** Removes the same number of characters from the left of every string. */
+    @Test
+    void testRemoveLeftConstant() {
+        assertMaterialized(Arrays.asList("c_123", "_4", "hij_56"), list().removeLeft(2));
+    }
+
+    /** Removes a varying number of characters from the left of each string. */
+    @Test
+    void testRemoveLeftVarying() {
+        assertMaterialized(Arrays.asList("123", "4", "56"), list().removeLeft(new int[] {4, 3, 6}));
+    }
+
+    /** Retains a varying number of characters from the left, after first removing some. */
+    @Test
+    void testKeepLeftAfterRemove() {
+        SubstringList derived = list().removeLeft(1).keepLeft(new int[] {2, 1, 4});
+        assertMaterialized(Arrays.asList("bc", "e", "ghij"), derived);
+        assertEquals('h', derived.charAt(2, 1));
+        assertEquals("hi", derived.substring(2, 1, 3));
+    }
+
+    /** Searches for a character only within the view, not the entire original string. */
+    @Test
+    void testIndexOfWithinView() {
+        SubstringList derived = list().removeLeft(4);
+        assertEquals(-1, derived.indexOf(1, '_'));
+        assertEquals(1, derived.indexOf(2, '_'));
+        assertTrue(derived.containsInLeft(2, '_', 2));
+        assertFalse(derived.containsInLeft(2, '_', 1));
+        assertEquals(-1, list().keepLeft(2).indexOf(1, '_'));
+    }
+
+    /** Reverses the characters in each string. */
+    @Test
+    void testReverse() {
+        assertMaterialized(
+                Arrays.asList("cb", "_e", "hg"), list().removeLeft(1).keepLeft(2).reverse());
+    }
+
+    /** Removes and retains characters from the left of a reversed list, i.e. from the right. */
+    @Test
+    void testRemoveAndKeepReversed() {
+        SubstringList reversed = list().reverse();
+        assertMaterialized(Arrays.asList("_cba", "d", "jihgf"), reversed.removeLeft(3));
+        assertMaterialized(
+                Arrays.asList("ab", "de", "fghij"),
+                reversed.removeLeft(new int[] {5, 2, 3}).reverse());
+        assertMaterialized(
+                Arrays.asList("21", "_", "5"),
+                reversed.removeLeft(1).keepLeft(new int[] {2, 1, 1}));
+    }
+
+    /** Searches for a character and extracts characters in the original order, when reversed. */
+    @Test
+    void testReversedSearchAndExtract() {
+        SubstringList reversed = list().removeLeft(1).reverse();
+        assertEquals(3, reversed.indexOf(0, '_'));
+        assertEquals(-1, reversed.indexOf(0, 'a'));
+        assertEquals("_123", reversed.substringIgnoringReversal(0, 0, 4));
+        assertEquals("321_", reversed.substring(0, 0, 4));
+        assertEquals(
+                Arrays.asList("bc_123", "e_4", "ghij_56"), reversed.materializeIgnoringReversal());
+    }
+
+    /** Lists with identical views onto different backing-stores are equal. */
+    @Test
+    void testEquals() {
+        SubstringList derived = list().removeLeft(new int[] {4, 3, 6});
+        SubstringList direct = new SubstringList(Arrays.asList("123", "4", "56"));
+        assertEquals(direct, derived);
+        assertEquals(direct.hashCode(), derived.hashCode());
+    }
+
+    /** Detects whether only empty strings remain. */
+    @Test
+    void testAtLeastOneNonEmpty() {
+        assertTrue(list().removeLeft(new int[] {7, 4, 7}).atLeastOneNonEmpty());
+        assertFalse(list().removeLeft(new int[] {7, 4, 8}).atLeastOneNonEmpty());
+    }
+
+    /** Summarizes the characters in every string of the view, swapping its ends when reversed. */
+    @Test
+    void testSummary() {
+        CharacterSummary summary = list().removeLeft(new int[] {1, 1, 0}).summary();
+        assertFalse(summary.everyStartsWithDigit());
+        assertTrue(summary.everyEndsWithDigit());
+        assertTrue(summary.mayContainInEvery('_'));
+        assertFalse(summary.mayContainInEvery('e'));
+        assertTrue(summary.mayHaveCommonCharacter());
+
+        CharacterSummary reversed = list().removeLeft(2).reverse().summary();
+        assertTrue(reversed.everyStartsWithDigit());
+        assertFalse(reversed.everyEndsWithDigit());
+        assertTrue(reversed.mayContainInEvery('_'));
+        assertFalse(reversed.mayContainInEvery('c'));
+    }
+
+    /** Characters match their other case, and characters beyond ASCII are never excluded. */
+    @Test
+    void testSummaryCommonCharacter() {
+        assertTrue(summary("Ab", "xa").mayContainInEvery('A'));
+        assertFalse(summary("ab", "cd").mayHaveCommonCharacter());
+        assertFalse(summary("ab", "cd\u00e9").mayHaveCommonCharacter());
+        assertTrue(summary("\u00e9b", "cd\u00e9").mayHaveCommonCharacter());
+        assertTrue(summary("\u00e9b", "cd\u00e9").mayContainInEvery('\u00e9'));
+        assertFalse(summary("ab", "").mayHaveCommonCharacter());
+    }
+
+    private static CharacterSummary summary(String... strings) {
+        return new SubstringList(Arrays.asList(strings)).summary();
+    }
+
+    private static SubstringList list() {
+        return new SubstringList(SOURCE);
+    }
+
+    private static void assertMaterialized(List<String> expected, SubstringList list) {
+        assertEquals(expected, list.materialize());
+    }
+}
@@ -0,0 +1,81 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DictionaryColumn}.
+ *
+ * @author Owen Feehan
+ */
+class DictionaryColumnTest {
+
+    /** A few distinct values, repeated many times. */
+    @Test
+    void testLowCardinality() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(Arrays.asList("red", "green", "blue").get(i % 3));
+        }
+        assertColumn(values, new DictionaryColumn(values));
+    }
+
+    /**
+     * Values are appended, so that the codes become wider, first beyond what a {@code byte} and
+     * then a {@code short} can represent.
+     */
+    @Test
+    void testAppendWidens() {
+        List<String> values = new ArrayList<>(Arrays.asList("a", "b", "a"));
+        DictionaryColumn column = new DictionaryColumn(values);
+        for (int i = 0; i < 70000; i++) {
+            String value = Integer.toString(i % 2 == 0 ? i : 7);
+            values.add(value);
+            column.append(value);
+        }
+        assertColumn(values, column);
+    }
+
+    /** A value beyond the end of the column. */
+    @Test
+    void testOutOfBounds() {
+        DictionaryColumn column = new DictionaryColumn(Arrays.asList("a", "b"));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(2));
+    }
+
+    private static void assertColumn(List<String> expected, DictionaryColumn column) {
+        assertEquals(expected.size(), column.size());
+        assertEquals(expected, column.asList());
+    }
+}
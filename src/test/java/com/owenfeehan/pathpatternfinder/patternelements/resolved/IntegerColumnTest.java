@@ -0,0 +1,127 @@
+package com.owenfeehan.pathpatternfinder.patternelements.resolved;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link IntegerColumn}.
+ *
+ * <p>Every value should be identical to the original string, including any leading zeros.
+ *
+ * @author Owen Feehan
+ */
+class IntegerColumnTest {
+
+    /** Values without leading zeros. */
+    @Test
+    void testNoLeadingZeros() {
+        assertRoundTrip(Arrays.asList("1", "20", "0", "300"));
+    }
+
+    /** Values that are all zero-padded to the same width. */
+    @Test
+    void testSameWidth() {
+        assertRoundTrip(Arrays.asList("007", "010", "123", "000"));
+    }
+
+    /** Values with differing numbers of leading zeros. */
+    @Test
+    void testVaryingWidth() {
+        assertRoundTrip(Arrays.asList("7", "007", "0", "00", "42"));
+    }
+
+    /** Appending values that require a varying width, and then a {@code long}. */
+    @Test
+    void testAppend() {
+        List<String> values = new ArrayList<>(Arrays.asList("01", "02"));
+        ValueColumn column = new IntegerColumn(values);
+        for (String value : Arrays.asList("03", "4", "9999999999", "0005")) {
+            values.add(value);
+            assertTrue(column == column.append(value));
+        }
+        assertEquals(values, column.asList());
+        assertArrayEquals(
+                new long[] {1, 2, 3, 4, 9999999999L, 5}, ((IntegerColumn) column).toLongArray());
+    }
+
+    /** Appending a value that cannot be stored, creates a different column. */
+    @Test
+    void testAppendCannotStore() {
+        List<String> values = new ArrayList<>(Arrays.asList("1", "2"));
+        ValueColumn column = new IntegerColumn(values).append("99999999999999999999");
+        values.add("99999999999999999999");
+        assertEquals(values, column.asList());
+    }
+
+    /** Which strings can be stored? */
+    @Test
+    void testCanStore() {
+        assertTrue(IntegerColumn.canStore("9223372036854775807"));
+        assertFalse(IntegerColumn.canStore("9223372036854775808"));
+        assertFalse(IntegerColumn.canStore(""));
+        assertFalse(IntegerColumn.canStore("\u0663"));
+    }
+
+    /** Values with more leading zeros than a width can record, cannot be stored. */
+    @Test
+    void testManyLeadingZeros() {
+        String widest = withLeadingZeros(IntegerColumn.MAX_WIDTH - 1, "2");
+        String tooWide = withLeadingZeros(150, "2");
+        assertTrue(IntegerColumn.canStore(widest));
+        assertFalse(IntegerColumn.canStore(tooWide));
+        assertRoundTrip(Arrays.asList("1", widest, "3"));
+
+        List<String> values = new ArrayList<>(Arrays.asList("1", "03"));
+        ValueColumn column = new IntegerColumn(values).append(tooWide).append("3");
+        values.add(tooWide);
+        values.add("3");
+        assertFalse(column instanceof IntegerColumn);
+        assertEquals(values, column.asList());
+    }
+
+    private static String withLeadingZeros(int numberZeros, String digits) {
+        char[] zeros = new char[numberZeros];
+        Arrays.fill(zeros, '0');
+        return new String(zeros) + digits;
+    }
+
+    private static void assertRoundTrip(List<String> values) {
+        assertTrue(IntegerColumn.canStore(values));
+        IntegerColumn column = new IntegerColumn(values);
+        assertEquals(values.size(), column.size());
+        assertEquals(values, column.asList());
+    }
+}
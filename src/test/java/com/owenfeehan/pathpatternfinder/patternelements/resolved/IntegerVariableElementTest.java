@@ -54,6 +54,36 @@ class IntegerVariableElementTest {
         testDescribeSequence("6", false);
     }
 
+    /** Checks that a sparse range is described, without considering every integer in the range. */
+    @Test
+    void testDescribeSparse() {
+        IntegerVariableElement element =
+                new IntegerVariableElement(Arrays.asList("1", "2147483648", "1"));
+        assertEquals("2 unique integers between 1 and 2147483648 inclusive", element.describe(80));
+    }
+
+    /** Checks that integers too large for a {@code long} are still described. */
+    @Test
+    void testDescribeBeyondLong() {
+        IntegerVariableElement element =
+                new IntegerVariableElement(
+                        Arrays.asList("99999999999999999999", "100000000000000000000"));
+        assertEquals(
+                "an integer sequence from 99999999999999999999 to 100000000000000000000 inclusive",
+                element.describe(80));
+    }
+
+    /** Checks that the description reflects the reversed values, after it is first described. */
+    @Test
+    void testDescribeAfterReverse() {
+        IntegerVariableElement element =
+                new IntegerVariableElement(Arrays.asList("12", "13", "14"));
+        assertEquals("an integer sequence from 12 to 14 inclusive", element.describe(80));
+        assertEquals(element.describe(80), element.describe(80));
+        element.reverse();
+        assertEquals("3 unique integers between 21 and 41 inclusive", element.describe(80));
+    }
+
     /** Checks that it can extract an integer string without problems */
     @Test
     void testIntegerStringAll() {
@@ -30,6 +30,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.owenfeehan.pathpatternfinder.patternelements.ExtractedElement;
 import com.owenfeehan.pathpatternfinder.patternelements.PatternElement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.apache.commons.io.IOCase;
 import org.junit.jupiter.api.Test;
@@ -57,6 +59,31 @@ class StringVariableElementTest {
         testPattern("aaaa", "aaaab", element, IOCase.INSENSITIVE);
     }
 
+    /** Checks the longest key is extracted, among many keys sharing prefixes. */
+    @Test
+    void testFitManyKeys() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            keys.add("sample" + i);
+        }
+        PatternElement element = ResolvedPatternElementFactory.string(keys);
+        testPattern("SAMPLE19999", "SAMPLE19999_x", element, IOCase.INSENSITIVE);
+        testPattern("sample1999", "sample1999_x", element, IOCase.SENSITIVE);
+        assertEquals(Optional.empty(), element.extractElementFrom("SAMPLE1", IOCase.SENSITIVE));
+    }
+
+    /** Checks that the reversed keys are extracted and described, after the element is reversed. */
+    @Test
+    void testFitAfterReverse() {
+        PatternElement element = ResolvedPatternElementFactory.string("abc", "de");
+        testPattern("abc", "abcde", element, IOCase.SENSITIVE);
+        assertEquals("\"de\" (1) | \"abc\" (1)", element.describe(80));
+        element.reverse();
+        testPattern("cba", "cbaed", element, IOCase.SENSITIVE);
+        assertEquals("\"ed\" (1) | \"cba\" (1)", element.describe(80));
+        assertEquals(Optional.empty(), element.extractElementFrom("abcde", IOCase.SENSITIVE));
+    }
+
     private static void testPattern(
             String expected, String fromStr, PatternElement element, IOCase ioCase) {
         Optional<ExtractedElement> extracted = element.extractElementFrom(fromStr, ioCase);
@@ -0,0 +1,104 @@
+package com.owenfeehan.pathpatternfinder.profile;
+
+/*-
+ * #%L
+ * path-pattern-finder
+ * %%
+ * Copyright (C) 2019 - 2026 Owen Feehan
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.owenfeehan.pathpatternfinder.PathPatternFinder;
+import com.owenfeehan.pathpatternfinder.Pattern;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.IOCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ResolveProfile}, as informed when finding a pattern.
+ *
+ * @author Owen Feehan
+ */
+class ResolveProfileTest {
+
+    /** Every level is reported, without changing the pattern found. */
+    @Test
+    void testLevels() {
+        List<ResolveStep> steps = new ArrayList<>();
+        Pattern pattern =
+                PathPatternFinder.findPatternPaths(paths(), IOCase.SENSITIVE, true, steps::add);
+        assertEquals(PathPatternFinder.findPatternPaths(paths(), IOCase.SENSITIVE, true), pattern);
+
+        ResolveStep last = steps.get(steps.size() - 1);
+        assertEquals(ResolveStep.Level.PATTERN, last.level());
+        assertEquals(1, last.sizeIn());
+        assertEquals(pattern.size(), last.sizeOut());
+
+        assertTrue(steps.stream().anyMatch(step -> step.level() == ResolveStep.Level.ELEMENT));
+        assertTrue(
+                steps.stream()
+                        .anyMatch(
+                                step ->
+                                        step.operation().equals("TrimInteger")
+                                                && step.succeeded()
+                                                && step.sizeIn() == 3));
+        assertTrue(steps.stream().anyMatch(step -> step.depth() > 0));
+        assertTrue(steps.stream().allMatch(step -> step.nanos() >= 0));
+    }
+
+    /** The totals are described as a table and as JSON. */
+    @Test
+    void testDescribe() {
+        ResolveProfile profile = new ResolveProfile();
+        PathPatternFinder.findPatternPaths(paths(), IOCase.SENSITIVE, true, profile);
+
+        String table = profile.toTable();
+        assertTrue(table.startsWith("level"));
+        assertTrue(table.contains("Pattern.resolve"));
+
+        String json = profile.toJson();
+        assertTrue(json.startsWith("[") && json.endsWith("]"));
+        assertTrue(json.contains("\"operation\": \"TrimInteger\""));
+        assertTrue(json.contains("\"level\": \"pattern\""));
+    }
+
+    /** Nothing is described when no steps have occurred. */
+    @Test
+    void testEmpty() {
+        ResolveProfile profile = new ResolveProfile();
+        assertEquals("[]", profile.toJson());
+        assertEquals(1, profile.toTable().split(System.lineSeparator()).length);
+    }
+
+    private static List<Path> paths() {
+        List<Path> paths = new ArrayList<>();
+        paths.add(Paths.get("img_001_a.png"));
+        paths.add(Paths.get("img_002_b.png"));
+        paths.add(Paths.get("img_013_c.png"));
+        return paths;
+    }
+}
@@ -27,9 +27,9 @@ package com.owenfeehan.pathpatternfinder.trim;
  */
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.Skipper;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
-import java.util.ArrayList;
 import java.util.Arrays;
 
 /**
@@ -57,7 +57,7 @@ public class AndUnresolvedHelper {
             boolean includeRightResolve,
             UnresolvedPatternElementFactory factory) {
         factory.addUnresolvedStringsTo(
-                new ArrayList<>(Arrays.asList(first, second)),
+                new SubstringList(Arrays.asList(first, second)),
                 pattern,
                 false,
                 new Skipper(includeLeftResolve, includeRightResolve, 0));
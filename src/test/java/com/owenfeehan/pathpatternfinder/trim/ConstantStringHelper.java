@@ -29,6 +29,7 @@ package com.owenfeehan.pathpatternfinder.trim;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
 import java.util.List;
@@ -68,14 +69,16 @@ class ConstantStringHelper {
 
         Optional<Pattern> expected =
                 constantValue.map(value -> expectedPattern(value, source, factory));
-        assertEquals(expected, op.trim(source));
+        assertEquals(expected, op.trim(new SubstringList(source)));
     }
 
     private static Pattern expectedPattern(
             String constantValue, List<String> source, UnresolvedPatternElementFactory factory) {
         List<String> sourceSubstringed = applySubstringToList(source, constantValue.length());
         return factory.createUnresolvedString(
-                ResolvedPatternElementFactory.constant(constantValue), sourceSubstringed, false);
+                ResolvedPatternElementFactory.constant(constantValue),
+                new SubstringList(sourceSubstringed),
+                false);
     }
 
     /** Applies a substring to each element in a list. */
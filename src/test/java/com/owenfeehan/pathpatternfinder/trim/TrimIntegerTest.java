@@ -29,6 +29,7 @@ package com.owenfeehan.pathpatternfinder.trim;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
 import java.util.*;
@@ -100,13 +101,13 @@ class TrimIntegerTest {
 
         TrimInteger op = new TrimInteger(factory);
 
-        assertEquals(expectedPattern, op.trim(source));
+        assertEquals(expectedPattern, op.trim(new SubstringList(source)));
     }
 
     private static Pattern expectedSucceedPattern() {
         return factory.createUnresolvedString(
                 ResolvedPatternElementFactory.integer(ConstantStringsFixture.digits()),
-                ConstantStringsFixture.suffices(),
+                new SubstringList(ConstantStringsFixture.suffices()),
                 false);
     }
 }
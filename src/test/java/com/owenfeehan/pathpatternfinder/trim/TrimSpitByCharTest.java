@@ -29,6 +29,7 @@ package com.owenfeehan.pathpatternfinder.trim;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.resolved.ResolvedPatternElementFactory;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
 import java.util.ArrayList;
@@ -106,7 +107,7 @@ class TrimSpitByCharTest {
 
         TrimSplitByChar op = new TrimSplitByChar(splitChar, 0, factory);
 
-        Optional<Pattern> pattern = op.trim(source);
+        Optional<Pattern> pattern = op.trim(new SubstringList(source));
 
         // assert statements
         assertEquals(expectedPattern, pattern);
@@ -29,6 +29,7 @@ package com.owenfeehan.pathpatternfinder.trim.constantsubstring;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.owenfeehan.pathpatternfinder.Pattern;
+import com.owenfeehan.pathpatternfinder.patternelements.SubstringList;
 import com.owenfeehan.pathpatternfinder.patternelements.unresolved.UnresolvedPatternElementFactory;
 import java.util.List;
 import java.util.Optional;
@@ -83,6 +84,6 @@ class TrimConstantSubstringTest {
         List<String> source = ConstantStringsFixture.genSource(mixedCase, prependFirst);
 
         TrimConstantSubstring op = new TrimConstantSubstring(factory);
-        assertEquals(expectedPattern.apply(fixture), op.trim(source));
+        assertEquals(expectedPattern.apply(fixture), op.trim(new SubstringList(source)));
     }
 }